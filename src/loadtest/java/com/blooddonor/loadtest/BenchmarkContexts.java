@@ -0,0 +1,22 @@
+package com.blooddonor.loadtest;
+
+import com.blooddonor.BloodDonorApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server against the benchmark database.
+ */
+public final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(BloodDonorApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
@@ -0,0 +1,107 @@
+package com.blooddonor.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples, error count and SQL statement counts for a single endpoint. Samples are
+ * kept raw (in microseconds) so percentiles are exact; a few million samples per run fit easily.
+ * Statement counts come from the {@code X-DB-Query-Count} response header.
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+    private long[] latenciesMicros = new long[4096];
+    private int count;
+    private long errors;
+    private long statements;
+    private int maxStatements = -1;
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(long latencyMicros, boolean success) {
+        record(latencyMicros, success, -1);
+    }
+
+    /**
+     * Records one call; {@code statementCount} is -1 when the response did not report it.
+     */
+    public synchronized void record(long latencyMicros, boolean success, int statementCount) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyMicros;
+        if (!success) {
+            errors++;
+        }
+        if (statementCount >= 0) {
+            statements += statementCount;
+            maxStatements = Math.max(maxStatements, statementCount);
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return new Snapshot(endpoint, sorted, errors, statements, maxStatements);
+    }
+
+    public static class Snapshot {
+
+        private final String endpoint;
+        private final long[] sortedMicros;
+        private final long errors;
+        private final long statements;
+        private final int maxStatements;
+
+        Snapshot(String endpoint, long[] sortedMicros, long errors, long statements, int maxStatements) {
+            this.endpoint = endpoint;
+            this.sortedMicros = sortedMicros;
+            this.errors = errors;
+            this.statements = statements;
+            this.maxStatements = maxStatements;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequests() {
+            return sortedMicros.length;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getErrorRate() {
+            return sortedMicros.length == 0 ? 0 : (double) errors / sortedMicros.length;
+        }
+
+        public long percentileMicros(double percentile) {
+            if (sortedMicros.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedMicros.length);
+            return sortedMicros[Math.max(0, Math.min(rank, sortedMicros.length) - 1)];
+        }
+
+        public long maxMicros() {
+            return sortedMicros.length == 0 ? 0 : sortedMicros[sortedMicros.length - 1];
+        }
+
+        public double meanStatements() {
+            return sortedMicros.length == 0 ? 0 : (double) statements / sortedMicros.length;
+        }
+
+        // -1 when no response reported a statement count
+        public int maxStatements() {
+            return maxStatements;
+        }
+    }
+}
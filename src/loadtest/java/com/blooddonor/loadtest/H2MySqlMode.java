@@ -0,0 +1,26 @@
+package com.blooddonor.loadtest;
+
+import org.h2.engine.Mode;
+
+/**
+ * Makes H2's MySQL compatibility mode allocate identity values the way MySQL does under
+ * concurrency.
+ *
+ * <p>In that mode H2 2.2 treats every inserted identity value, generated ones included, as
+ * if it had been supplied by hand and moves the sequence past it with an unsynchronised
+ * read-compare-write. Two concurrent inserts can therefore put the sequence back behind a
+ * value already handed out, and the next insert repeats it: primary key violations on hot
+ * tables such as donor_changes. On a sharded store the same rule moves a shard's sequence
+ * to a moved donor's id plus the step, i.e. into the residue class of the shard the donor
+ * came from. Values drawn from the sequence are already unique, so the harness turns the
+ * rule off before any database is opened.</p>
+ */
+final class H2MySqlMode {
+
+    private H2MySqlMode() {
+    }
+
+    static void allocateIdentitiesFromSequenceOnly() {
+        Mode.getInstance("MySQL").updateSequenceOnManualIdentityInsertion = false;
+    }
+}
@@ -0,0 +1,67 @@
+package com.blooddonor.loadtest;
+
+import com.blooddonor.dto.AdminLoginRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Everything a scenario needs: the booted application, the Resend stub, options and
+ * the donors seeded before the run.
+ */
+public class LoadContext {
+
+    public static final List<String> BLOOD_GROUPS = List.of("O+", "B+", "A+", "AB+", "O-", "B-", "A-", "AB-");
+    public static final List<String> CITIES = List.of(
+            "Hyderabad", "Visakhapatnam", "Vijayawada", "Guntur", "Nellore",
+            "Tirupati", "Kakinada", "Rajahmundry", "Warangal", "Karimnagar");
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final ResendStub resendStub;
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final List<Long> seededDonorIds;
+
+    public LoadContext(ConfigurableApplicationContext applicationContext, ResendStub resendStub,
+                       LoadTestOptions options, String baseUrl, List<Long> seededDonorIds) {
+        this.applicationContext = applicationContext;
+        this.resendStub = resendStub;
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.seededDonorIds = seededDonorIds;
+    }
+
+    public String loginAdmin(LoadHttpClient client) throws Exception {
+        AdminLoginRequest login = new AdminLoginRequest();
+        login.setUsername(applicationContext.getEnvironment().getProperty("admin.username"));
+        login.setPassword(applicationContext.getEnvironment().getProperty("admin.password"));
+        HttpResponse<String> response = client.post("POST /api/admin/login", "/api/admin/login", login, null);
+        if (response == null || response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed during load test setup");
+        }
+        JsonNode body = client.getObjectMapper().readTree(response.body());
+        return body.path("data").path("token").asText();
+    }
+
+    public ConfigurableApplicationContext getApplicationContext() {
+        return applicationContext;
+    }
+
+    public ResendStub getResendStub() {
+        return resendStub;
+    }
+
+    public LoadTestOptions getOptions() {
+        return options;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<Long> getSeededDonorIds() {
+        return seededDonorIds;
+    }
+}
@@ -0,0 +1,62 @@
+package com.blooddonor.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs an iteration closed-loop on a fixed number of workers for a fixed duration.
+ */
+public class LoadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    @FunctionalInterface
+    public interface Iteration {
+        void run(int worker, long iteration) throws Exception;
+    }
+
+    public long run(String phase, int concurrency, Duration duration, Iteration iteration) {
+        log.info("Phase '{}' starting: {} workers for {}s", phase, concurrency, duration.toSeconds());
+        AtomicLong iterations = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        iteration.run(worker, iterations.getAndIncrement());
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (Exception e) {
+                log.warn("Worker in phase '{}' ended abnormally: {}", phase, e.getMessage());
+            }
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Phase '{}' finished: {} iterations, {} aborted", phase, iterations.get(), failures.get());
+        return iterations.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.blooddonor.loadtest;
+
+import com.blooddonor.monitoring.QueryCountFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thin wrapper around {@link HttpClient} that times every call and records it against
+ * the endpoint template (e.g. {@code PUT /api/admin/donors/{id}}) rather than the raw URL.
+ */
+public class LoadHttpClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final String baseUrl;
+
+    public LoadHttpClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public HttpResponse<String> get(String endpoint, String path, String token) {
+        return send(endpoint, request(path, token).GET());
+    }
+
+    public HttpResponse<String> post(String endpoint, String path, Object body, String token) {
+        return send(endpoint, request(path, token).POST(json(body)));
+    }
+
+    public HttpResponse<String> put(String endpoint, String path, Object body, String token) {
+        return send(endpoint, request(path, token).PUT(body != null ? json(body) : HttpRequest.BodyPublishers.noBody()));
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialise request body", e);
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            endpointStats.record((System.nanoTime() - start) / 1000, response.statusCode() / 100 == 2,
+                    response.headers().firstValue(QueryCountFilter.QUERY_COUNT_HEADER).map(Integer::parseInt).orElse(-1));
+            return response;
+        } catch (IOException e) {
+            endpointStats.record((System.nanoTime() - start) / 1000, false, -1);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
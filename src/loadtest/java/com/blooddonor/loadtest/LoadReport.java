@@ -0,0 +1,45 @@
+package com.blooddonor.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput, latency percentiles, error rate and SQL statements per request
+ * for each scenario run.
+ */
+public class LoadReport {
+
+    private final StringBuilder text = new StringBuilder();
+
+    public void addScenario(String scenario, Duration elapsed, Map<String, EndpointStats> stats) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        text.append(String.format("%n=== %s (%.1fs) ===%n", scenario, seconds));
+        text.append(String.format("%-42s %9s %10s %9s %9s %9s %9s %8s %8s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "avg SQL", "max SQL"));
+
+        List<EndpointStats> ordered = new ArrayList<>(stats.values());
+        ordered.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        for (EndpointStats endpointStats : ordered) {
+            EndpointStats.Snapshot snapshot = endpointStats.snapshot();
+            text.append(String.format("%-42s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %8.1f %8s%n",
+                    snapshot.getEndpoint(),
+                    snapshot.getRequests(),
+                    snapshot.getRequests() / seconds,
+                    snapshot.percentileMicros(50) / 1000.0,
+                    snapshot.percentileMicros(99) / 1000.0,
+                    snapshot.percentileMicros(99.9) / 1000.0,
+                    snapshot.maxMicros() / 1000.0,
+                    snapshot.getErrorRate() * 100,
+                    snapshot.meanStatements(),
+                    snapshot.maxStatements() >= 0 ? String.valueOf(snapshot.maxStatements()) : "-"));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.blooddonor.loadtest;
+
+/**
+ * A scripted workload against the running application.
+ */
+public interface LoadScenario {
+
+    String getName();
+
+    void run(LoadContext context, LoadHttpClient client, LoadDriver driver) throws Exception;
+}
@@ -0,0 +1,88 @@
+package com.blooddonor.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options for the load test and benchmark tools, given as {@code --key=value} pairs.
+ */
+public class LoadTestOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    public List<String> getScenarios() {
+        return Arrays.asList(get("scenarios", "search-spike,registration-burst,admin-bulk-edit").split(","));
+    }
+
+    public int getSeedDonors() {
+        return getInt("seed-donors", 5000);
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(getInt("duration", 20));
+    }
+
+    public int getConcurrency() {
+        return getInt("concurrency", 32);
+    }
+
+    public int getSpikeConcurrency() {
+        return getInt("spike-concurrency", 128);
+    }
+
+    public long getResendLatencyMs() {
+        return getInt("resend-latency-ms", 150);
+    }
+
+    public long getResendJitterMs() {
+        return getInt("resend-jitter-ms", 50);
+    }
+
+    // Extra embedded H2 databases standing in for donor shards; 0 keeps a single database
+    public int getShards() {
+        return getInt("shards", 0);
+    }
+
+    public String getReportFile() {
+        return get("report", "target/loadtest-report.txt");
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
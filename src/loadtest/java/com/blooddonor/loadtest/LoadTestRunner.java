@@ -0,0 +1,165 @@
+package com.blooddonor.loadtest;
+
+import com.blooddonor.BloodDonorApplication;
+import com.blooddonor.geo.DonorGeoIndexLoader;
+import com.blooddonor.loadtest.scenario.AdminBulkEditScenario;
+import com.blooddonor.loadtest.scenario.EmergencySearchSpikeScenario;
+import com.blooddonor.loadtest.scenario.RegistrationBurstScenario;
+import com.blooddonor.lookup.DonorLookupIndexLoader;
+import com.blooddonor.model.Area;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.City;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.GeoLocation;
+import com.blooddonor.registration.RegisteredEmailFilterLoader;
+import com.blooddonor.service.GeocodingService;
+import com.blooddonor.service.LocationDictionary;
+import com.blooddonor.service.DonorChangeJournal;
+import com.blooddonor.service.DonorStatisticsService;
+import com.blooddonor.service.DonorStore;
+import com.blooddonor.service.PlaceAutocompleteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Boots the application on an embedded H2 database with Resend replaced by a local stub,
+ * seeds donors, runs the selected scenarios and prints a per-endpoint report. The run fails
+ * if any request ran more SQL statements than {@code --statement-budget}: 10 by default, as
+ * in production, and 16 with {@code --shards}.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.args="--duration=30 --concurrency=64 --resend-latency-ms=200"
+ * mvn -Ploadtest compile exec:java -Dexec.args="--shards=3"
+ * mvn -Ploadtest compile exec:java -Dexec.args="--scenarios=admin-bulk-edit --statement-budget=4"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        H2MySqlMode.allocateIdentitiesFromSequenceOnly();
+
+        Map<String, LoadScenario> available = new LinkedHashMap<>();
+        for (LoadScenario scenario : List.of(new EmergencySearchSpikeScenario(),
+                new RegistrationBurstScenario(), new AdminBulkEditScenario())) {
+            available.put(scenario.getName(), scenario);
+        }
+
+        try (ResendStub resendStub = new ResendStub(options.getResendLatencyMs(), options.getResendJitterMs())) {
+            resendStub.start();
+
+            try (ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(BloodDonorApplication.class)
+                    .profiles("loadtest")
+                    .run("--resend.api.url=" + resendStub.getUrl(), "--datasource.shards.urls=" + shardUrls(options.getShards()),
+                            "--query.tracking.statement.budget=" + statementBudget(options))) {
+
+                String baseUrl = "http://127.0.0.1:" + applicationContext.getEnvironment().getProperty("local.server.port");
+                List<Long> donorIds = seedDonors(applicationContext.getBean(DonorStore.class),
+                        applicationContext.getBean(GeocodingService.class),
+                        applicationContext.getBean(LocationDictionary.class), options.getSeedDonors());
+                // Seeding bypasses DonorService, so rebuild the in-memory indexes from the table
+                applicationContext.getBean(DonorGeoIndexLoader.class).load();
+                applicationContext.getBean(DonorLookupIndexLoader.class).load();
+                applicationContext.getBean(RegisteredEmailFilterLoader.class).load();
+                applicationContext.getBean(PlaceAutocompleteService.class).load();
+                applicationContext.getBean(DonorStatisticsService.class).reconcile();
+                applicationContext.getBean(DonorChangeJournal.class).journalUnrecordedDonors();
+                LoadContext context = new LoadContext(applicationContext, resendStub, options, baseUrl, donorIds);
+
+                LoadReport report = new LoadReport();
+                QueryCountAssertions queryCounts = new QueryCountAssertions(statementBudget(options));
+                LoadDriver driver = new LoadDriver();
+                for (String name : options.getScenarios()) {
+                    LoadScenario scenario = available.get(name.trim());
+                    if (scenario == null) {
+                        throw new IllegalArgumentException("Unknown scenario: " + name + ", expected one of " + available.keySet());
+                    }
+                    LoadHttpClient client = new LoadHttpClient(baseUrl);
+                    long start = System.nanoTime();
+                    scenario.run(context, client, driver);
+                    report.addScenario(scenario.getName(), Duration.ofNanos(System.nanoTime() - start), client.getStats());
+                    queryCounts.check(scenario.getName(), client.getStats());
+                }
+
+                String text = report + String.format("%nResend stub received %d emails%n", resendStub.getEmailsReceived());
+                for (String violation : queryCounts.getViolations()) {
+                    text += String.format("Over SQL statement budget: %s%n", violation);
+                }
+                System.out.println(text);
+                Path reportFile = Path.of(options.getReportFile());
+                if (reportFile.getParent() != null) {
+                    Files.createDirectories(reportFile.getParent());
+                }
+                Files.writeString(reportFile, text, StandardCharsets.UTF_8);
+                log.info("Load test report written to {}", reportFile.toAbsolutePath());
+                queryCounts.assertWithinBudget();
+            }
+        }
+    }
+
+    // A move between shards also writes the move record, both shards and the directory
+    private static int statementBudget(LoadTestOptions options) {
+        return options.getInt("statement-budget", options.getShards() > 0 ? 16 : 10);
+    }
+
+    private static String shardUrls(int shards) {
+        List<String> urls = new ArrayList<>(shards);
+        for (int shard = 1; shard <= shards; shard++) {
+            urls.add("jdbc:h2:mem:blooddonor-shard" + shard + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        }
+        return String.join(",", urls);
+    }
+
+    private static List<Long> seedDonors(DonorStore donorStore, GeocodingService geocodingService,
+                                         LocationDictionary locationDictionary, int count) {
+        log.info("Seeding {} donors", count);
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>(count);
+        List<Donor> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            Donor donor = new Donor();
+            donor.setName("Seed Donor " + i);
+            donor.setEmail("seed-" + i + "@loadtest.example");
+            donor.setPhone("9" + (100_000_000L + i));
+            donor.setBloodGroup(BloodGroup.fromLabel(LoadContext.BLOOD_GROUPS.get(random.nextInt(LoadContext.BLOOD_GROUPS.size()))));
+            City city = locationDictionary.resolveCity(LoadContext.CITIES.get(random.nextInt(LoadContext.CITIES.size())));
+            Area area = locationDictionary.resolveArea(city, "Area " + random.nextInt(50));
+            donor.setCity(city.getName());
+            donor.setCityId(city.getId());
+            donor.setArea(area.getName());
+            donor.setAreaId(area.getId());
+            // Scatter donors up to ~15 km around the city centre
+            GeoLocation centre = geocodingService.resolve(donor.getCity(), null).orElse(null);
+            if (centre != null) {
+                donor.setLatitude(centre.getLatitude() + (random.nextDouble() - 0.5) * 0.27);
+                donor.setLongitude(centre.getLongitude() + (random.nextDouble() - 0.5) * 0.27);
+            }
+            donor.setIsVerified(true);
+            donor.setAvailabilityStatus(random.nextInt(10) < 7
+                    ? Donor.AvailabilityStatus.AVAILABLE
+                    : Donor.AvailabilityStatus.NOT_AVAILABLE);
+            batch.add(donor);
+            if (batch.size() == SEED_BATCH_SIZE || i == count - 1) {
+                donorStore.saveAll(batch).forEach(saved -> ids.add(saved.getId()));
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.blooddonor.loadtest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the most SQL statements any request to an endpoint ran against a budget, so a change
+ * that brings back an N+1 query fails the load test instead of only showing as a slower p99.
+ * Endpoints whose responses carried no {@code X-DB-Query-Count} header are not checked.
+ */
+public class QueryCountAssertions {
+
+    private final int statementBudget;
+    private final List<String> violations = new ArrayList<>();
+
+    public QueryCountAssertions(int statementBudget) {
+        if (statementBudget < 1) {
+            throw new IllegalArgumentException("statement-budget must be at least 1");
+        }
+        this.statementBudget = statementBudget;
+    }
+
+    public void check(String scenario, Map<String, EndpointStats> stats) {
+        List<EndpointStats> ordered = new ArrayList<>(stats.values());
+        ordered.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        for (EndpointStats endpointStats : ordered) {
+            EndpointStats.Snapshot snapshot = endpointStats.snapshot();
+            if (snapshot.maxStatements() > statementBudget) {
+                violations.add(String.format("%s: %s ran up to %d SQL statements per request (budget %d)",
+                        scenario, snapshot.getEndpoint(), snapshot.maxStatements(), statementBudget));
+            }
+        }
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    public void assertWithinBudget() {
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("SQL statement budget exceeded:\n  " + String.join("\n  ", violations));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.blooddonor.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the Resend {@code POST /emails} API. Each call is delayed by a
+ * configurable latency so the OTP paths behave like they do against the real service,
+ * and the OTP found in the email body is kept so scenarios can complete registrations.
+ */
+public class ResendStub implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResendStub.class);
+
+    private static final Pattern OTP_PATTERN = Pattern.compile("is: <strong>(\\d+)</strong>");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> lastOtpByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong emailsReceived = new AtomicLong();
+    private final long latencyMs;
+    private final long jitterMs;
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    public ResendStub(long latencyMs, long jitterMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.createContext("/emails", this::handleEmail);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Resend stub listening on {} with {}ms (+/- {}ms) latency", getUrl(), latencyMs, jitterMs);
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/emails";
+    }
+
+    public String getLastOtp(String email) {
+        return lastOtpByEmail.get(email);
+    }
+
+    public long getEmailsReceived() {
+        return emailsReceived.get();
+    }
+
+    private void handleEmail(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            JsonNode request = objectMapper.readTree(body);
+            Matcher matcher = OTP_PATTERN.matcher(request.path("html").asText());
+            if (matcher.find()) {
+                for (JsonNode to : request.path("to")) {
+                    lastOtpByEmail.put(to.asText(), matcher.group(1));
+                }
+            }
+            emailsReceived.incrementAndGet();
+            sleep();
+
+            byte[] response = ("{\"id\":\"" + UUID.randomUUID() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep() {
+        long delay = latencyMs;
+        if (jitterMs > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1);
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
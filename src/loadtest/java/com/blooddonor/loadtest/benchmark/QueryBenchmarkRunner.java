@@ -0,0 +1,219 @@
+package com.blooddonor.loadtest.benchmark;
+
+import com.blooddonor.loadtest.BenchmarkContexts;
+import com.blooddonor.loadtest.EndpointStats;
+import com.blooddonor.loadtest.LoadTestOptions;
+import com.blooddonor.loadtest.data.DonorDistribution;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.OtpVerification;
+import com.blooddonor.repository.DonorRepository;
+import com.blooddonor.repository.OtpVerificationRepository;
+import com.blooddonor.service.LocationDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Measures the latency of every {@link DonorRepository} and {@link OtpVerificationRepository}
+ * finder used by the search, login and admin paths against the benchmark database.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.mainClass=com.blooddonor.loadtest.benchmark.QueryBenchmarkRunner \
+ *     -Dexec.args="--iterations=50 --baseline=target/query-baseline.properties"
+ * </pre>
+ *
+ * With {@code --write-baseline=true} the measured medians are stored as the new baseline.
+ * Otherwise, when a baseline exists, the run fails if any query's median exceeds its
+ * baseline by more than {@code --tolerance} (relative) and {@code --min-regression-ms}.
+ */
+public class QueryBenchmarkRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBenchmarkRunner.class);
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        boolean regressed;
+
+        try (ConfigurableApplicationContext context = BenchmarkContexts.start()) {
+            List<QueryCase> cases = buildCases(context, options.getLong("seed", 42));
+            List<String> selected = Arrays.asList(options.get("cases", "all").split(","));
+
+            Long donorCount = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM donors", Long.class);
+            StringBuilder report = new StringBuilder(String.format("Query benchmark over %d donors%n", donorCount));
+            report.append(String.format("%-28s %6s %10s %10s %10s %12s %10s%n",
+                    "query", "runs", "p50 ms", "p95 ms", "max ms", "avg rows", "baseline"));
+
+            Path baselineFile = Path.of(options.get("baseline", "target/query-baseline.properties"));
+            Properties baseline = load(baselineFile);
+            Properties measured = new Properties();
+            List<String> regressions = new ArrayList<>();
+
+            for (QueryCase queryCase : cases) {
+                if (!selected.contains("all") && !selected.contains(queryCase.getName())) {
+                    continue;
+                }
+                Result result = measure(queryCase, options);
+                double p50 = result.stats.percentileMicros(50) / 1000.0;
+                measured.setProperty(queryCase.getName() + ".p50-ms", String.format("%.3f", p50));
+
+                String baselineValue = baseline.getProperty(queryCase.getName() + ".p50-ms");
+                if (baselineValue != null) {
+                    double allowed = Double.parseDouble(baselineValue);
+                    if (p50 > allowed * (1 + options.getDouble("tolerance", 0.25))
+                            && p50 - allowed > options.getDouble("min-regression-ms", 2)) {
+                        regressions.add(String.format("%s: p50 %.2fms vs baseline %sms", queryCase.getName(), p50, baselineValue));
+                    }
+                }
+                report.append(String.format("%-28s %6d %10.2f %10.2f %10.2f %12d %10s%n",
+                        queryCase.getName(),
+                        result.stats.getRequests(),
+                        p50,
+                        result.stats.percentileMicros(95) / 1000.0,
+                        result.stats.maxMicros() / 1000.0,
+                        result.stats.getRequests() == 0 ? 0 : result.rows / result.stats.getRequests(),
+                        baselineValue != null ? baselineValue : "-"));
+            }
+
+            System.out.println(report);
+            Files.writeString(Path.of(options.get("report", "target/query-benchmark-report.txt")), report, StandardCharsets.UTF_8);
+
+            if (options.getBoolean("write-baseline", false)) {
+                store(baselineFile, measured, donorCount);
+                log.info("Baseline written to {}", baselineFile.toAbsolutePath());
+            }
+            regressed = !regressions.isEmpty();
+            regressions.forEach(regression -> log.error("Query regression: {}", regression));
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    private static List<QueryCase> buildCases(ConfigurableApplicationContext context, long seed) {
+        DonorRepository donors = context.getBean(DonorRepository.class);
+        OtpVerificationRepository otps = context.getBean(OtpVerificationRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocationDictionary locations = context.getBean(LocationDictionary.class);
+        DonorDistribution distribution = new DonorDistribution(seed);
+
+        // Real keys drawn up front so point lookups hit existing rows
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM donors ORDER BY email LIMIT " + SAMPLE_SIZE, Long.class);
+        List<String> emails = jdbcTemplate.queryForList(
+                "SELECT email FROM donors ORDER BY phone LIMIT " + SAMPLE_SIZE, String.class);
+        List<Object[]> activeOtps = jdbcTemplate.query(
+                "SELECT email, otp_code, purpose FROM otp_verifications WHERE is_used = FALSE LIMIT " + SAMPLE_SIZE,
+                (rs, row) -> new Object[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+
+        List<QueryCase> cases = new ArrayList<>();
+        // City searches go through the dictionary ids, as DonorService.searchDonors does
+        cases.add(new QueryCase("search.group-city-status", random -> donors.findByBloodGroupAndCityIdAndAvailabilityStatus(
+                bloodGroup(distribution, random), cityId(locations, distribution, random),
+                Donor.AvailabilityStatus.AVAILABLE).size()));
+        cases.add(new QueryCase("search.group-city", random -> donors.findByBloodGroupAndCityId(
+                bloodGroup(distribution, random), cityId(locations, distribution, random)).size()));
+        cases.add(new QueryCase("search.city", random -> donors.findByCityId(cityId(locations, distribution, random)).size()));
+        cases.add(new QueryCase("search.group", random -> donors.findByBloodGroup(bloodGroup(distribution, random)).size()));
+        cases.add(new QueryCase("search.verified", random -> donors.findByIsVerifiedTrue().size()));
+        cases.add(new QueryCase("donor.find-by-id", random -> donors.findById(pick(ids, random)).isPresent() ? 1 : 0));
+        cases.add(new QueryCase("donor.find-by-email", random -> donors.findByEmail(pick(emails, random)).isPresent() ? 1 : 0));
+        cases.add(new QueryCase("donor.exists-by-email", random -> donors.existsByEmail(pick(emails, random)) ? 1 : 0));
+        cases.add(new QueryCase("admin.find-all", random -> donors.findAll().size()));
+        cases.add(new QueryCase("otp.find-active", random -> {
+            if (activeOtps.isEmpty()) {
+                return 0;
+            }
+            Object[] otp = activeOtps.get(random.nextInt(activeOtps.size()));
+            return otps.findByEmailAndOtpCodeAndPurposeAndIsUsedFalse((String) otp[0], (String) otp[1],
+                    OtpVerification.OtpPurpose.valueOf((String) otp[2])).isPresent() ? 1 : 0;
+        }));
+        cases.add(new QueryCase("otp.find-expired", random -> otps.findByExpiresAtBefore(LocalDateTime.now()).size()));
+        return cases;
+    }
+
+    private static Result measure(QueryCase queryCase, LoadTestOptions options) {
+        Random random = new Random(options.getLong("seed", 42) ^ queryCase.getName().hashCode());
+        int warmup = options.getInt("warmup", 3);
+        int iterations = options.getInt("iterations", 50);
+        long budgetNanos = options.getLong("case-budget-seconds", 30) * 1_000_000_000L;
+
+        for (int i = 0; i < warmup; i++) {
+            queryCase.run(random);
+        }
+
+        // Full-table finders are slow at scale: stop early once the time budget is spent
+        EndpointStats stats = new EndpointStats(queryCase.getName());
+        long rows = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            rows += queryCase.run(random);
+            stats.record((System.nanoTime() - start) / 1000, true);
+            if (i >= 2 && System.nanoTime() - started > budgetNanos) {
+                break;
+            }
+        }
+        log.info("Measured {}", queryCase.getName());
+        return new Result(stats.snapshot(), rows);
+    }
+
+    private static BloodGroup bloodGroup(DonorDistribution distribution, Random random) {
+        return BloodGroup.fromLabel(distribution.nextBloodGroup(random));
+    }
+
+    // Unknown cities map to -1, which matches no rows, like a search for a city nobody lives in
+    private static Integer cityId(LocationDictionary locations, DonorDistribution distribution, Random random) {
+        return locations.findCityId(distribution.nextCity(random)).orElse(-1);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Properties load(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    private static void store(Path file, Properties properties, Long donorCount) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Query benchmark baseline over " + donorCount + " donors");
+        }
+    }
+
+    private static class Result {
+
+        private final EndpointStats.Snapshot stats;
+        private final long rows;
+
+        Result(EndpointStats.Snapshot stats, long rows) {
+            this.stats = stats;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.blooddonor.loadtest.benchmark;
+
+import java.util.Random;
+
+/**
+ * One benchmarked query. Each invocation draws its parameters from {@code random} and
+ * returns the number of rows it produced.
+ */
+public class QueryCase {
+
+    @FunctionalInterface
+    public interface Invocation {
+        long run(Random random);
+    }
+
+    private final String name;
+    private final Invocation invocation;
+
+    public QueryCase(String name, Invocation invocation) {
+        this.name = name;
+        this.invocation = invocation;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long run(Random random) {
+        return invocation.run(random);
+    }
+}
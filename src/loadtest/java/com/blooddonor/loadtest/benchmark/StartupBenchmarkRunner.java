@@ -0,0 +1,179 @@
+package com.blooddonor.loadtest.benchmark;
+
+import com.blooddonor.loadtest.EndpointStats;
+import com.blooddonor.loadtest.LoadContext;
+import com.blooddonor.loadtest.LoadTestOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-first-successful-search: from launching a fresh JVM on the packaged
+ * application until {@code POST /api/donors/search} answers 200, for each startup variant.
+ * Needs the layout produced by the fast-startup profile with the load test resources and H2:
+ *
+ * <pre>
+ * mvn -Pfast-startup,loadtest package -DskipTests -Dcds.training.profiles=loadtest,fast-startup
+ * mvn -Ploadtest compile exec:java -Dexec.mainClass=com.blooddonor.loadtest.benchmark.StartupBenchmarkRunner \
+ *     -Dexec.args="--iterations=5 --variants=baseline,fast-startup,aot,aot-cds"
+ * </pre>
+ *
+ * Variants: {@code baseline} (loadtest profile only), {@code fast-startup} (adds the profile),
+ * {@code aot} (adds the AOT bean definitions) and {@code aot-cds} (adds the AppCDS archive).
+ */
+public class StartupBenchmarkRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmarkRunner.class);
+
+    private static final List<String> ALL_VARIANTS = List.of("baseline", "fast-startup", "aot", "aot-cds");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final LoadTestOptions options;
+    private final Path jar;
+    private final Path archive;
+    private final Path workDir;
+
+    StartupBenchmarkRunner(LoadTestOptions options) {
+        this.options = options;
+        this.jar = Path.of(options.get("jar", "target/blood-donor-app-1.0.0.jar")).toAbsolutePath();
+        this.archive = Path.of(options.get("archive", "target/blooddonor.jsa")).toAbsolutePath();
+        this.workDir = Path.of(options.get("work-dir", "target/startup-benchmark")).toAbsolutePath();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        StartupBenchmarkRunner runner = new StartupBenchmarkRunner(options);
+        if (!Files.exists(runner.jar)) {
+            throw new IllegalStateException("Packaged jar not found at " + runner.jar
+                    + "; build it with mvn -Pfast-startup,loadtest package");
+        }
+        Files.createDirectories(runner.workDir);
+
+        List<String> variants = Arrays.asList(options.get("variants", String.join(",", ALL_VARIANTS)).split(","));
+        int iterations = options.getInt("iterations", 5);
+
+        StringBuilder report = new StringBuilder(String.format("Time to first successful search (%s)%n", runner.jar.getFileName()));
+        report.append(String.format("%-14s %6s %10s %10s %10s %8s%n", "variant", "runs", "min ms", "p50 ms", "max ms", "failed"));
+
+        for (String variant : variants) {
+            if (!ALL_VARIANTS.contains(variant)) {
+                throw new IllegalArgumentException("Unknown variant " + variant + ", expected one of " + ALL_VARIANTS);
+            }
+            if (variant.endsWith("cds") && !Files.exists(runner.archive)) {
+                log.warn("Skipping {}: no CDS archive at {}", variant, runner.archive);
+                continue;
+            }
+            EndpointStats stats = new EndpointStats(variant);
+            for (int i = 0; i < iterations; i++) {
+                runner.measure(variant, i, stats);
+            }
+            EndpointStats.Snapshot snapshot = stats.snapshot();
+            report.append(String.format("%-14s %6d %10.0f %10.0f %10.0f %8d%n",
+                    variant,
+                    snapshot.getRequests(),
+                    snapshot.percentileMicros(0) / 1000.0,
+                    snapshot.percentileMicros(50) / 1000.0,
+                    snapshot.maxMicros() / 1000.0,
+                    snapshot.getErrors()));
+        }
+
+        System.out.println(report);
+        Files.writeString(Path.of(options.get("report", "target/startup-benchmark-report.txt")), report, StandardCharsets.UTF_8);
+    }
+
+    private void measure(String variant, int iteration, EndpointStats stats) throws IOException, InterruptedException {
+        int port = freePort();
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(options.getLong("timeout-seconds", 180));
+        Path output = workDir.resolve(variant + "-" + iteration + ".log");
+
+        // Each run gets its own working directory so the application's file appender stays out of the project
+        ProcessBuilder builder = new ProcessBuilder(command(variant, port))
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile());
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        boolean success = false;
+        try {
+            while (System.nanoTime() - start < timeoutNanos && process.isAlive()) {
+                if (searchSucceeds(port)) {
+                    success = true;
+                    break;
+                }
+                Thread.sleep(options.getLong("poll-ms", 50));
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+        stats.record(elapsedMicros, success);
+        if (success) {
+            log.info("{} #{}: first search after {} ms", variant, iteration, elapsedMicros / 1000);
+        } else {
+            log.warn("{} #{}: no successful search, see {}", variant, iteration, output);
+        }
+    }
+
+    private List<String> command(String variant, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (variant.equals("aot-cds")) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+            command.add("-Xlog:cds=error");
+        }
+        if (variant.startsWith("aot")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--spring.profiles.active=" + (variant.equals("baseline") ? "loadtest" : "loadtest,fast-startup"));
+        command.add("--server.port=" + port);
+        // Search never sends mail; the address only has to be well formed
+        command.add("--resend.api.url=http://127.0.0.1:" + port + "/resend-disabled");
+        return command;
+    }
+
+    private boolean searchSucceeds(int port) throws InterruptedException {
+        String body = String.format("{\"bloodGroup\":\"%s\",\"city\":\"%s\"}",
+                LoadContext.BLOOD_GROUPS.get(0), LoadContext.CITIES.get(0));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/donors/search"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().contains("\"success\":true");
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.blooddonor.loadtest.benchmark;
+
+import com.blooddonor.dto.ApiResponse;
+import com.blooddonor.loadtest.EndpointStats;
+import com.blooddonor.loadtest.LoadTestOptions;
+import com.blooddonor.loadtest.data.DonorDistribution;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares encode cost and bytes on the wire of a search response
+ * ({@code ApiResponse<List<Donor>>}) as JSON, CBOR and Smile, each plain and gzipped
+ * the way Tomcat compresses responses.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.mainClass=com.blooddonor.loadtest.benchmark.WireFormatBenchmarkRunner \
+ *     -Dexec.args="--sizes=10,1000,100000 --iterations=30"
+ * </pre>
+ */
+public class WireFormatBenchmarkRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmarkRunner.class);
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", mapper(new JsonFactory()));
+        formats.put("cbor", mapper(new CBORFactory()));
+        formats.put("smile", mapper(new SmileFactory()));
+
+        StringBuilder report = new StringBuilder("Wire format benchmark for ApiResponse<List<Donor>>\n");
+        report.append(String.format("%8s %-6s %12s %8s %12s %8s %12s %12s%n",
+                "donors", "format", "bytes", "vs json", "gzip bytes", "vs json", "encode ms", "gzip ms"));
+
+        for (String size : options.get("sizes", "10,1000,100000").split(",")) {
+            int donorCount = Integer.parseInt(size.trim());
+            ApiResponse<List<Donor>> response = ApiResponse.success("Donors found", donors(donorCount, options.getLong("seed", 42)));
+            long jsonBytes = 0;
+            long jsonGzipBytes = 0;
+
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                Result result = measure(format.getValue(), response, options);
+                if (format.getKey().equals("json")) {
+                    jsonBytes = result.bytes;
+                    jsonGzipBytes = result.gzipBytes;
+                }
+                report.append(String.format("%8d %-6s %12d %7.0f%% %12d %7.0f%% %12.3f %12.3f%n",
+                        donorCount,
+                        format.getKey(),
+                        result.bytes,
+                        100.0 * result.bytes / jsonBytes,
+                        result.gzipBytes,
+                        100.0 * result.gzipBytes / jsonGzipBytes,
+                        result.encode.percentileMicros(50) / 1000.0,
+                        result.gzip.percentileMicros(50) / 1000.0));
+                log.info("Measured {} x {}", format.getKey(), donorCount);
+            }
+        }
+
+        System.out.println(report);
+        Files.writeString(Path.of(options.get("report", "target/wire-format-benchmark-report.txt")), report, StandardCharsets.UTF_8);
+    }
+
+    // Same settings Boot applies to the application's mappers (see WebConfig)
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new Jackson2ObjectMapperBuilder()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static Result measure(ObjectMapper mapper, Object response, LoadTestOptions options) throws IOException {
+        int warmup = options.getInt("warmup", 5);
+        int iterations = options.getInt("iterations", 30);
+        long budgetNanos = options.getLong("case-budget-seconds", 20) * 1_000_000_000L;
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (int i = 0; i < warmup; i++) {
+            buffer.reset();
+            mapper.writeValue(buffer, response);
+            gzip(buffer.toByteArray());
+        }
+
+        EndpointStats encode = new EndpointStats("encode");
+        EndpointStats gzip = new EndpointStats("gzip");
+        byte[] encoded = new byte[0];
+        int gzipBytes = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            buffer.reset();
+            long start = System.nanoTime();
+            mapper.writeValue(buffer, response);
+            encoded = buffer.toByteArray();
+            encode.record((System.nanoTime() - start) / 1000, true);
+
+            start = System.nanoTime();
+            gzipBytes = gzip(encoded);
+            gzip.record((System.nanoTime() - start) / 1000, true);
+            if (i >= 2 && System.nanoTime() - started > budgetNanos) {
+                break;
+            }
+        }
+        return new Result(encoded.length, gzipBytes, encode.snapshot(), gzip.snapshot());
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.size();
+    }
+
+    private static List<Donor> donors(int count, long seed) {
+        Random random = new Random(seed);
+        DonorDistribution distribution = new DonorDistribution(seed);
+        List<Donor.AvailabilityStatus> statuses = Arrays.asList(Donor.AvailabilityStatus.values());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Donor> donors = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            String name = distribution.nextName(random);
+            String city = distribution.nextCity(random);
+            Donor donor = new Donor();
+            donor.setId(i);
+            donor.setName(name);
+            donor.setEmail(distribution.emailFor(random, name, i));
+            donor.setPhone(distribution.phoneFor(i));
+            donor.setBloodGroup(BloodGroup.fromLabel(distribution.nextBloodGroup(random)));
+            donor.setCity(city);
+            donor.setArea(distribution.nextArea(random, city));
+            donor.setAvailabilityStatus(statuses.get(random.nextInt(statuses.size())));
+            if (donor.getAvailabilityStatus() != Donor.AvailabilityStatus.AVAILABLE) {
+                donor.setNotAvailableUntil(LocalDate.now().plusDays(random.nextInt(90)));
+            }
+            donor.setIsVerified(random.nextInt(10) < 8);
+            donor.setCreatedAt(now.minusMinutes(random.nextInt(500_000)));
+            donor.setUpdatedAt(donor.getCreatedAt().plusMinutes(random.nextInt(10_000)));
+            donors.add(donor);
+        }
+        return donors;
+    }
+
+    private static class Result {
+
+        private final long bytes;
+        private final long gzipBytes;
+        private final EndpointStats.Snapshot encode;
+        private final EndpointStats.Snapshot gzip;
+
+        Result(long bytes, long gzipBytes, EndpointStats.Snapshot encode, EndpointStats.Snapshot gzip) {
+            this.bytes = bytes;
+            this.gzipBytes = gzipBytes;
+            this.encode = encode;
+            this.gzip = gzip;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.blooddonor.loadtest.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Realistic shape of the donor population: blood group frequencies close to the Indian
+ * population, a long tail of cities where a handful hold most donors, and a per-city set
+ * of areas that is itself skewed. Everything derives from the seed so runs are repeatable.
+ */
+public class DonorDistribution {
+
+    public static final WeightedChoice<String> BLOOD_GROUPS = new WeightedChoice<>(
+            List.of("O+", "B+", "A+", "AB+", "O-", "B-", "A-", "AB-"),
+            new double[]{35.8, 30.9, 22.9, 7.7, 1.0, 0.9, 0.5, 0.3});
+
+    private static final List<String> CITIES = List.of(
+            "Hyderabad", "Bengaluru", "Chennai", "Mumbai", "Delhi", "Pune", "Kolkata", "Ahmedabad",
+            "Visakhapatnam", "Vijayawada", "Guntur", "Nellore", "Tirupati", "Kakinada", "Rajahmundry",
+            "Warangal", "Karimnagar", "Nizamabad", "Khammam", "Kurnool", "Anantapur", "Kadapa",
+            "Eluru", "Ongole", "Srikakulam", "Vizianagaram", "Machilipatnam", "Tenali", "Chittoor",
+            "Mysuru", "Mangaluru", "Coimbatore", "Madurai", "Nagpur", "Nashik", "Surat", "Jaipur",
+            "Lucknow", "Bhopal", "Indore", "Bhubaneswar", "Kochi", "Thiruvananthapuram", "Patna");
+
+    private static final List<String> AREA_SUFFIXES = List.of(
+            "Nagar", "Colony", "Peta", "Puram", "Palem", "Gudem", "Pally", "Road", "Layout", "Cross");
+
+    private static final List<String> AREA_PREFIXES = List.of(
+            "Gandhi", "Nehru", "Ram", "Lakshmi", "Srinivasa", "Venkateswara", "Krishna", "Sai",
+            "Ashok", "Vidya", "Shanti", "Indira", "Rajiv", "Subhash", "Patel", "Tilak", "Ambedkar",
+            "Balaji", "Durga", "Hanuman", "Ganesh", "Surya", "Chandra", "Kamala", "Padma");
+
+    private static final List<String> FIRST_NAMES = List.of(
+            "Arjun", "Sai", "Ravi", "Kiran", "Suresh", "Ramesh", "Mahesh", "Venkat", "Srinivas", "Manoj",
+            "Priya", "Lakshmi", "Divya", "Anusha", "Swathi", "Keerthi", "Sravani", "Harika", "Pooja", "Sneha",
+            "Rahul", "Vikram", "Anil", "Naveen", "Praveen", "Deepika", "Bhavana", "Madhavi", "Sowmya", "Tejaswi");
+
+    private static final List<String> LAST_NAMES = List.of(
+            "Reddy", "Rao", "Naidu", "Sharma", "Kumar", "Varma", "Chowdary", "Gupta", "Patel", "Iyer",
+            "Nair", "Menon", "Singh", "Das", "Yadav", "Goud", "Raju", "Murthy", "Prasad", "Babu");
+
+    private static final List<String> EMAIL_DOMAINS = List.of(
+            "gmail.com", "yahoo.com", "outlook.com", "rediffmail.com", "hotmail.com");
+
+    private final WeightedChoice<String> cities = WeightedChoice.zipf(CITIES, 1.1);
+    private final Map<String, WeightedChoice<String>> areasByCity = new HashMap<>();
+    private final WeightedChoice<String> emailDomains = new WeightedChoice<>(EMAIL_DOMAINS,
+            new double[]{70, 12, 8, 6, 4});
+
+    public DonorDistribution(long seed) {
+        Random random = new Random(seed);
+        List<String> allAreas = new ArrayList<>(AREA_PREFIXES.size() * AREA_SUFFIXES.size());
+        for (String prefix : AREA_PREFIXES) {
+            for (String suffix : AREA_SUFFIXES) {
+                allAreas.add(prefix + " " + suffix);
+            }
+        }
+        for (int rank = 0; rank < CITIES.size(); rank++) {
+            // Larger cities are split into more areas
+            int areaCount = Math.max(15, allAreas.size() / (rank + 1));
+            Collections.shuffle(allAreas, random);
+            areasByCity.put(CITIES.get(rank), WeightedChoice.zipf(allAreas.subList(0, areaCount), 0.8));
+        }
+    }
+
+    public String nextBloodGroup(Random random) {
+        return BLOOD_GROUPS.next(random);
+    }
+
+    public String nextCity(Random random) {
+        return cities.next(random);
+    }
+
+    public String nextArea(Random random, String city) {
+        return areasByCity.get(city).next(random);
+    }
+
+    public String nextName(Random random) {
+        return FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " " + LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+    }
+
+    /**
+     * Unique per donor number, so emails never collide regardless of the random draw.
+     */
+    public String emailFor(Random random, String name, long donorNumber) {
+        return name.toLowerCase().replace(' ', '.') + donorNumber + "@" + emailDomains.next(random);
+    }
+
+    public String phoneFor(long donorNumber) {
+        return String.valueOf(6_000_000_000L + donorNumber * 7919 % 4_000_000_000L);
+    }
+
+    public List<String> getCities() {
+        return cities.getValues();
+    }
+}
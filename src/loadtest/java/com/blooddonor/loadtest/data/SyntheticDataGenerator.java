@@ -0,0 +1,146 @@
+package com.blooddonor.loadtest.data;
+
+import com.blooddonor.model.Area;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.City;
+import com.blooddonor.model.Donor;
+import com.blooddonor.service.LocationDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes deterministic synthetic {@code donors} and {@code otp_verifications} rows with
+ * plain JDBC batches. Donor {@code n} is always generated from the same random stream, so
+ * two runs with the same seed and size produce identical tables.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_DONOR = "INSERT INTO donors "
+            + "(name, email, phone, blood_group, area, city, area_id, city_id, availability_status, "
+            + "not_available_until, created_at, updated_at, is_verified) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OTP = "INSERT INTO otp_verifications "
+            + "(email, otp_code, purpose, created_at, expires_at, is_used) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] OTP_PURPOSES = {"DONOR_REGISTRATION", "REPORT_CONFIRMATION", "STATUS_UPDATE"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocationDictionary locationDictionary;
+    private final DonorDistribution distribution;
+    private final long seed;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, LocationDictionary locationDictionary,
+                                  long seed, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.locationDictionary = locationDictionary;
+        this.distribution = new DonorDistribution(seed);
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    public void reset() {
+        log.info("Deleting existing donors and OTP verifications");
+        jdbcTemplate.execute("DELETE FROM otp_verifications");
+        jdbcTemplate.execute("DELETE FROM donors");
+    }
+
+    /**
+     * Generates donors {@code [from, to)} and, for a fraction of them, OTP verification rows.
+     */
+    public void generate(long from, long to, double otpRatio) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Object[]> donors = new ArrayList<>(batchSize);
+        List<Object[]> otps = new ArrayList<>(batchSize);
+        long started = System.nanoTime();
+
+        for (long n = from; n < to; n++) {
+            // One stream per donor keeps output independent of batch size and range splits
+            Random random = new Random(seed * 31 + n);
+            String name = distribution.nextName(random);
+            String email = distribution.emailFor(random, name, n);
+            String cityName = distribution.nextCity(random);
+            boolean available = random.nextInt(100) < 72;
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(5 * 365 * 24 * 60));
+            LocalDateTime updatedAt = createdAt.plusMinutes(random.nextInt(
+                    (int) Math.max(1, Duration.between(createdAt, now).toMinutes())));
+            BloodGroup bloodGroup = BloodGroup.fromLabel(distribution.nextBloodGroup(random));
+            City city = locationDictionary.resolveCity(cityName);
+            Area area = locationDictionary.resolveArea(city, distribution.nextArea(random, cityName));
+
+            donors.add(new Object[]{
+                    name,
+                    email,
+                    distribution.phoneFor(n),
+                    bloodGroup.getCode(),
+                    area.getName(),
+                    city.getName(),
+                    area.getId(),
+                    city.getId(),
+                    (available ? Donor.AvailabilityStatus.AVAILABLE : Donor.AvailabilityStatus.NOT_AVAILABLE).getCode(),
+                    available ? null : Date.valueOf(LocalDate.now().plusDays(1 + random.nextInt(180))),
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(updatedAt),
+                    random.nextInt(100) < 97
+            });
+
+            if (random.nextDouble() < otpRatio) {
+                LocalDateTime otpCreated = now.minusMinutes(random.nextInt(7 * 24 * 60));
+                otps.add(new Object[]{
+                        email,
+                        String.format("%06d", random.nextInt(1_000_000)),
+                        OTP_PURPOSES[random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(2)],
+                        Timestamp.valueOf(otpCreated),
+                        Timestamp.valueOf(otpCreated.plusMinutes(10)),
+                        random.nextInt(100) < 85
+                });
+            }
+
+            if (donors.size() == batchSize) {
+                flush(donors, otps);
+                long written = n + 1 - from;
+                if (written % (batchSize * 100L) == 0) {
+                    double seconds = (System.nanoTime() - started) / 1e9;
+                    log.info("Generated {} donors ({} rows/s)", written, (long) (written / seconds));
+                }
+            }
+        }
+        flush(donors, otps);
+        log.info("Generated {} donors in {}s", to - from, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void flush(List<Object[]> donors, List<Object[]> otps) {
+        if (!donors.isEmpty()) {
+            batchInsert(INSERT_DONOR, donors);
+            donors.clear();
+        }
+        if (!otps.isEmpty()) {
+            batchInsert(INSERT_OTP, otps);
+            otps.clear();
+        }
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), SyntheticDataGenerator::bind);
+    }
+
+    private static void bind(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+}
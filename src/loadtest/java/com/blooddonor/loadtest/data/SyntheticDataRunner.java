@@ -0,0 +1,49 @@
+package com.blooddonor.loadtest.data;
+
+import com.blooddonor.loadtest.BenchmarkContexts;
+import com.blooddonor.loadtest.LoadTestOptions;
+import com.blooddonor.service.LocationDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills the benchmark database with synthetic donors.
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.mainClass=com.blooddonor.loadtest.data.SyntheticDataRunner \
+ *     -Dexec.args="--donors=1000000 --seed=42 --otp-ratio=0.3"
+ * </pre>
+ *
+ * Without {@code --reset=true} the run appends from the current donor count, so a 1M
+ * dataset can be grown to 10M and still match a fresh 10M run with the same seed.
+ */
+public class SyntheticDataRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    public static void main(String[] args) {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        long donors = options.getLong("donors", 1_000_000);
+        long seed = options.getLong("seed", 42);
+
+        try (ConfigurableApplicationContext context = BenchmarkContexts.start()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate,
+                    context.getBean(LocationDictionary.class), seed, options.getInt("batch-size", 5000));
+
+            if (options.getBoolean("reset", false)) {
+                generator.reset();
+            }
+            Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM donors", Long.class);
+            long from = existing != null ? existing : 0;
+            if (from >= donors) {
+                log.info("Database already holds {} donors, nothing to generate", from);
+                return;
+            }
+            log.info("Generating donors {} to {} with seed {}", from, donors, seed);
+            generator.generate(from, donors, options.getDouble("otp-ratio", 0.3));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.blooddonor.loadtest.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks values with fixed relative weights using a cumulative table and binary search.
+ */
+public class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulative;
+
+    public WeightedChoice(List<T> values, double[] weights) {
+        if (values.size() != weights.length || values.isEmpty()) {
+            throw new IllegalArgumentException("Values and weights must be non-empty and the same length");
+        }
+        this.values = List.copyOf(values);
+        this.cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    /**
+     * Zipf-like weights: the value at rank {@code r} gets weight {@code 1 / r^exponent}.
+     */
+    public static <T> WeightedChoice<T> zipf(List<T> values, double exponent) {
+        double[] weights = new double[values.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        return new WeightedChoice<>(values, weights);
+    }
+
+    public T next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return values.get(Math.min(index, values.size() - 1));
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,55 @@
+package com.blooddonor.loadtest.scenario;
+
+import com.blooddonor.dto.DonorRegistrationRequest;
+import com.blooddonor.loadtest.LoadContext;
+import com.blooddonor.loadtest.LoadDriver;
+import com.blooddonor.loadtest.LoadHttpClient;
+import com.blooddonor.loadtest.LoadScenario;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Admins correcting donor records in bulk: occasional full list downloads mixed with
+ * profile edits and availability changes on random donors.
+ */
+public class AdminBulkEditScenario implements LoadScenario {
+
+    @Override
+    public String getName() {
+        return "admin-bulk-edit";
+    }
+
+    @Override
+    public void run(LoadContext context, LoadHttpClient client, LoadDriver driver) throws Exception {
+        String token = context.loginAdmin(client);
+        List<Long> donorIds = context.getSeededDonorIds();
+
+        driver.run("admin-bulk-edit", context.getOptions().getConcurrency(), context.getOptions().getDuration(),
+                (worker, iteration) -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    if (iteration % 50 == 0) {
+                        client.get("GET /api/admin/donors", "/api/admin/donors", token);
+                        return;
+                    }
+
+                    Long id = donorIds.get(random.nextInt(donorIds.size()));
+                    if (random.nextBoolean()) {
+                        DonorRegistrationRequest request = new DonorRegistrationRequest();
+                        request.setName("Edited Donor " + id);
+                        request.setEmail("seed-" + id + "@loadtest.example");
+                        request.setPhone("9" + (100_000_000L + id));
+                        request.setBloodGroup(LoadContext.BLOOD_GROUPS.get(random.nextInt(LoadContext.BLOOD_GROUPS.size())));
+                        request.setCity(LoadContext.CITIES.get(random.nextInt(LoadContext.CITIES.size())));
+                        request.setArea("Area " + random.nextInt(50));
+                        client.put("PUT /api/admin/donors/{id}", "/api/admin/donors/" + id, request, token);
+                    } else {
+                        String status = random.nextBoolean()
+                                ? "AVAILABLE"
+                                : "NOT_AVAILABLE&monthsUnavailable=" + (1 + random.nextInt(6));
+                        client.put("PUT /api/admin/donors/{id}/status",
+                                "/api/admin/donors/" + id + "/status?status=" + status, null, token);
+                    }
+                });
+    }
+}
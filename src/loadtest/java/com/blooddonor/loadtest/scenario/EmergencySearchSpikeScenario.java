@@ -0,0 +1,59 @@
+package com.blooddonor.loadtest.scenario;
+
+import com.blooddonor.dto.DonorSearchRequest;
+import com.blooddonor.dto.NearbyDonorSearchRequest;
+import com.blooddonor.loadtest.LoadContext;
+import com.blooddonor.loadtest.LoadDriver;
+import com.blooddonor.loadtest.LoadHttpClient;
+import com.blooddonor.loadtest.LoadScenario;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An emergency appeal: steady search traffic, a sudden spike of anonymous searches for
+ * one blood group across cities, then a cool-down. A third of the searches are
+ * nearest-donor lookups, the rest city filters.
+ */
+public class EmergencySearchSpikeScenario implements LoadScenario {
+
+    @Override
+    public String getName() {
+        return "search-spike";
+    }
+
+    @Override
+    public void run(LoadContext context, LoadHttpClient client, LoadDriver driver) {
+        int baseline = Math.max(1, context.getOptions().getConcurrency() / 4);
+        Duration duration = context.getOptions().getDuration();
+        Duration quiet = duration.dividedBy(2);
+
+        driver.run("search-baseline", baseline, quiet, (worker, iteration) -> search(client, null));
+        driver.run("search-spike", context.getOptions().getSpikeConcurrency(), duration,
+                (worker, iteration) -> search(client, "O-"));
+        driver.run("search-cooldown", baseline, quiet, (worker, iteration) -> search(client, null));
+    }
+
+    private void search(LoadHttpClient client, String appealBloodGroup) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String bloodGroup = appealBloodGroup != null && random.nextInt(4) != 0
+                ? appealBloodGroup
+                : LoadContext.BLOOD_GROUPS.get(random.nextInt(LoadContext.BLOOD_GROUPS.size()));
+        String city = LoadContext.CITIES.get(random.nextInt(LoadContext.CITIES.size()));
+        if (random.nextInt(3) == 0) {
+            NearbyDonorSearchRequest nearby = new NearbyDonorSearchRequest();
+            nearby.setBloodGroup(bloodGroup);
+            nearby.setCity(city);
+            nearby.setRadiusKm(random.nextBoolean() ? 10.0 : 25.0);
+            client.post("POST /api/donors/nearby", "/api/donors/nearby", nearby, null);
+            return;
+        }
+        DonorSearchRequest request = new DonorSearchRequest();
+        request.setBloodGroup(bloodGroup);
+        request.setCity(city);
+        if (random.nextInt(10) < 7) {
+            request.setAvailabilityStatus("AVAILABLE");
+        }
+        client.post("POST /api/donors/search", "/api/donors/search", request, null);
+    }
+}
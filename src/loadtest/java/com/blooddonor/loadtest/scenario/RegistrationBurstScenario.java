@@ -0,0 +1,78 @@
+package com.blooddonor.loadtest.scenario;
+
+import com.blooddonor.dto.DonorRegistrationRequest;
+import com.blooddonor.dto.OtpLoginRequest;
+import com.blooddonor.loadtest.LoadContext;
+import com.blooddonor.loadtest.LoadDriver;
+import com.blooddonor.loadtest.LoadHttpClient;
+import com.blooddonor.loadtest.LoadScenario;
+import com.blooddonor.model.OtpVerification;
+import com.blooddonor.repository.OtpVerificationRepository;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A registration drive: many new donors initiate registration, complete it with the OTP
+ * captured by the Resend stub, then sign in with an OTP.
+ */
+public class RegistrationBurstScenario implements LoadScenario {
+
+    @Override
+    public String getName() {
+        return "registration-burst";
+    }
+
+    @Override
+    public void run(LoadContext context, LoadHttpClient client, LoadDriver driver) {
+        OtpVerificationRepository otpRepository = context.getApplicationContext().getBean(OtpVerificationRepository.class);
+        long runId = System.currentTimeMillis();
+
+        driver.run("registration-burst", context.getOptions().getConcurrency(), context.getOptions().getDuration(),
+                (worker, iteration) -> {
+                    DonorRegistrationRequest request = newRegistration("burst-" + runId + "-" + iteration + "@loadtest.example");
+                    HttpResponse<String> initiated = client.post("POST /api/donors/register/initiate",
+                            "/api/donors/register/initiate", request, null);
+                    String otp = context.getResendStub().getLastOtp(request.getEmail());
+                    if (initiated == null || initiated.statusCode() != 200 || otp == null) {
+                        return;
+                    }
+
+                    HttpResponse<String> completed = client.post("POST /api/donors/register/complete",
+                            "/api/donors/register/complete?otp=" + otp, request, null);
+                    if (completed == null || completed.statusCode() != 200) {
+                        return;
+                    }
+
+                    // There is no public endpoint that issues a login OTP, so store one directly
+                    OtpLoginRequest login = new OtpLoginRequest();
+                    login.setEmail(request.getEmail());
+                    login.setOtp(storeLoginOtp(otpRepository, request.getEmail()));
+                    client.post("POST /api/donors/login-otp", "/api/donors/login-otp", login, null);
+                });
+    }
+
+    private DonorRegistrationRequest newRegistration(String email) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        DonorRegistrationRequest request = new DonorRegistrationRequest();
+        request.setName("Load Donor " + random.nextInt(1_000_000));
+        request.setEmail(email);
+        request.setPhone("9" + (100_000_000L + random.nextLong(899_999_999L)));
+        request.setBloodGroup(LoadContext.BLOOD_GROUPS.get(random.nextInt(LoadContext.BLOOD_GROUPS.size())));
+        request.setCity(LoadContext.CITIES.get(random.nextInt(LoadContext.CITIES.size())));
+        request.setArea("Area " + random.nextInt(50));
+        return request;
+    }
+
+    private String storeLoginOtp(OtpVerificationRepository otpRepository, String email) {
+        String otp = String.format("%06d", ThreadLocalRandom.current().nextInt(1_000_000));
+        OtpVerification verification = new OtpVerification();
+        verification.setEmail(email);
+        verification.setOtpCode(otp);
+        verification.setPurpose(OtpVerification.OtpPurpose.DONOR_REGISTRATION);
+        verification.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        otpRepository.save(verification);
+        return otp;
+    }
+}
@@ -2,13 +2,20 @@ package com.blooddonor;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
 public class BloodDonorApplication {
 
+    // Enough for every bean and phase of one startup; later steps are dropped, not blocked
+    private static final int STARTUP_STEP_CAPACITY = 8192;
+
     public static void main(String[] args) {
-        SpringApplication.run(BloodDonorApplication.class, args);
+        SpringApplication application = new SpringApplication(BloodDonorApplication.class);
+        // Feeds StartupTimelineReport and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 }
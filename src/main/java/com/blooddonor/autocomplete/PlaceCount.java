@@ -0,0 +1,29 @@
+package com.blooddonor.autocomplete;
+
+/**
+ * Number of donors per city and area, loaded with a single grouped query at startup.
+ */
+public class PlaceCount {
+
+    private final String city;
+    private final String area;
+    private final long donorCount;
+
+    public PlaceCount(String city, String area, Long donorCount) {
+        this.city = city;
+        this.area = area;
+        this.donorCount = donorCount;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public long getDonorCount() {
+        return donorCount;
+    }
+}
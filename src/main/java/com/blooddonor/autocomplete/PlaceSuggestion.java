@@ -0,0 +1,23 @@
+package com.blooddonor.autocomplete;
+
+/**
+ * An autocomplete result: a city or area name and how many donors are registered there.
+ */
+public class PlaceSuggestion {
+
+    private final String name;
+    private final int donorCount;
+
+    public PlaceSuggestion(String name, int donorCount) {
+        this.name = name;
+        this.donorCount = donorCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDonorCount() {
+        return donorCount;
+    }
+}
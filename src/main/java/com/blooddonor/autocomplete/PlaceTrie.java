@@ -0,0 +1,184 @@
+package com.blooddonor.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix trie of place names weighted by donor count.
+ *
+ * <p>Children are kept in sorted parallel arrays rather than maps to keep nodes small, and
+ * every node caches the highest weight in its subtree so a top-k lookup is a best-first
+ * walk that only expands branches able to beat what has already been found.</p>
+ */
+public class PlaceTrie {
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adjusts the weight of a name by {@code delta}; names whose weight drops to zero stop
+     * being suggested.
+     */
+    public void add(String name, int delta) {
+        String key = normalize(name);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                path[i + 1] = node;
+            }
+            node.addVariant(name.trim(), delta);
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].recomputeMaxWeight();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} names starting with {@code prefix}, heaviest first.
+     */
+    public List<PlaceSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<PlaceSuggestion> results = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null || node.maxWeight <= 0) {
+                return results;
+            }
+            PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Integer.compare(b.rank, a.rank));
+            queue.add(new Candidate(node, null, node.maxWeight));
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.suggestion != null) {
+                    results.add(candidate.suggestion);
+                    continue;
+                }
+                Node current = candidate.node;
+                if (current.weight > 0) {
+                    queue.add(new Candidate(null, new PlaceSuggestion(current.display, current.weight), current.weight));
+                }
+                for (Node child : current.children) {
+                    if (child.maxWeight > 0) {
+                        queue.add(new Candidate(child, null, child.maxWeight));
+                    }
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.keys = new char[0];
+            root.children = new Node[0];
+            root.maxWeight = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // A subtree ranked by its best weight, or a finished name ranked by its own weight
+    private static final class Candidate {
+
+        private final Node node;
+        private final PlaceSuggestion suggestion;
+        private final int rank;
+
+        Candidate(Node node, PlaceSuggestion suggestion, int rank) {
+            this.node = node;
+            this.suggestion = suggestion;
+            this.rank = rank;
+        }
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int weight;
+        private int maxWeight;
+        // Spelling shown to users: the casing most donors registered with
+        private String display;
+        private Map<String, Integer> variants;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node node = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = node;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+
+        void addVariant(String spelling, int delta) {
+            if (variants == null) {
+                variants = new HashMap<>(2);
+            }
+            variants.merge(spelling, delta, Integer::sum);
+            variants.values().removeIf(count -> count <= 0);
+            weight = 0;
+            display = null;
+            int best = 0;
+            for (Map.Entry<String, Integer> variant : variants.entrySet()) {
+                weight += variant.getValue();
+                if (variant.getValue() > best) {
+                    best = variant.getValue();
+                    display = variant.getKey();
+                }
+            }
+            if (variants.isEmpty()) {
+                variants = null;
+            }
+        }
+
+        void recomputeMaxWeight() {
+            int max = weight;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
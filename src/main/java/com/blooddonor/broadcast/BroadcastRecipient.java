@@ -0,0 +1,29 @@
+package com.blooddonor.broadcast;
+
+/**
+ * The columns a broadcast needs from a donor row; never the full entity.
+ */
+public class BroadcastRecipient {
+
+    private final long donorId;
+    private final String email;
+    private final String name;
+
+    public BroadcastRecipient(Long donorId, String email, String name) {
+        this.donorId = donorId;
+        this.email = email;
+        this.name = name;
+    }
+
+    public long getDonorId() {
+        return donorId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
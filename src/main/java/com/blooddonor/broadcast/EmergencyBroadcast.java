@@ -0,0 +1,167 @@
+package com.blooddonor.broadcast;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One emergency request being fanned out to donors, and its live progress.
+ *
+ * <p>{@code selected} counts recipients read from the database, {@code sent} and
+ * {@code failed} count delivery attempts, and {@code skipped} counts queued donors dropped
+ * because they had already responded. Progress is readable at any time while the
+ * producer and sender threads update it.</p>
+ */
+public class EmergencyBroadcast {
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final String bloodGroup;
+    private final List<String> cities;
+    private final String hospital;
+    private final String message;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final AtomicLong selected = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final Set<Long> respondedDonorIds = ConcurrentHashMap.newKeySet();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean selectionComplete;
+    private volatile int queued;
+    private volatile LocalDateTime finishedAt;
+
+    public EmergencyBroadcast(String id, String bloodGroup, List<String> cities, String hospital, String message) {
+        this.id = id;
+        this.bloodGroup = bloodGroup;
+        this.cities = List.copyOf(cities);
+        this.hospital = hospital;
+        this.message = message;
+    }
+
+    /**
+     * Records a donor's response; a donor still waiting in the queue is not notified.
+     */
+    public boolean respond(long donorId) {
+        return respondedDonorIds.add(donorId);
+    }
+
+    public boolean hasResponded(long donorId) {
+        return respondedDonorIds.contains(donorId);
+    }
+
+    public synchronized boolean cancel() {
+        if (status != Status.RUNNING) {
+            return false;
+        }
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    public synchronized void finish(Status finalStatus) {
+        if (status == Status.RUNNING) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    @JsonIgnore
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public void recordSelected() {
+        selected.incrementAndGet();
+    }
+
+    public void recordSent() {
+        sent.incrementAndGet();
+    }
+
+    public void recordFailed() {
+        failed.incrementAndGet();
+    }
+
+    public void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    public void setSelectionComplete() {
+        selectionComplete = true;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public List<String> getCities() {
+        return cities;
+    }
+
+    public String getHospital() {
+        return hospital;
+    }
+
+    @JsonIgnore
+    public String getMessage() {
+        return message;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSelectionComplete() {
+        return selectionComplete;
+    }
+
+    public long getSelected() {
+        return selected.get();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getResponded() {
+        return respondedDonorIds.size();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.blooddonor.broadcast;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces calls evenly at a fixed rate, shared by every sender so that concurrent broadcasts
+ * together stay under the mail provider's limit. Unused slots are not banked: an idle pacer
+ * does not allow a burst afterwards.
+ */
+public class RatePacer {
+
+    private final long intervalNanos;
+    private long nextSlotNanos = System.nanoTime();
+
+    public RatePacer(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    /**
+     * Blocks until the caller's slot comes up.
+     */
+    public void acquire() throws InterruptedException {
+        long slot;
+        synchronized (this) {
+            long now = System.nanoTime();
+            slot = Math.max(nextSlotNanos, now);
+            nextSlotNanos = slot + intervalNanos;
+        }
+        long waitNanos = slot - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.blooddonor.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Makes {@code server.compression.min-response-size} effective for streamed bodies.
+ * Jackson flushes before the body is complete, so Tomcat commits without a length and
+ * compresses everything. This filter holds the body back until it passes the threshold:
+ * smaller bodies are sent with an exact {@code Content-Length} (and stay uncompressed),
+ * larger ones are released and streamed as before.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int threshold;
+
+    public CompressionThresholdFilter(@Value("${server.compression.enabled:false}") boolean enabled,
+                                      @Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.enabled = enabled;
+        this.threshold = (int) threshold.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // Event streams must flush every frame
+        return !enabled
+                || acceptEncoding == null || !acceptEncoding.contains("gzip")
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ThresholdResponseWrapper wrapped = new ThresholdResponseWrapper(response, threshold);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            // An async handler keeps writing after this returns, so it gets the stream as is
+            if (request.isAsyncStarted()) {
+                wrapped.release();
+            } else {
+                wrapped.complete();
+            }
+        }
+    }
+
+    private static class ThresholdResponseWrapper extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private ThresholdOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean errorSent;
+
+        ThresholdResponseWrapper(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(getResponse().getOutputStream(), threshold);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream == null || !outputStream.isBuffering()) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+            super.reset();
+        }
+
+        // The container renders the error page after the chain returns; leave its length alone
+        @Override
+        public void sendError(int status) throws IOException {
+            discardForError();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            discardForError();
+            super.sendError(status, message);
+        }
+
+        private void discardForError() {
+            errorSent = true;
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+        }
+
+        void complete() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null && outputStream.isBuffering() && !errorSent && !isCommitted()) {
+                setContentLength(outputStream.getBuffered());
+            }
+            release();
+        }
+
+        void release() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.release();
+            }
+        }
+    }
+
+    private static class ThresholdOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final int threshold;
+        private ByteArrayOutputStream buffer;
+
+        ThresholdOutputStream(ServletOutputStream target, int threshold) {
+            this.target = target;
+            this.threshold = threshold;
+            this.buffer = new ByteArrayOutputStream(Math.min(threshold, 1024));
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (buffer != null && buffer.size() < threshold) {
+                buffer.write(b);
+                return;
+            }
+            release();
+            target.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+            if (buffer != null && buffer.size() + length <= threshold) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            release();
+            target.write(bytes, offset, length);
+        }
+
+        // Flushing would commit the response before the length is known
+        @Override
+        public synchronized void flush() throws IOException {
+            if (buffer == null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (buffer == null) {
+                target.close();
+            }
+        }
+
+        synchronized boolean isBuffering() {
+            return buffer != null;
+        }
+
+        synchronized int getBuffered() {
+            return buffer != null ? buffer.size() : 0;
+        }
+
+        synchronized void resetBuffer() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        synchronized void release() throws IOException {
+            if (buffer != null) {
+                ByteArrayOutputStream pending = buffer;
+                buffer = null;
+                pending.writeTo(target);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
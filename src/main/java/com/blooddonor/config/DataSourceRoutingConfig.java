@@ -0,0 +1,37 @@
+package com.blooddonor.config;
+
+import com.blooddonor.datasource.ReplicaRouting;
+import com.blooddonor.datasource.ReplicaRoutingFactory;
+import com.blooddonor.datasource.RoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Boot's single pool with primary/replica routing when
+ * {@code datasource.replica.urls} lists at least one replica. Without replicas the
+ * auto-configured pool is used unchanged. Sharding ({@link ShardingConfig}) disables it.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.trim().isEmpty() && '${datasource.shards.urls:}'.trim().isEmpty()")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRouting replicaRouting(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry) {
+        return new ReplicaRoutingFactory(properties, environment, meterRegistry).create();
+    }
+
+    // The lazy proxy defers picking a pool until the first statement, when the
+    // transaction's read-only flag is known
+    @Bean
+    public DataSource dataSource(ReplicaRouting replicaRouting) {
+        return new LazyConnectionDataSourceProxy(new RoutingDataSource(replicaRouting));
+    }
+}
@@ -3,6 +3,7 @@ package com.blooddonor.config;
 import com.blooddonor.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -33,7 +34,11 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
                 .requestMatchers("/api/donors/register/**", "/api/donors/login", "/api/donors/login-otp", "/api/admin/login").permitAll()
-                .requestMatchers("/api/donors/search").permitAll()
+                .requestMatchers("/api/donors/search", "/api/donors/nearby", "/api/donors/autocomplete").permitAll()
+                // Live changes carry donor names and whereabouts: signed-in donors and admins only
+                .requestMatchers("/api/donors/changes/stream").hasAnyRole("DONOR", "ADMIN")
+                // Returns contact details for up to donor.batch.max-ids donors at once; before the {id} rule
+                .requestMatchers(HttpMethod.POST, "/api/donors/batch").hasAnyRole("DONOR", "ADMIN")
                 .requestMatchers("/api/donors/{id}").permitAll()
                 // Admin endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -0,0 +1,57 @@
+package com.blooddonor.config;
+
+import com.blooddonor.datasource.ShardRouting;
+import com.blooddonor.datasource.ShardRoutingFactory;
+import com.blooddonor.datasource.ShardedDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Spreads donor rows over city shards when {@code datasource.shards.urls} lists at least
+ * one extra database. Takes precedence over replica routing; the two are not combined.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.shards.urls:}'.trim().isEmpty()")
+public class ShardingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean
+    public ShardRouting shardRouting(DataSourceProperties properties, Environment environment,
+                                     MeterRegistry meterRegistry) {
+        return new ShardRoutingFactory(properties, environment, meterRegistry).create();
+    }
+
+    // Lazy so that a transaction which only touches other shards never holds a home connection
+    @Bean
+    public DataSource dataSource(ShardRouting shardRouting) {
+        return new LazyConnectionDataSourceProxy(new ShardedDataSource(shardRouting));
+    }
+
+    // Every shard carries the full schema, so the same migrations run on each of them
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRouting shardRouting) {
+        return flyway -> {
+            flyway.migrate();
+            for (int shard = 1; shard < shardRouting.size(); shard++) {
+                Flyway.configure(flyway.getConfiguration().getClassLoader())
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shardRouting.getShard(shard))
+                        .load()
+                        .migrate();
+                log.info("Migrated donor shard {}", shard);
+            }
+        };
+    }
+}
@@ -1,19 +1,51 @@
 package com.blooddonor.controller;
 
+import com.blooddonor.broadcast.EmergencyBroadcast;
 import com.blooddonor.dto.AdminLoginRequest;
 import com.blooddonor.dto.ApiResponse;
+import com.blooddonor.dto.BloodRequestCreateRequest;
+import com.blooddonor.dto.BloodUnitAllocationRequest;
+import com.blooddonor.dto.BloodUnitRequest;
+import com.blooddonor.dto.DonorActivityResponse;
+import com.blooddonor.dto.DonationRequest;
+import com.blooddonor.dto.DonorDeltaResponse;
+import com.blooddonor.dto.DonorLookupResponse;
 import com.blooddonor.dto.DonorRegistrationRequest;
+import com.blooddonor.dto.EmergencyBroadcastRequest;
+import com.blooddonor.dto.GeoLocationRequest;
 import com.blooddonor.dto.LoginResponse;
+import com.blooddonor.inventory.StockLevel;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.BloodRequest;
+import com.blooddonor.model.BloodUnit;
+import com.blooddonor.model.Donation;
 import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorChangeCompaction;
+import com.blooddonor.model.DonorReservation;
+import com.blooddonor.model.GeoLocation;
+import com.blooddonor.service.BloodRequestMatchingService;
+import com.blooddonor.service.BloodUnitService;
+import com.blooddonor.service.DonorActivityService;
+import com.blooddonor.service.DonationService;
+import com.blooddonor.service.DonorChangeJournal;
 import com.blooddonor.service.DonorService;
+import com.blooddonor.service.DonorStatisticsService;
+import com.blooddonor.service.EmergencyBroadcastService;
+import com.blooddonor.service.GeocodingService;
 import com.blooddonor.service.JwtService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,8 +55,18 @@ public class AdminController {
 
     private static final Logger log = LoggerFactory.getLogger(AdminController.class);
 
+    private static final int MAX_DELTA_PAGE = 5000;
+
     private final DonorService donorService;
     private final JwtService jwtService;
+    private final GeocodingService geocodingService;
+    private final DonorStatisticsService donorStatisticsService;
+    private final EmergencyBroadcastService emergencyBroadcastService;
+    private final DonorChangeJournal donorChangeJournal;
+    private final DonationService donationService;
+    private final BloodRequestMatchingService matchingService;
+    private final BloodUnitService bloodUnitService;
+    private final DonorActivityService donorActivityService;
 
     @Value("${admin.username:admin}")
     private String adminUsername;
@@ -32,9 +74,22 @@ public class AdminController {
     @Value("${admin.password:M@noj98491}")
     private String adminPassword;
 
-    public AdminController(DonorService donorService, JwtService jwtService) {
+    public AdminController(DonorService donorService, JwtService jwtService, GeocodingService geocodingService,
+                           DonorStatisticsService donorStatisticsService,
+                           EmergencyBroadcastService emergencyBroadcastService,
+                           DonorChangeJournal donorChangeJournal, DonationService donationService,
+                           BloodRequestMatchingService matchingService, BloodUnitService bloodUnitService,
+                           DonorActivityService donorActivityService) {
         this.donorService = donorService;
         this.jwtService = jwtService;
+        this.geocodingService = geocodingService;
+        this.donorStatisticsService = donorStatisticsService;
+        this.emergencyBroadcastService = emergencyBroadcastService;
+        this.donorChangeJournal = donorChangeJournal;
+        this.donationService = donationService;
+        this.matchingService = matchingService;
+        this.bloodUnitService = bloodUnitService;
+        this.donorActivityService = donorActivityService;
     }
 
     @PostMapping("/login")
@@ -63,10 +118,10 @@ public class AdminController {
 
     @GetMapping("/donors")
     public ResponseEntity<ApiResponse<List<Donor>>> getAllDonors() {
-        log.info("Fetching all donors");
+        log.debug("Fetching all donors");
         try {
             List<Donor> donors = donorService.getAllDonors();
-            log.info("Successfully retrieved {} donors", donors.size());
+            log.debug("Successfully retrieved {} donors", donors.size());
             return ResponseEntity.ok(
                 ApiResponse.success("Donors retrieved successfully", donors)
             );
@@ -76,6 +131,96 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/donors/lookup")
+    public ResponseEntity<ApiResponse<List<DonorLookupResponse>>> lookupDonors(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donors retrieved successfully", donorService.lookupDonors(q, limit))
+            );
+        } catch (Exception e) {
+            log.error("Error looking up donors", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/donors/page")
+    public ResponseEntity<ApiResponse<Page<Donor>>> getDonorsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donors retrieved successfully", donorService.getDonorsPage(page, size))
+            );
+        } catch (Exception e) {
+            log.error("Error retrieving donor page: {}", page, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Keyset paging over all donors: pass the last id received as {@code afterId}.
+     */
+    @GetMapping("/donors/after")
+    public ResponseEntity<ApiResponse<List<Donor>>> getDonorsAfter(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donors retrieved successfully", donorService.getDonorsAfter(afterId, size))
+            );
+        } catch (Exception e) {
+            log.error("Error retrieving donors after ID: {}", afterId, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Incremental sync: donor changes after the {@code since} cursor, tombstones included.
+     */
+    @GetMapping("/donors/changes")
+    public ResponseEntity<ApiResponse<DonorDeltaResponse>> getDonorChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        log.debug("Fetching donor changes since: {}", since);
+        try {
+            DonorDeltaResponse delta = donorChangeJournal.getChanges(since, Math.max(1, Math.min(limit, MAX_DELTA_PAGE)));
+            return ResponseEntity.ok(
+                ApiResponse.success("Donor changes retrieved successfully", delta)
+            );
+        } catch (Exception e) {
+            log.error("Error fetching donor changes since: {}", since, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/donors/changes/compact")
+    public ResponseEntity<ApiResponse<DonorChangeCompaction>> compactDonorChanges() {
+        log.info("Compacting donor change journal");
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donor change journal compacted", donorChangeJournal.compact())
+            );
+        } catch (Exception e) {
+            log.error("Error compacting donor change journal", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/shards/rebalance")
+    public ResponseEntity<ApiResponse<Integer>> rebalanceShards() {
+        log.info("Rebalancing donor shards");
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donor shards rebalanced", donorService.rebalanceShards())
+            );
+        } catch (Exception e) {
+            log.error("Error rebalancing donor shards", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PostMapping("/donors")
     public ResponseEntity<ApiResponse<Donor>> addDonor(
             @Valid @RequestBody DonorRegistrationRequest request) {
@@ -85,7 +230,7 @@ public class AdminController {
             donor.setName(request.getName());
             donor.setEmail(request.getEmail());
             donor.setPhone(request.getPhone());
-            donor.setBloodGroup(request.getBloodGroup());
+            donor.setBloodGroup(BloodGroup.fromLabel(request.getBloodGroup()));
             donor.setArea(request.getArea());
             donor.setCity(request.getCity());
             donor.setIsVerified(true);
@@ -105,13 +250,16 @@ public class AdminController {
     public ResponseEntity<ApiResponse<Donor>> updateDonor(
             @PathVariable Long id,
             @Valid @RequestBody DonorRegistrationRequest request) {
-        log.info("Updating donor with ID: {}", id);
+        log.debug("Updating donor with ID: {}", id);
         try {
             Donor donor = donorService.updateDonor(id, request);
-            log.info("Successfully updated donor with ID: {}", id);
+            log.debug("Successfully updated donor with ID: {}", id);
             return ResponseEntity.ok(
                 ApiResponse.success("Donor updated successfully", donor)
             );
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent change to donor ID: {}", id);
+            return conflict();
         } catch (Exception e) {
             log.error("Error updating donor with ID: {}", id, e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -120,13 +268,16 @@ public class AdminController {
 
     @DeleteMapping("/donors/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteDonor(@PathVariable Long id) {
-        log.info("Deleting donor with ID: {}", id);
+        log.debug("Deleting donor with ID: {}", id);
         try {
             donorService.deleteDonor(id);
-            log.info("Successfully deleted donor with ID: {}", id);
+            log.debug("Successfully deleted donor with ID: {}", id);
             return ResponseEntity.ok(
                 ApiResponse.success("Donor deleted successfully")
             );
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent change to donor ID: {}", id);
+            return conflict();
         } catch (Exception e) {
             log.error("Error deleting donor with ID: {}", id, e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -138,17 +289,366 @@ public class AdminController {
             @PathVariable Long id,
             @RequestParam String status,
             @RequestParam(required = false) Integer monthsUnavailable) {
-        log.info("Updating donor status for ID: {} to status: {}", id, status);
+        log.debug("Updating donor status for ID: {} to status: {}", id, status);
         try {
             Donor.AvailabilityStatus availabilityStatus = Donor.AvailabilityStatus.valueOf(status);
             Donor donor = donorService.updateDonorStatus(id, availabilityStatus, monthsUnavailable);
-            log.info("Successfully updated donor status for ID: {} to {}", id, status);
+            log.debug("Successfully updated donor status for ID: {} to {}", id, status);
             return ResponseEntity.ok(
                 ApiResponse.success("Donor status updated successfully", donor)
             );
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent change to donor ID: {}", id);
+            return conflict();
         } catch (Exception e) {
             log.error("Error updating donor status for ID: {}", id, e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+
+    @PostMapping("/donors/{id}/donations")
+    public ResponseEntity<ApiResponse<Donation>> recordDonation(
+            @PathVariable Long id,
+            @Valid @RequestBody DonationRequest request) {
+        log.debug("Recording {} donation for donor ID: {}", request.getDonationType(), id);
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donation recorded successfully", donationService.recordDonation(id, request))
+            );
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent change to donor ID: {}", id);
+            return conflict();
+        } catch (Exception e) {
+            log.error("Error recording donation for donor ID: {}", id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/donors/{id}/donations")
+    public ResponseEntity<ApiResponse<List<Donation>>> getDonations(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donations retrieved successfully", donationService.getHistory(id))
+            );
+        } catch (Exception e) {
+            log.error("Error retrieving donations for donor ID: {}", id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/donations/{donationId}")
+    public ResponseEntity<ApiResponse<Void>> deleteDonation(@PathVariable Long donationId) {
+        log.debug("Deleting donation with ID: {}", donationId);
+        try {
+            donationService.deleteDonation(donationId);
+            return ResponseEntity.ok(
+                ApiResponse.success("Donation deleted successfully")
+            );
+        } catch (Exception e) {
+            log.error("Error deleting donation with ID: {}", donationId, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Run after changing the donation.* interval rules
+    @PostMapping("/donations/recompute")
+    public ResponseEntity<ApiResponse<Integer>> recomputeEligibility() {
+        log.info("Recomputing donor eligibility");
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Eligibility recomputed", donationService.recomputeAll())
+            );
+        } catch (Exception e) {
+            log.error("Error recomputing donor eligibility", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/geo-locations")
+    public ResponseEntity<ApiResponse<GeoLocation>> saveGeoLocation(
+            @Valid @RequestBody GeoLocationRequest request) {
+        log.debug("Saving geo location for city: {}, area: {}", request.getCity(), request.getArea());
+        try {
+            GeoLocation location = geocodingService.saveLocation(
+                request.getCity(), request.getArea(), request.getLatitude(), request.getLongitude());
+            return ResponseEntity.ok(
+                ApiResponse.success("Geo location saved successfully", location)
+            );
+        } catch (Exception e) {
+            log.error("Error saving geo location for city: {}", request.getCity(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<?> getStatistics() {
+        try {
+            // Served pre-serialised: the snapshot is shared by every caller within its TTL
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(donorStatisticsService.snapshotJson());
+        } catch (Exception e) {
+            log.error("Error building donor statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/statistics/activity")
+    public ResponseEntity<ApiResponse<DonorActivityResponse>> getDonorActivity(
+            @RequestParam(defaultValue = "HOUR") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String city) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Donor activity retrieved successfully",
+                    donorActivityService.getActivity(granularity, from, to, city))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/statistics/count")
+    public ResponseEntity<ApiResponse<Long>> countDonors(
+            @RequestParam String city,
+            @RequestParam String bloodGroup,
+            @RequestParam(required = false) String status) {
+        try {
+            long count = donorStatisticsService.count(city, bloodGroup, status);
+            return ResponseEntity.ok(
+                ApiResponse.success("Donor count retrieved successfully", count)
+            );
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected donor count for city: {}: {}", city, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error counting donors for city: {}", city, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/broadcasts")
+    public ResponseEntity<ApiResponse<EmergencyBroadcast>> startBroadcast(
+            @Valid @RequestBody EmergencyBroadcastRequest request) {
+        log.info("Starting emergency broadcast for blood group: {} in cities: {}", request.getBloodGroup(), request.getCities());
+        try {
+            EmergencyBroadcast broadcast = emergencyBroadcastService.start(request);
+            return ResponseEntity.accepted().body(
+                ApiResponse.success("Emergency broadcast started", broadcast)
+            );
+        } catch (Exception e) {
+            log.error("Error starting emergency broadcast", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/broadcasts")
+    public ResponseEntity<ApiResponse<List<EmergencyBroadcast>>> getBroadcasts() {
+        return ResponseEntity.ok(
+            ApiResponse.success("Broadcasts retrieved successfully", emergencyBroadcastService.getBroadcasts())
+        );
+    }
+
+    @GetMapping("/broadcasts/{id}")
+    public ResponseEntity<ApiResponse<EmergencyBroadcast>> getBroadcast(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Broadcast retrieved successfully", emergencyBroadcastService.getBroadcast(id))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/broadcasts/{id}")
+    public ResponseEntity<ApiResponse<EmergencyBroadcast>> cancelBroadcast(@PathVariable String id) {
+        log.info("Cancelling emergency broadcast: {}", id);
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Broadcast cancelled", emergencyBroadcastService.cancel(id))
+            );
+        } catch (Exception e) {
+            log.error("Error cancelling emergency broadcast: {}", id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/blood-requests")
+    public ResponseEntity<ApiResponse<BloodRequest>> createBloodRequest(
+            @Valid @RequestBody BloodRequestCreateRequest request) {
+        log.info("Creating blood request for {} units of {} in {}", request.getUnitsNeeded(),
+                request.getBloodGroup(), request.getCity());
+        try {
+            return ResponseEntity.accepted().body(
+                ApiResponse.success("Blood request queued for matching", matchingService.createRequest(request))
+            );
+        } catch (Exception e) {
+            log.error("Error creating blood request", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/blood-requests")
+    public ResponseEntity<ApiResponse<List<BloodRequest>>> getBloodRequests(
+            @RequestParam(defaultValue = "OPEN") String status) {
+        try {
+            BloodRequest.Status requestStatus = BloodRequest.Status.valueOf(status);
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood requests retrieved successfully", matchingService.getRequests(requestStatus))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/blood-requests/{id}")
+    public ResponseEntity<ApiResponse<BloodRequest>> getBloodRequest(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood request retrieved successfully", matchingService.getRequest(id))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/blood-requests/{id}/reservations")
+    public ResponseEntity<ApiResponse<List<DonorReservation>>> getReservations(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Reservations retrieved successfully", matchingService.getReservations(id))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/blood-requests/{id}/reservations/{reservationId}/confirm")
+    public ResponseEntity<ApiResponse<BloodRequest>> confirmReservation(
+            @PathVariable Long id, @PathVariable Long reservationId) {
+        log.info("Confirming reservation {} of blood request {}", reservationId, id);
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Reservation confirmed", matchingService.confirmReservation(id, reservationId))
+            );
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        } catch (Exception e) {
+            log.error("Error confirming reservation {} of blood request {}", reservationId, id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/blood-requests/{id}/reservations/{reservationId}/release")
+    public ResponseEntity<ApiResponse<BloodRequest>> releaseReservation(
+            @PathVariable Long id, @PathVariable Long reservationId) {
+        log.info("Releasing reservation {} of blood request {}", reservationId, id);
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Reservation released", matchingService.releaseReservation(id, reservationId))
+            );
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        } catch (Exception e) {
+            log.error("Error releasing reservation {} of blood request {}", reservationId, id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/blood-requests/{id}")
+    public ResponseEntity<ApiResponse<BloodRequest>> cancelBloodRequest(@PathVariable Long id) {
+        log.info("Cancelling blood request {}", id);
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood request cancelled", matchingService.cancelRequest(id))
+            );
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        } catch (Exception e) {
+            log.error("Error cancelling blood request {}", id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/blood-requests/{id}/units")
+    public ResponseEntity<ApiResponse<List<BloodUnit>>> getAllocatedUnits(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Allocated units retrieved successfully", bloodUnitService.getUnitsForRequest(id))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<ApiResponse<List<StockLevel>>> getInventory() {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Inventory retrieved successfully", bloodUnitService.getStockLevels())
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/inventory/units")
+    public ResponseEntity<ApiResponse<BloodUnit>> addBloodUnit(@Valid @RequestBody BloodUnitRequest request) {
+        log.info("Adding {} {} unit collected {}", request.getBloodGroup(), request.getComponent(),
+                request.getCollectedOn());
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood unit added", bloodUnitService.addUnit(request))
+            );
+        } catch (Exception e) {
+            log.error("Error adding blood unit", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/inventory/units/{id}")
+    public ResponseEntity<ApiResponse<BloodUnit>> getBloodUnit(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood unit retrieved successfully", bloodUnitService.getUnit(id))
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/inventory/units/{id}")
+    public ResponseEntity<ApiResponse<Void>> discardBloodUnit(@PathVariable Long id) {
+        log.info("Discarding blood unit {}", id);
+        try {
+            bloodUnitService.discardUnit(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood unit discarded")
+            );
+        } catch (Exception e) {
+            log.error("Error discarding blood unit {}", id, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/inventory/allocations")
+    public ResponseEntity<ApiResponse<List<BloodUnit>>> allocateBloodUnits(
+            @Valid @RequestBody BloodUnitAllocationRequest request) {
+        log.info("Allocating {} {} {} units", request.getUnits(), request.getBloodGroup(), request.getComponent());
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success("Blood units allocated", bloodUnitService.allocate(request))
+            );
+        } catch (Exception e) {
+            log.error("Error allocating blood units", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    // Optimistic locking lost a race with another writer; the client can simply retry
+    private static <T> ResponseEntity<ApiResponse<T>> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("The record was changed by another request, please retry"));
+    }
 }
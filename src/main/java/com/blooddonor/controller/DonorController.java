@@ -1,13 +1,22 @@
 package com.blooddonor.controller;
 
+import com.blooddonor.autocomplete.PlaceSuggestion;
 import com.blooddonor.dto.*;
+import com.blooddonor.model.BloodGroup;
 import com.blooddonor.model.Donor;
 import com.blooddonor.service.DonorService;
+import com.blooddonor.service.EmergencyBroadcastService;
+import com.blooddonor.service.LocationDictionary;
+import com.blooddonor.stream.DonorChangeStream;
+import com.blooddonor.service.PlaceAutocompleteService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,19 +27,31 @@ public class DonorController {
 
     private static final Logger log = LoggerFactory.getLogger(DonorController.class);
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final DonorService donorService;
+    private final PlaceAutocompleteService placeAutocompleteService;
+    private final EmergencyBroadcastService emergencyBroadcastService;
+    private final DonorChangeStream donorChangeStream;
+    private final LocationDictionary locationDictionary;
 
-    public DonorController(DonorService donorService) {
+    public DonorController(DonorService donorService, PlaceAutocompleteService placeAutocompleteService,
+                           EmergencyBroadcastService emergencyBroadcastService, DonorChangeStream donorChangeStream,
+                           LocationDictionary locationDictionary) {
         this.donorService = donorService;
+        this.placeAutocompleteService = placeAutocompleteService;
+        this.emergencyBroadcastService = emergencyBroadcastService;
+        this.donorChangeStream = donorChangeStream;
+        this.locationDictionary = locationDictionary;
     }
 
     @PostMapping("/register/initiate")
     public ResponseEntity<ApiResponse<Void>> initiateRegistration(
             @Valid @RequestBody DonorRegistrationRequest request) {
-        log.info("Initiating registration for email: {}", request.getEmail());
+        log.debug("Initiating registration for email: {}", request.getEmail());
         try {
             donorService.initiateRegistration(request);
-            log.info("OTP sent successfully to: {}", request.getEmail());
+            log.debug("OTP sent successfully to: {}", request.getEmail());
             return ResponseEntity.ok(
                 ApiResponse.success("OTP sent to your email. Please verify to complete registration.")
             );
@@ -44,10 +65,10 @@ public class DonorController {
     public ResponseEntity<ApiResponse<Donor>> completeRegistration(
             @Valid @RequestBody DonorRegistrationRequest request,
             @RequestParam String otp) {
-        log.info("Completing registration for email: {}", request.getEmail());
+        log.debug("Completing registration for email: {}", request.getEmail());
         try {
             Donor donor = donorService.completeRegistration(request, otp);
-            log.info("Registration completed successfully for donor ID: {}", donor.getId());
+            log.debug("Registration completed successfully for donor ID: {}", donor.getId());
             return ResponseEntity.ok(
                 ApiResponse.success("Registration completed successfully!", donor)
             );
@@ -61,10 +82,10 @@ public class DonorController {
     @PostMapping("/login-otp")
     public ResponseEntity<ApiResponse<LoginResponse>> loginDonorWithOtp(
             @Valid @RequestBody OtpLoginRequest otpLoginRequest) {
-        log.info("OTP login attempt for email: {}", otpLoginRequest.getEmail());
+        log.debug("OTP login attempt for email: {}", otpLoginRequest.getEmail());
         try {
             LoginResponse loginResponse = donorService.authenticateDonorWithOtp(otpLoginRequest);
-            log.info("OTP login successful for email: {}", otpLoginRequest.getEmail());
+            log.debug("OTP login successful for email: {}", otpLoginRequest.getEmail());
             return ResponseEntity.ok(
                 ApiResponse.success("Login successful!", loginResponse)
             );
@@ -77,11 +98,11 @@ public class DonorController {
     @PostMapping("/search")
     public ResponseEntity<ApiResponse<List<Donor>>> searchDonors(
             @RequestBody DonorSearchRequest request) {
-        log.info("Searching donors with blood group: {}, city: {}, status: {}", 
+        log.debug("Searching donors with blood group: {}, city: {}, status: {}", 
             request.getBloodGroup(), request.getCity(), request.getAvailabilityStatus());
         try {
             List<Donor> donors = donorService.searchDonors(request);
-            log.info("Found {} donors matching search criteria", donors.size());
+            log.debug("Found {} donors matching search criteria", donors.size());
             return ResponseEntity.ok(
                 ApiResponse.success("Donors retrieved successfully", donors)
             );
@@ -91,12 +112,99 @@ public class DonorController {
         }
     }
 
+    @PostMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyDonorResponse>>> findNearbyDonors(
+            @Valid @RequestBody NearbyDonorSearchRequest request) {
+        log.debug("Searching nearby donors for blood group: {}, city: {}, radius: {} km",
+            request.getBloodGroup(), request.getCity(), request.getRadiusKm());
+        try {
+            List<NearbyDonorResponse> donors = donorService.findNearbyDonors(request);
+            return ResponseEntity.ok(
+                ApiResponse.success("Nearby donors retrieved successfully", donors)
+            );
+        } catch (Exception e) {
+            log.error("Error searching nearby donors", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<PlaceSuggestion>>> autocomplete(
+            @RequestParam(defaultValue = "city") String type,
+            @RequestParam String prefix,
+            @RequestParam(required = false) String city,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+            List<PlaceSuggestion> suggestions = switch (type) {
+                case "city" -> placeAutocompleteService.suggestCities(prefix, boundedLimit);
+                case "area" -> placeAutocompleteService.suggestAreas(prefix, city, boundedLimit);
+                default -> throw new RuntimeException("Type must be city or area");
+            };
+            return ResponseEntity.ok(
+                ApiResponse.success("Suggestions retrieved successfully", suggestions)
+            );
+        } catch (Exception e) {
+            log.error("Error autocompleting {} for prefix: {}", type, prefix, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Live availability and registration changes, optionally for one blood group and city,
+     * for signed-in donors and admins. Errors are raised before the stream opens and reach
+     * the global exception handler.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) String bloodGroup,
+            @RequestParam(required = false) String city) {
+        BloodGroup group = bloodGroup != null ? BloodGroup.fromLabel(bloodGroup) : null;
+        Integer cityId = null;
+        if (city != null) {
+            cityId = locationDictionary.findCityId(city)
+                .orElseThrow(() -> new RuntimeException("No donors registered in " + city));
+        }
+        log.debug("Opening donor change stream for blood group: {}, city: {}", bloodGroup, city);
+        return donorChangeStream.subscribe(cityId, group);
+    }
+
+    @PostMapping("/emergency/{broadcastId}/respond")
+    public ResponseEntity<ApiResponse<Void>> respondToEmergency(
+            @PathVariable String broadcastId,
+            Authentication authentication) {
+        log.debug("Donor {} responding to emergency broadcast: {}", authentication.getName(), broadcastId);
+        try {
+            emergencyBroadcastService.respond(broadcastId, authentication.getName());
+            return ResponseEntity.ok(
+                ApiResponse.success("Thank you for responding! The hospital will contact you.")
+            );
+        } catch (Exception e) {
+            log.error("Error responding to emergency broadcast: {}", broadcastId, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<DonorBatchResponse>> getDonorsByIds(@RequestBody DonorBatchRequest request) {
+        try {
+            DonorBatchResponse result = donorService.getDonorsByIds(request.getIds());
+            return ResponseEntity.ok(
+                ApiResponse.success("Found " + (result.getDonors().size() - result.getMissingIds().size())
+                        + " of " + result.getDonors().size() + " donors", result)
+            );
+        } catch (Exception e) {
+            log.error("Error in batch donor lookup", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Donor>> getDonorById(@PathVariable Long id) {
-        log.info("Fetching donor with ID: {}", id);
+        log.debug("Fetching donor with ID: {}", id);
         try {
             Donor donor = donorService.getDonorById(id);
-            log.info("Successfully retrieved donor with ID: {}", id);
+            log.debug("Successfully retrieved donor with ID: {}", id);
             return ResponseEntity.ok(
                 ApiResponse.success("Donor retrieved successfully", donor)
             );
@@ -0,0 +1,40 @@
+package com.blooddonor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A replica connection pool and what the last health check found.
+ */
+class ReplicaPool {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+
+    ReplicaPool(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    long getLagMillis() {
+        return lagMillis;
+    }
+
+    void update(boolean healthy, long lagMillis) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+    }
+}
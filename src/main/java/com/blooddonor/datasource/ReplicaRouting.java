@@ -0,0 +1,161 @@
+package com.blooddonor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a transaction runs on the primary or on a replica.
+ *
+ * <ul>
+ *   <li>Read-write transactions, and everything outside a transaction, use the primary.</li>
+ *   <li>Read-only transactions go round-robin to healthy replicas, falling back to the
+ *       primary when none is healthy.</li>
+ *   <li>A replica is healthy when it answers and its copy of the primary's heartbeat row is
+ *       at most {@code maxLagMillis} behind.</li>
+ *   <li>After a user commits a write, their reads stay on the primary for
+ *       {@code stickyMillis} so they see their own change.</li>
+ * </ul>
+ */
+public class ReplicaRouting implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    private static final String READ_HEARTBEAT = "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+    private static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1";
+
+    private final HikariDataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final long maxLagMillis;
+    private final long stickyMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> primaryUntilByUser = new ConcurrentHashMap<>();
+    private volatile long lastBeatMillis;
+
+    public ReplicaRouting(HikariDataSource primary, List<ReplicaPool> replicas, long maxLagMillis, long stickyMillis) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMillis = maxLagMillis;
+        this.stickyMillis = stickyMillis;
+    }
+
+    DataSource select() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickToPrimaryAfterCommit();
+            return primary;
+        }
+        String user = currentUser();
+        if (user != null) {
+            Long until = primaryUntilByUser.get(user);
+            if (until != null && until > System.currentTimeMillis()) {
+                return primary;
+            }
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaPool replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica.getDataSource();
+            }
+        }
+        return primary;
+    }
+
+    /**
+     * Reads every replica's copy of the heartbeat, then advances the primary's. Lag is how
+     * far a replica's copy trails the last beat written, so a caught-up replica reads 0.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-ms:2000}")
+    public void checkReplicas() {
+        for (ReplicaPool replica : replicas) {
+            boolean wasHealthy = replica.isHealthy();
+            long lag;
+            try (Connection connection = replica.getDataSource().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(READ_HEARTBEAT)) {
+                statement.setQueryTimeout(1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    lag = resultSet.next() ? Math.max(0, lastBeatMillis - resultSet.getLong(1)) : Long.MAX_VALUE;
+                }
+            } catch (SQLException e) {
+                replica.update(false, -1);
+                if (wasHealthy) {
+                    log.warn("Replica {} is unreachable, reads fall back to the primary: {}", replica.getName(), e.getMessage());
+                }
+                continue;
+            }
+            boolean healthy = maxLagMillis <= 0 || lag <= maxLagMillis;
+            replica.update(healthy, lag);
+            if (healthy != wasHealthy) {
+                log.info("Replica {} is now {} (lag {} ms)", replica.getName(), healthy ? "in rotation" : "out of rotation", lag);
+            }
+        }
+
+        long beat = System.currentTimeMillis();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            statement.setLong(1, beat);
+            statement.executeUpdate();
+            lastBeatMillis = beat;
+        } catch (SQLException e) {
+            log.warn("Failed to write replication heartbeat: {}", e.getMessage());
+        }
+
+        long now = System.currentTimeMillis();
+        primaryUntilByUser.values().removeIf(until -> until <= now);
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(ReplicaPool::isHealthy).count();
+    }
+
+    List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+        primary.close();
+    }
+
+    private void stickToPrimaryAfterCommit() {
+        if (stickyMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntilByUser.put(user, System.currentTimeMillis() + stickyMillis);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,79 @@
+package com.blooddonor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the primary and replica pools. Every pool takes the {@code spring.datasource.hikari}
+ * settings; replicas can override them under {@code datasource.replica.hikari} and default
+ * to the primary's credentials.
+ */
+public class ReplicaRoutingFactory {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingFactory(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReplicaRouting create() {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bind(primary, "spring.datasource.hikari");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        String[] urls = environment.getProperty("datasource.replica.urls", "").split(",");
+        String username = environment.getProperty("datasource.replica.username", properties.determineUsername());
+        String password = environment.getProperty("datasource.replica.password", properties.determinePassword());
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = primary.getPoolName() + "-replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            bind(replica, "spring.datasource.hikari");
+            bind(replica, "datasource.replica.hikari");
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // A replica that is down at startup must not stop the application
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaPool(name, replica));
+        }
+
+        ReplicaRouting routing = new ReplicaRouting(primary, replicas,
+                environment.getProperty("datasource.replica.max-lag-ms", Long.class, 5000L),
+                environment.getProperty("datasource.routing.sticky-ms", Long.class, 5000L));
+        for (ReplicaPool replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaPool::getLagMillis)
+                    .description("Replica lag behind the primary heartbeat in ms, -1 when unreachable")
+                    .tag("pool", replica.getName())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("datasource.replica.healthy", routing, ReplicaRouting::healthyReplicas)
+                .description("Replicas currently taking read-only transactions")
+                .register(meterRegistry);
+        return routing;
+    }
+
+    private void bind(HikariDataSource dataSource, String prefix) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(dataSource));
+    }
+}
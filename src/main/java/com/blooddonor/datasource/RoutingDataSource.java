@@ -0,0 +1,30 @@
+package com.blooddonor.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from the pool {@link ReplicaRouting} picks for the current
+ * transaction. Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag
+ * is only known once the transaction has begun, after the connection was first requested.
+ */
+public class RoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaRouting routing;
+
+    public RoutingDataSource(ReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return routing.select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return routing.select().getConnection(username, password);
+    }
+}
@@ -0,0 +1,38 @@
+package com.blooddonor.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's next connection comes from. Threads that never set one
+ * use the home shard, which also holds every table that is not sharded.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : ShardRouting.HOME;
+    }
+
+    /**
+     * Runs {@code work} against {@code shard}. A transaction must begin inside {@code work}
+     * for its connection to come from that shard.
+     */
+    public static <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
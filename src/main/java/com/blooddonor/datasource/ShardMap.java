@@ -0,0 +1,45 @@
+package com.blooddonor.datasource;
+
+import com.blooddonor.service.LocationNames;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Deterministic city to shard assignment. Cities listed under {@code datasource.shards.cities}
+ * go where they are told; any other city goes to the CRC32 of its normalised name modulo the
+ * shard count, so every instance places it identically without coordination.
+ */
+public class ShardMap {
+
+    private final int shardCount;
+    private final Map<String, Integer> assigned = new HashMap<>();
+
+    public ShardMap(int shardCount, Map<String, Integer> assignments) {
+        this.shardCount = shardCount;
+        assignments.forEach((city, shard) -> {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("City " + city + " is assigned to shard " + shard
+                        + " but only " + shardCount + " shards are configured");
+            }
+            assigned.put(LocationNames.normalize(city), shard);
+        });
+    }
+
+    public int shardFor(String city) {
+        String normalized = LocationNames.normalize(city);
+        Integer shard = assigned.get(normalized);
+        if (shard != null) {
+            return shard;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(normalized.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.blooddonor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The shard pools, indexed by shard number. Shard 0 is the home shard: the
+ * {@code spring.datasource} database, which keeps every table that is not sharded.
+ */
+public class ShardRouting implements AutoCloseable {
+
+    public static final int HOME = 0;
+
+    private final List<HikariDataSource> shards;
+    private final ShardMap shardMap;
+
+    public ShardRouting(List<HikariDataSource> shards, ShardMap shardMap) {
+        this.shards = shards;
+        this.shardMap = shardMap;
+    }
+
+    DataSource select() {
+        return shards.get(ShardContext.current());
+    }
+
+    public DataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public ShardMap getShardMap() {
+        return shardMap;
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,84 @@
+package com.blooddonor.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds one pool per shard: the home shard from {@code spring.datasource}, then one for each
+ * of {@code datasource.shards.urls} in order. Every pool takes the {@code spring.datasource.hikari}
+ * settings and {@code datasource.shards.hikari} overrides them for the extra shards.
+ *
+ * <p>On MySQL each shard hands out AUTO_INCREMENT values in its own residue class, offset
+ * {@code shard + 1} with increment {@code shard count}, so a donor id is unique across shards
+ * and keeps being unique when the row moves to another shard. The shard count therefore must
+ * not change once donors exist.</p>
+ */
+public class ShardRoutingFactory {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public ShardRoutingFactory(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ShardRouting create() {
+        List<String> urls = new ArrayList<>();
+        for (String url : environment.getProperty("datasource.shards.urls", "").split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        int shardCount = urls.size() + 1;
+
+        HikariDataSource home = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bind(home, "spring.datasource.hikari");
+        configure(home, ShardRouting.HOME, shardCount);
+
+        String username = environment.getProperty("datasource.shards.username", properties.determineUsername());
+        String password = environment.getProperty("datasource.shards.password", properties.determinePassword());
+        List<HikariDataSource> shards = new ArrayList<>(shardCount);
+        shards.add(home);
+        for (String url : urls) {
+            HikariDataSource shard = new HikariDataSource();
+            bind(shard, "spring.datasource.hikari");
+            bind(shard, "datasource.shards.hikari");
+            shard.setPoolName(home.getPoolName() + "-shard-" + shards.size());
+            shard.setJdbcUrl(url);
+            shard.setDriverClassName(properties.determineDriverClassName());
+            shard.setUsername(username);
+            shard.setPassword(password);
+            configure(shard, shards.size(), shardCount);
+            shards.add(shard);
+        }
+
+        Map<String, Integer> assignments = Binder.get(environment)
+                .bind("datasource.shards.cities", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new ShardRouting(shards, new ShardMap(shardCount, assignments));
+    }
+
+    private void configure(HikariDataSource pool, int shard, int shardCount) {
+        if (pool.getJdbcUrl() != null && pool.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + shardCount
+                    + ", auto_increment_offset = " + (shard + 1));
+        }
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+
+    private void bind(HikariDataSource dataSource, String prefix) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(dataSource));
+    }
+}
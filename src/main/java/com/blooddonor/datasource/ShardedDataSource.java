@@ -0,0 +1,29 @@
+package com.blooddonor.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from the shard named by {@link ShardContext}, the home shard when
+ * none is set.
+ */
+public class ShardedDataSource extends AbstractDataSource {
+
+    private final ShardRouting routing;
+
+    public ShardedDataSource(ShardRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return routing.select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return routing.select().getConnection(username, password);
+    }
+}
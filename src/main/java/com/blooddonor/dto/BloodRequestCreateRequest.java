@@ -0,0 +1,83 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDateTime;
+
+public class BloodRequestCreateRequest {
+
+    @NotBlank(message = "Hospital is required")
+    private String hospital;
+
+    // Recipient blood group; compatible donor groups are reserved too
+    @NotBlank(message = "Blood group is required")
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group")
+    private String bloodGroup;
+
+    @NotBlank(message = "City is required")
+    private String city;
+
+    @NotNull(message = "Units needed is required")
+    @Min(value = 1, message = "At least one unit is required")
+    @Max(value = 50, message = "At most 50 units per request")
+    private Integer unitsNeeded;
+
+    @NotBlank(message = "Urgency is required")
+    private String urgency; // CRITICAL, URGENT or ROUTINE
+
+    // Optional; orders requests of the same urgency
+    private LocalDateTime neededBy;
+
+    // Getters and Setters
+    public String getHospital() {
+        return hospital;
+    }
+
+    public void setHospital(String hospital) {
+        this.hospital = hospital;
+    }
+
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public Integer getUnitsNeeded() {
+        return unitsNeeded;
+    }
+
+    public void setUnitsNeeded(Integer unitsNeeded) {
+        this.unitsNeeded = unitsNeeded;
+    }
+
+    public String getUrgency() {
+        return urgency;
+    }
+
+    public void setUrgency(String urgency) {
+        this.urgency = urgency;
+    }
+
+    public LocalDateTime getNeededBy() {
+        return neededBy;
+    }
+
+    public void setNeededBy(LocalDateTime neededBy) {
+        this.neededBy = neededBy;
+    }
+}
@@ -0,0 +1,59 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public class BloodUnitAllocationRequest {
+
+    // Units of exactly this group are allocated; substitution is left to the blood bank staff
+    @NotBlank(message = "Blood group is required")
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group")
+    private String bloodGroup;
+
+    @NotBlank(message = "Component is required")
+    private String component;
+
+    @NotNull(message = "Units is required")
+    @Min(value = 1, message = "At least one unit is required")
+    @Max(value = 50, message = "At most 50 units per allocation")
+    private Integer units;
+
+    // Optional; the blood request the units are issued for
+    private Long requestId;
+
+    // Getters and Setters
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public void setComponent(String component) {
+        this.component = component;
+    }
+
+    public Integer getUnits() {
+        return units;
+    }
+
+    public void setUnits(Integer units) {
+        this.units = units;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+}
@@ -0,0 +1,67 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+
+public class BloodUnitRequest {
+
+    @NotBlank(message = "Blood group is required")
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group")
+    private String bloodGroup;
+
+    @NotBlank(message = "Component is required")
+    private String component; // WHOLE_BLOOD, RED_CELLS, PLATELETS or PLASMA
+
+    @NotNull(message = "Collection date is required")
+    private LocalDate collectedOn;
+
+    // Optional; defaults to the component's shelf life from collection
+    private LocalDate expiresOn;
+
+    // Optional; the donor the unit was collected from
+    private Long donorId;
+
+    // Getters and Setters
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public void setComponent(String component) {
+        this.component = component;
+    }
+
+    public LocalDate getCollectedOn() {
+        return collectedOn;
+    }
+
+    public void setCollectedOn(LocalDate collectedOn) {
+        this.collectedOn = collectedOn;
+    }
+
+    public LocalDate getExpiresOn() {
+        return expiresOn;
+    }
+
+    public void setExpiresOn(LocalDate expiresOn) {
+        this.expiresOn = expiresOn;
+    }
+
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+
+public class DonationRequest {
+
+    @NotBlank(message = "Donation type is required")
+    private String donationType; // WHOLE_BLOOD, DOUBLE_RED_CELLS, PLATELETS or PLASMA
+
+    // Optional; defaults to today
+    private LocalDate donatedOn;
+
+    // Getters and Setters
+    public String getDonationType() {
+        return donationType;
+    }
+
+    public void setDonationType(String donationType) {
+        this.donationType = donationType;
+    }
+
+    public LocalDate getDonatedOn() {
+        return donatedOn;
+    }
+
+    public void setDonatedOn(LocalDate donatedOn) {
+        this.donatedOn = donatedOn;
+    }
+}
@@ -0,0 +1,81 @@
+package com.blooddonor.dto;
+
+import com.blooddonor.model.DonorActivityRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DonorActivityResponse {
+
+    private String granularity;
+    private String city;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Bucket> buckets;
+
+    public DonorActivityResponse(String granularity, String city, LocalDateTime from, LocalDateTime to,
+                                 List<Bucket> buckets) {
+        this.granularity = granularity;
+        this.city = city;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    // Getters
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public static class Bucket {
+
+        private final LocalDateTime start;
+        private long registrations;
+        private long becameAvailable;
+        private long becameUnavailable;
+
+        public Bucket(LocalDateTime start) {
+            this.start = start;
+        }
+
+        public void add(DonorActivityRollup.ActivityType type, long count) {
+            switch (type) {
+                case REGISTERED -> registrations += count;
+                case BECAME_AVAILABLE -> becameAvailable += count;
+                case BECAME_UNAVAILABLE -> becameUnavailable += count;
+            }
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public long getRegistrations() {
+            return registrations;
+        }
+
+        public long getBecameAvailable() {
+            return becameAvailable;
+        }
+
+        public long getBecameUnavailable() {
+            return becameUnavailable;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.blooddonor.dto;
+
+import java.util.List;
+
+public class DonorBatchRequest {
+
+    private List<Long> ids;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,53 @@
+package com.blooddonor.dto;
+
+import com.blooddonor.model.Donor;
+
+import java.util.List;
+
+/**
+ * Result of a batch donor lookup. {@code donors} has one entry per requested ID, in request
+ * order; IDs with no donor are listed with {@code found} false and repeated in {@code missingIds}.
+ */
+public class DonorBatchResponse {
+
+    private final List<Entry> donors;
+    private final List<Long> missingIds;
+
+    public DonorBatchResponse(List<Entry> donors, List<Long> missingIds) {
+        this.donors = donors;
+        this.missingIds = missingIds;
+    }
+
+    public List<Entry> getDonors() {
+        return donors;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public static class Entry {
+
+        private final Long id;
+        private final boolean found;
+        private final Donor donor;
+
+        public Entry(Long id, Donor donor) {
+            this.id = id;
+            this.found = donor != null;
+            this.donor = donor;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        public Donor getDonor() {
+            return donor;
+        }
+    }
+}
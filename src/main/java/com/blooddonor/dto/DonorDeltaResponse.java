@@ -0,0 +1,75 @@
+package com.blooddonor.dto;
+
+import com.blooddonor.model.Donor;
+
+import java.util.List;
+
+/**
+ * One page of the donor change journal. Clients store {@code nextSince} and pass it as
+ * {@code since} on the next call; when {@code resyncRequired} is set the cursor predates
+ * compacted deletes and the client must reload the full donor list.
+ */
+public class DonorDeltaResponse {
+
+    private final List<Change> changes;
+    private final long nextSince;
+    private final boolean hasMore;
+    private final boolean resyncRequired;
+
+    public DonorDeltaResponse(List<Change> changes, long nextSince, boolean hasMore, boolean resyncRequired) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+        this.resyncRequired = resyncRequired;
+    }
+
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    /**
+     * The donor's current state, or a tombstone ({@code donor} null) once it is deleted.
+     */
+    public static class Change {
+
+        private final long seq;
+        private final String type;
+        private final Long donorId;
+        private final Donor donor;
+
+        public Change(long seq, String type, Long donorId, Donor donor) {
+            this.seq = seq;
+            this.type = type;
+            this.donorId = donorId;
+            this.donor = donor;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public Long getDonorId() {
+            return donorId;
+        }
+
+        public Donor getDonor() {
+            return donor;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.blooddonor.dto;
+
+import com.blooddonor.model.Donor;
+
+public class DonorLookupResponse {
+
+    private Donor donor;
+    private double score;
+
+    public DonorLookupResponse(Donor donor, double score) {
+        this.donor = donor;
+        this.score = Math.round(score * 100.0) / 100.0;
+    }
+
+    // Getters and Setters
+    public Donor getDonor() {
+        return donor;
+    }
+
+    public void setDonor(Donor donor) {
+        this.donor = donor;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
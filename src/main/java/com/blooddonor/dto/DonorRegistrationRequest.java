@@ -1,5 +1,7 @@
 package com.blooddonor.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -28,7 +30,15 @@ public class DonorRegistrationRequest {
     @NotBlank(message = "City is required")
     private String city;
 
-    
+    // Optional; when absent the location is geocoded from area and city
+    @DecimalMin(value = "-90.0", message = "Invalid latitude")
+    @DecimalMax(value = "90.0", message = "Invalid latitude")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Invalid longitude")
+    @DecimalMax(value = "180.0", message = "Invalid longitude")
+    private Double longitude;
+
     // Getters and Setters
     public String getName() {
         return name;
@@ -78,4 +88,20 @@ public class DonorRegistrationRequest {
         this.area = area;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
 }
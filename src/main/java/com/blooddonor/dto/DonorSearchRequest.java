@@ -5,6 +5,7 @@ public class DonorSearchRequest {
     private String bloodGroup;
     private String city;
     private String availabilityStatus; // AVAILABLE or NOT_AVAILABLE
+    private Boolean eligibleNow; // only donors whose next-eligible date has passed
 
     // Getters and Setters
     public String getBloodGroup() {
@@ -30,4 +31,12 @@ public class DonorSearchRequest {
     public void setAvailabilityStatus(String availabilityStatus) {
         this.availabilityStatus = availabilityStatus;
     }
+
+    public Boolean getEligibleNow() {
+        return eligibleNow;
+    }
+
+    public void setEligibleNow(Boolean eligibleNow) {
+        this.eligibleNow = eligibleNow;
+    }
 }
@@ -0,0 +1,105 @@
+package com.blooddonor.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class DonorStatisticsResponse {
+
+    private LocalDateTime generatedAt;
+    private long totalDonors;
+    private long availableDonors;
+    private Map<String, GroupCount> byBloodGroup;
+    private List<CityStatistics> cities;
+
+    public DonorStatisticsResponse(LocalDateTime generatedAt, long totalDonors, long availableDonors,
+                                   Map<String, GroupCount> byBloodGroup, List<CityStatistics> cities) {
+        this.generatedAt = generatedAt;
+        this.totalDonors = totalDonors;
+        this.availableDonors = availableDonors;
+        this.byBloodGroup = byBloodGroup;
+        this.cities = cities;
+    }
+
+    // Getters
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public long getTotalDonors() {
+        return totalDonors;
+    }
+
+    public long getAvailableDonors() {
+        return availableDonors;
+    }
+
+    public Map<String, GroupCount> getByBloodGroup() {
+        return byBloodGroup;
+    }
+
+    public List<CityStatistics> getCities() {
+        return cities;
+    }
+
+    public static class GroupCount {
+
+        private long available;
+        private long notAvailable;
+
+        public void add(boolean isAvailable, long count) {
+            if (isAvailable) {
+                available += count;
+            } else {
+                notAvailable += count;
+            }
+        }
+
+        public long getAvailable() {
+            return available;
+        }
+
+        public long getNotAvailable() {
+            return notAvailable;
+        }
+    }
+
+    public static class CityStatistics {
+
+        private Integer cityId;
+        private String city;
+        private long totalDonors;
+        private long availableDonors;
+        private Map<String, GroupCount> byBloodGroup;
+
+        public CityStatistics(Integer cityId, String city, Map<String, GroupCount> byBloodGroup) {
+            this.cityId = cityId;
+            this.city = city;
+            this.byBloodGroup = byBloodGroup;
+            for (GroupCount count : byBloodGroup.values()) {
+                totalDonors += count.getAvailable() + count.getNotAvailable();
+                availableDonors += count.getAvailable();
+            }
+        }
+
+        public Integer getCityId() {
+            return cityId;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public long getTotalDonors() {
+            return totalDonors;
+        }
+
+        public long getAvailableDonors() {
+            return availableDonors;
+        }
+
+        public Map<String, GroupCount> getByBloodGroup() {
+            return byBloodGroup;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class EmergencyBroadcastRequest {
+
+    // Recipient blood group; every compatible donor group is notified
+    @NotBlank(message = "Blood group is required")
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group")
+    private String bloodGroup;
+
+    @NotEmpty(message = "At least one city is required")
+    @Size(max = 20, message = "At most 20 cities per broadcast")
+    private List<String> cities;
+
+    @NotBlank(message = "Hospital is required")
+    private String hospital;
+
+    @Size(max = 500, message = "Message must be at most 500 characters")
+    private String message;
+
+    // Getters and Setters
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public List<String> getCities() {
+        return cities;
+    }
+
+    public void setCities(List<String> cities) {
+        this.cities = cities;
+    }
+
+    public String getHospital() {
+        return hospital;
+    }
+
+    public void setHospital(String hospital) {
+        this.hospital = hospital;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,32 @@
+package com.blooddonor.dto;
+
+import com.blooddonor.model.Donor;
+
+public class NearbyDonorResponse {
+
+    private Donor donor;
+    private double distanceKm;
+
+    public NearbyDonorResponse(Donor donor, double distanceKm) {
+        this.donor = donor;
+        // Rounded to 100 m so exact donor positions cannot be triangulated
+        this.distanceKm = Math.round(distanceKm * 10.0) / 10.0;
+    }
+
+    // Getters and Setters
+    public Donor getDonor() {
+        return donor;
+    }
+
+    public void setDonor(Donor donor) {
+        this.donor = donor;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -0,0 +1,91 @@
+package com.blooddonor.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+public class NearbyDonorSearchRequest {
+
+    // Either coordinates or a city (optionally with area) to geocode
+    @DecimalMin(value = "-90.0", message = "Invalid latitude")
+    @DecimalMax(value = "90.0", message = "Invalid latitude")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Invalid longitude")
+    @DecimalMax(value = "180.0", message = "Invalid longitude")
+    private Double longitude;
+
+    private String city;
+    private String area;
+
+    // Recipient blood group; donors with any compatible group are returned
+    @Pattern(regexp = "^(A|B|AB|O)[+-]$", message = "Invalid blood group")
+    private String bloodGroup;
+
+    @DecimalMin(value = "0.1", message = "Radius must be at least 0.1 km")
+    @DecimalMax(value = "100.0", message = "Radius must be at most 100 km")
+    private Double radiusKm = 10.0;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit must be at most 100")
+    private Integer limit = 20;
+
+    // Getters and Setters
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(String bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
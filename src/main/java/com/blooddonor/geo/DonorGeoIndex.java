@@ -0,0 +1,237 @@
+package com.blooddonor.geo;
+
+import com.blooddonor.model.BloodGroup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory uniform grid over donor coordinates for k-nearest-neighbour searches.
+ *
+ * <p>Each cell spans {@code geo.index.cell.degrees} of latitude and longitude and holds an
+ * immutable array of entries that writers replace under the cell's lock, so searches read
+ * without locking. A search visits square rings of cells around the query point and stops
+ * once the k-th best distance is closer than anything an unvisited ring could contain, or
+ * the ring lies wholly outside the radius.</p>
+ */
+@Component
+public class DonorGeoIndex {
+
+    private static final DonorLocation[] EMPTY = new DonorLocation[0];
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<Long, DonorLocation> byDonorId = new ConcurrentHashMap<>();
+
+    public DonorGeoIndex(@Value("${geo.index.cell.degrees:0.05}") double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 10) {
+            throw new IllegalArgumentException("geo.index.cell.degrees must be in (0, 10]");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Adds or moves a donor. Donors without valid coordinates are removed from the index.
+     */
+    public void put(DonorLocation location) {
+        if (!GeoDistance.isValid(location.getLatitude(), location.getLongitude())) {
+            remove(location.getDonorId());
+            return;
+        }
+        DonorLocation previous = byDonorId.put(location.getDonorId(), location);
+        long key = cellKey(location.getLatitude(), location.getLongitude());
+        if (previous != null) {
+            long previousKey = cellKey(previous.getLatitude(), previous.getLongitude());
+            if (previousKey != key) {
+                cell(previousKey).remove(location.getDonorId());
+            }
+        }
+        cell(key).upsert(location);
+    }
+
+    /**
+     * Bulk load: new donors are appended to each cell with a single copy instead of one per donor.
+     */
+    public void putAll(Collection<DonorLocation> locations) {
+        Map<Long, List<DonorLocation>> additions = new HashMap<>();
+        for (DonorLocation location : locations) {
+            if (byDonorId.containsKey(location.getDonorId())
+                    || !GeoDistance.isValid(location.getLatitude(), location.getLongitude())) {
+                put(location);
+                continue;
+            }
+            byDonorId.put(location.getDonorId(), location);
+            additions.computeIfAbsent(cellKey(location.getLatitude(), location.getLongitude()), k -> new ArrayList<>())
+                    .add(location);
+        }
+        additions.forEach((key, added) -> cell(key).append(added));
+    }
+
+    public void remove(long donorId) {
+        DonorLocation previous = byDonorId.remove(donorId);
+        if (previous != null) {
+            Cell cell = cells.get(cellKey(previous.getLatitude(), previous.getLongitude()));
+            if (cell != null) {
+                cell.remove(donorId);
+            }
+        }
+    }
+
+    public void clear() {
+        cells.clear();
+        byDonorId.clear();
+    }
+
+    public int size() {
+        return byDonorId.size();
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Up to {@code limit} available donors of one of {@code bloodGroups} within
+     * {@code radiusKm} of the point, closest first.
+     */
+    public List<GeoMatch> findNearest(double latitude, double longitude, Set<BloodGroup> bloodGroups,
+                                      double radiusKm, int limit) {
+        if (limit <= 0 || radiusKm <= 0) {
+            return List.of();
+        }
+        // Max-heap on distance holding the best candidates seen so far
+        PriorityQueue<GeoMatch> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(GeoMatch::getDistanceKm).reversed());
+
+        int centreRow = row(latitude);
+        int centreCol = col(longitude);
+        double cellHeightKm = cellDegrees * GeoDistance.KM_PER_DEGREE;
+
+        for (int ring = 0; ; ring++) {
+            // Anything outside rings 0..ring-1 is at least this far from the query point
+            double ringWidthKm = Math.min(cellHeightKm, cellWidthKm(latitude, ring));
+            double nearestUnvisitedKm = Math.max(0, ring - 1) * ringWidthKm;
+            if (ring > 0 && nearestUnvisitedKm > radiusKm) {
+                break;
+            }
+            if (best.size() == limit && best.peek().getDistanceKm() <= nearestUnvisitedKm) {
+                break;
+            }
+            if (ring > 0 && ring * cellDegrees > 180) {
+                break;
+            }
+            for (int dRow = -ring; dRow <= ring; dRow++) {
+                int rowIndex = centreRow + dRow;
+                boolean edgeRow = dRow == -ring || dRow == ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int dCol = -ring; dCol <= ring; dCol += Math.max(1, step)) {
+                    Cell cell = cells.get(key(rowIndex, centreCol + dCol));
+                    if (cell != null) {
+                        scan(cell.entries, latitude, longitude, bloodGroups, radiusKm, limit, best);
+                    }
+                }
+            }
+        }
+
+        List<GeoMatch> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(GeoMatch::getDistanceKm));
+        return result;
+    }
+
+    private static void scan(DonorLocation[] entries, double latitude, double longitude, Set<BloodGroup> bloodGroups,
+                             double radiusKm, int limit, PriorityQueue<GeoMatch> best) {
+        for (DonorLocation entry : entries) {
+            if (!entry.isAvailable() || !bloodGroups.contains(entry.getBloodGroup())) {
+                continue;
+            }
+            double distance = GeoDistance.haversineKm(latitude, longitude, entry.getLatitude(), entry.getLongitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new GeoMatch(entry.getDonorId(), distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new GeoMatch(entry.getDonorId(), distance));
+            }
+        }
+    }
+
+    // East-west extent of a cell at the widest latitude a ring can reach, where cells are narrowest
+    private double cellWidthKm(double latitude, int ring) {
+        double farthestLatitude = Math.min(89.0, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        return cellDegrees * GeoDistance.KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private Cell cell(long key) {
+        return cells.computeIfAbsent(key, k -> new Cell());
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(row(latitude), col(longitude));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Cell {
+
+        private volatile DonorLocation[] entries = EMPTY;
+
+        synchronized void upsert(DonorLocation location) {
+            DonorLocation[] current = entries;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].getDonorId() == location.getDonorId()) {
+                    DonorLocation[] copy = current.clone();
+                    copy[i] = location;
+                    entries = copy;
+                    return;
+                }
+            }
+            DonorLocation[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = location;
+            entries = copy;
+        }
+
+        synchronized void append(List<DonorLocation> added) {
+            DonorLocation[] current = entries;
+            DonorLocation[] copy = Arrays.copyOf(current, current.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                copy[current.length + i] = added.get(i);
+            }
+            entries = copy;
+        }
+
+        synchronized void remove(long donorId) {
+            DonorLocation[] current = entries;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].getDonorId() == donorId) {
+                    DonorLocation[] copy = new DonorLocation[current.length - 1];
+                    System.arraycopy(current, 0, copy, 0, i);
+                    System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+                    entries = copy;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.blooddonor.geo;
+
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorChange;
+import com.blooddonor.repository.DonorChangeRepository;
+import com.blooddonor.service.DonorStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills {@link DonorGeoIndex} from the database once the application is ready, after
+ * geocoding has backfilled donors that were missing coordinates.
+ *
+ * <p>After that it follows the donor change journal from a commit sequence cursor, so
+ * registrations, moves and deletions committed on other instances reach this index within
+ * about {@code geo.index.refresh-interval-ms} plus {@code journal.sequencer.interval-ms}.
+ * Each changed donor is re-read, so replaying a change this instance already applied is
+ * harmless.</p>
+ */
+@Component
+public class DonorGeoIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorGeoIndexLoader.class);
+
+    private final DonorStore donorStore;
+    private final DonorChangeRepository donorChangeRepository;
+    private final DonorGeoIndex donorGeoIndex;
+
+    @Value("${geo.index.load.batch-size:5000}")
+    private int batchSize;
+
+    // Changes numbered above this may be missing from the index; guarded by this
+    private Long caughtUpTo;
+
+    public DonorGeoIndexLoader(DonorStore donorStore, DonorChangeRepository donorChangeRepository,
+                               DonorGeoIndex donorGeoIndex) {
+        this.donorStore = donorStore;
+        this.donorChangeRepository = donorChangeRepository;
+        this.donorGeoIndex = donorGeoIndex;
+    }
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        // Read before the donors: anything numbered later is replayed by the next refresh
+        Long latestSeq = caughtUpTo == null ? donorChangeRepository.findLatestSeq() : null;
+        long afterId = 0;
+        while (true) {
+            List<DonorLocation> page = donorStore.findLocationsAfter(afterId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            donorGeoIndex.putAll(page);
+            afterId = page.get(page.size() - 1).getDonorId();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        if (caughtUpTo == null) {
+            caughtUpTo = latestSeq != null ? latestSeq : 0;
+        }
+        log.info("Geo index loaded {} donors into {} cells in {} ms",
+                donorGeoIndex.size(), donorGeoIndex.cellCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-reads the donors changed since the last refresh, on any instance, and puts or
+     * removes them.
+     */
+    @Scheduled(fixedDelayString = "${geo.index.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (caughtUpTo == null) {
+            return;
+        }
+        int refreshed = 0;
+        while (true) {
+            List<DonorChange> page = donorChangeRepository.findChangesAfter(caughtUpTo, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            Set<Long> donorIds = new LinkedHashSet<>();
+            page.forEach(change -> donorIds.add(change.getDonorId()));
+            for (Donor donor : donorStore.findAllById(donorIds)) {
+                donorGeoIndex.put(DonorLocation.of(donor));
+                donorIds.remove(donor.getId());
+            }
+            donorIds.forEach(donorGeoIndex::remove);
+            refreshed += page.size();
+            caughtUpTo = page.get(page.size() - 1).getCommitSeq();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        log.debug("Geo index refreshed with {} recent donor changes", refreshed);
+    }
+}
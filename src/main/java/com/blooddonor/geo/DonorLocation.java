@@ -0,0 +1,52 @@
+package com.blooddonor.geo;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+
+/**
+ * The slice of a donor the geo index needs. Also used as a JPQL constructor projection
+ * so loading the index never hydrates full entities.
+ */
+public class DonorLocation {
+
+    private final long donorId;
+    private final double latitude;
+    private final double longitude;
+    private final BloodGroup bloodGroup;
+    private final boolean available;
+
+    public DonorLocation(Long donorId, Double latitude, Double longitude, BloodGroup bloodGroup,
+                         Donor.AvailabilityStatus availabilityStatus) {
+        this.donorId = donorId;
+        // NaN marks a donor without coordinates; the index rejects it
+        this.latitude = latitude != null ? latitude : Double.NaN;
+        this.longitude = longitude != null ? longitude : Double.NaN;
+        this.bloodGroup = bloodGroup;
+        this.available = availabilityStatus == Donor.AvailabilityStatus.AVAILABLE;
+    }
+
+    public static DonorLocation of(Donor donor) {
+        return new DonorLocation(donor.getId(), donor.getLatitude(), donor.getLongitude(),
+                donor.getBloodGroup(), donor.getAvailabilityStatus());
+    }
+
+    public long getDonorId() {
+        return donorId;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,23 @@
+package com.blooddonor.geo;
+
+/**
+ * A donor id returned by the geo index together with its distance from the query point.
+ */
+public class GeoMatch {
+
+    private final long donorId;
+    private final double distanceKm;
+
+    public GeoMatch(long donorId, double distanceKm) {
+        this.donorId = donorId;
+        this.distanceKm = distanceKm;
+    }
+
+    public long getDonorId() {
+        return donorId;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,286 @@
+package com.blooddonor.idempotency;
+
+import com.blooddonor.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Makes POST and PUT calls under {@code /api/donors} and {@code /api/admin} safe to retry.
+ * A request carrying an {@code Idempotency-Key} header runs once; retries with the same key
+ * get the stored status and body back (marked {@code Idempotency-Replayed: true}) without
+ * touching the handler, and a retry that arrives while the first is still running waits
+ * for it. Keys are scoped to the authenticated caller and bound to the request they were
+ * first used with; reusing one for a different request is rejected with 422. Keys of
+ * unauthenticated callers are scoped to the client address.
+ *
+ * <p>Runs after Spring Security, so rejected requests never reach the store. Only successes,
+ * 404 and 422 are kept: the controllers report transient failures (a database outage, a
+ * mail that could not be sent) as 400 too, and a retry must get the chance to succeed.
+ * Bodies over {@code idempotency.max-response-size} are not kept either.</p>
+ *
+ * <p>The request body is read into memory to fingerprint it, so bodies over
+ * {@code idempotency.max-request-size} are rejected with 413 before anything runs.</p>
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final Pattern VALID_KEY = Pattern.compile("[\\x21-\\x7E]{1,255}");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMillis;
+    private final long maxResponseBytes;
+    private final int maxRequestBytes;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${idempotency.ttl-minutes:60}") long ttlMinutes,
+                             @Value("${idempotency.max-entries:5000}") int maxEntries,
+                             @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis,
+                             @Value("${idempotency.max-response-size:16KB}") DataSize maxResponseSize,
+                             @Value("${idempotency.max-request-size:64KB}") DataSize maxRequestSize) {
+        this.store = new IdempotencyStore(TimeUnit.MINUTES.toMillis(ttlMinutes), maxEntries);
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.maxResponseBytes = maxResponseSize.toBytes();
+        this.maxRequestBytes = Math.toIntExact(maxRequestSize.toBytes());
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.rejected = counter(meterRegistry, "rejected");
+        meterRegistry.gauge("idempotency.keys", store, IdempotencyStore::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method))
+                || !(path.startsWith("/api/donors/") || path.startsWith("/api/admin/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!VALID_KEY.matcher(key).matches()) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to 255 visible ASCII characters");
+            return;
+        }
+        byte[] body = readBody(request);
+        if (body == null) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an Idempotency-Key may carry at most " + maxRequestBytes + " bytes");
+            return;
+        }
+        HttpServletRequest cached = new CachedBodyRequest(request, body);
+        String storeKey = caller(request) + " " + key;
+        String fingerprint = fingerprint(request, body);
+
+        while (true) {
+            IdempotencyStore.Entry candidate = new IdempotencyStore.Entry(fingerprint);
+            IdempotencyStore.Entry entry = store.putIfAbsent(storeKey, candidate, System.currentTimeMillis());
+            if (!entry.getFingerprint().equals(fingerprint)) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+            if (entry == candidate) {
+                execute(cached, response, filterChain, storeKey, entry);
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = entry.getResponse().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (stored != null) {
+                log.debug("Replaying stored {} response of {} {}", stored.getStatus(), request.getMethod(),
+                        request.getRequestURI());
+                replay(response, stored);
+                return;
+            }
+            // The original's outcome was not kept; this retry takes its place
+        }
+    }
+
+    // Null when the body is over the limit; stops reading as soon as it is
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxRequestBytes) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxRequestBytes + 1);
+        return body.length > maxRequestBytes ? null : body;
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isReplayable(wrapper.getStatus()) && wrapper.getContentSize() <= maxResponseBytes) {
+                stored = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored == null) {
+                store.remove(storeKey, entry);
+            }
+            // Waiting retries are released whatever happened; null sends them through the handler
+            entry.getResponse().complete(stored);
+            executed.increment();
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        rejected.increment();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    // Outcomes that come out the same however often the request is retried
+    private static boolean isReplayable(int status) {
+        return (status >= 200 && status < 300) || status == 404 || status == 422;
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "anonymous@" + request.getRemoteAddr();
+        }
+        return authentication.getName();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Accept too: the stored body is in the representation the first request negotiated
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString() + "\n"
+                    + request.getHeader(HttpHeaders.ACCEPT) + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // The body has been read for the fingerprint; the handler gets it again from memory
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    return input.read(bytes, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.blooddonor.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Idempotency keys seen recently, each with the fingerprint of the request that first used
+ * it and the future of that request's response. Entries live for a fixed TTL and are kept
+ * in insertion order, so expired ones are always at the head; when the store is full the
+ * oldest completed entry goes even if it has not expired.
+ *
+ * <p>An entry whose request is still running is never evicted, or a retry arriving meanwhile
+ * would run the request a second time. The store can therefore exceed {@code maxEntries} by
+ * the number of requests in flight.</p>
+ */
+public class IdempotencyStore {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public IdempotencyStore(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Stores the entry unless the key already has a live one, which is returned instead.
+     * The caller whose own entry comes back runs the request and completes it.
+     */
+    public synchronized Entry putIfAbsent(String key, Entry entry, long nowMillis) {
+        evictExpired(nowMillis);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        entry.expiresAtMillis = nowMillis + ttlMillis;
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().response.isDone()) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Forgets an entry whose response is not worth replaying, so the next retry runs again.
+     */
+    public synchronized void remove(String key, Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Running entries past their TTL are stepped over and go once they complete
+    private void evictExpired(long nowMillis) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtMillis > nowMillis) {
+                break;
+            }
+            if (entry.response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private long expiresAtMillis;
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Completed with the response, or with null when there is nothing to replay.
+         */
+        public CompletableFuture<StoredResponse> getResponse() {
+            return response;
+        }
+    }
+}
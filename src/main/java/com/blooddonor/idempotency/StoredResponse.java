@@ -0,0 +1,29 @@
+package com.blooddonor.idempotency;
+
+/**
+ * What a request carrying an Idempotency-Key answered, kept to be sent again to its retries.
+ */
+public class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    public StoredResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,131 @@
+package com.blooddonor.inventory;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.BloodUnit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory stock of available units, one {@link UnitStock} per blood group and
+ * component. The database stays the authority: the stock decides which unit to try
+ * first, the conditional update in BloodUnitRepository decides whether it is still there.
+ * A rebuild swaps in a complete new set of stocks at once; units added or removed while
+ * it reads the table are applied to both sets, so none are lost in the swap.
+ */
+@Component
+public class BloodUnitInventory {
+
+    private volatile Map<BloodGroup, Map<BloodUnit.Component, UnitStock>> stocks = emptyStocks();
+    private volatile boolean loaded;
+
+    // Writes made while a rebuild reads the table, replayed onto the new stocks; guarded by this
+    private List<Consumer<Map<BloodGroup, Map<BloodUnit.Component, UnitStock>>>> pending;
+
+    public UnitStock stock(BloodGroup bloodGroup, BloodUnit.Component component) {
+        return stocks.get(bloodGroup).get(component);
+    }
+
+    public synchronized void add(StockedUnit unit) {
+        stockOf(stocks, unit).add(unit);
+        if (pending != null) {
+            pending.add(target -> stockOf(target, unit).add(unit));
+        }
+    }
+
+    public synchronized boolean remove(StockedUnit unit) {
+        boolean removed = stockOf(stocks, unit).remove(unit);
+        if (pending != null) {
+            pending.add(target -> stockOf(target, unit).remove(unit));
+        }
+        return removed;
+    }
+
+    /**
+     * Drops every unit that expired before {@code today}; returns how many.
+     */
+    public int removeExpired(LocalDate today) {
+        int removed = 0;
+        for (Map<BloodUnit.Component, UnitStock> byComponent : stocks.values()) {
+            for (UnitStock stock : byComponent.values()) {
+                removed += stock.pollExpired(today).size();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces the stock with one built from keyset-paged reads: {@code pageAfter} is called
+     * with the last unit id seen (0 first) until it returns an empty page.
+     */
+    public int rebuild(LongFunction<List<StockedUnit>> pageAfter) {
+        synchronized (this) {
+            if (pending != null) {
+                throw new IllegalStateException("A rebuild is already running");
+            }
+            pending = new ArrayList<>();
+        }
+        Map<BloodGroup, Map<BloodUnit.Component, UnitStock>> rebuilt = emptyStocks();
+        int units = 0;
+        try {
+            long afterId = 0;
+            List<StockedUnit> page;
+            while (!(page = pageAfter.apply(afterId)).isEmpty()) {
+                for (StockedUnit unit : page) {
+                    stockOf(rebuilt, unit).add(unit);
+                }
+                units += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach(write -> write.accept(rebuilt));
+            pending = null;
+            stocks = rebuilt;
+            loaded = true;
+        }
+        return units;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * One row per blood group and component, read from published counters without locking.
+     */
+    public List<StockLevel> snapshot() {
+        List<StockLevel> levels = new ArrayList<>(BloodGroup.values().length * BloodUnit.Component.values().length);
+        stocks.forEach((bloodGroup, byComponent) -> byComponent.forEach((component, stock) ->
+                levels.add(new StockLevel(bloodGroup.getLabel(), component.name(), stock.getAvailable(),
+                        stock.getNextExpiry()))));
+        return levels;
+    }
+
+    private static UnitStock stockOf(Map<BloodGroup, Map<BloodUnit.Component, UnitStock>> stocks, StockedUnit unit) {
+        return stocks.get(unit.getBloodGroup()).get(unit.getComponent());
+    }
+
+    private static Map<BloodGroup, Map<BloodUnit.Component, UnitStock>> emptyStocks() {
+        Map<BloodGroup, Map<BloodUnit.Component, UnitStock>> stocks = new EnumMap<>(BloodGroup.class);
+        for (BloodGroup bloodGroup : BloodGroup.values()) {
+            Map<BloodUnit.Component, UnitStock> byComponent = new EnumMap<>(BloodUnit.Component.class);
+            for (BloodUnit.Component component : BloodUnit.Component.values()) {
+                byComponent.put(component, new UnitStock());
+            }
+            stocks.put(bloodGroup, byComponent);
+        }
+        return stocks;
+    }
+}
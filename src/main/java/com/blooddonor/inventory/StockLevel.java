@@ -0,0 +1,37 @@
+package com.blooddonor.inventory;
+
+import java.time.LocalDate;
+
+/**
+ * Available units of one blood group and component at the time of a snapshot.
+ */
+public class StockLevel {
+
+    private final String bloodGroup;
+    private final String component;
+    private final int available;
+    private final LocalDate nextExpiry;
+
+    public StockLevel(String bloodGroup, String component, int available, LocalDate nextExpiry) {
+        this.bloodGroup = bloodGroup;
+        this.component = component;
+        this.available = available;
+        this.nextExpiry = nextExpiry;
+    }
+
+    public String getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public LocalDate getNextExpiry() {
+        return nextExpiry;
+    }
+}
@@ -0,0 +1,55 @@
+package com.blooddonor.inventory;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.BloodUnit;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * An available unit as held in memory, ordered first-expiry-first-out with the id as tie
+ * breaker.
+ */
+public class StockedUnit implements Comparable<StockedUnit> {
+
+    private static final Comparator<StockedUnit> FIRST_EXPIRY = Comparator
+            .comparing(StockedUnit::getExpiresOn)
+            .thenComparingLong(StockedUnit::getId);
+
+    private final long id;
+    private final BloodGroup bloodGroup;
+    private final BloodUnit.Component component;
+    private final LocalDate expiresOn;
+
+    public StockedUnit(Long id, BloodGroup bloodGroup, BloodUnit.Component component, LocalDate expiresOn) {
+        this.id = id;
+        this.bloodGroup = bloodGroup;
+        this.component = component;
+        this.expiresOn = expiresOn;
+    }
+
+    public static StockedUnit of(BloodUnit unit) {
+        return new StockedUnit(unit.getId(), unit.getBloodGroup(), unit.getComponent(), unit.getExpiresOn());
+    }
+
+    @Override
+    public int compareTo(StockedUnit other) {
+        return FIRST_EXPIRY.compare(this, other);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public BloodUnit.Component getComponent() {
+        return component;
+    }
+
+    public LocalDate getExpiresOn() {
+        return expiresOn;
+    }
+}
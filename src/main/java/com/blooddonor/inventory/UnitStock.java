@@ -0,0 +1,68 @@
+package com.blooddonor.inventory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Available units of one blood group and component, soonest expiry first. A sorted set
+ * rather than a binary heap so that a unit discarded by id also leaves in O(log n).
+ * Every change happens under the stock's own lock; the size and next expiry are published
+ * in volatile fields so snapshots never take it.
+ */
+public class UnitStock {
+
+    private final TreeSet<StockedUnit> units = new TreeSet<>();
+    private volatile int available;
+    private volatile LocalDate nextExpiry;
+
+    public synchronized void add(StockedUnit unit) {
+        units.add(unit);
+        publish();
+    }
+
+    public synchronized boolean remove(StockedUnit unit) {
+        boolean removed = units.remove(unit);
+        publish();
+        return removed;
+    }
+
+    /**
+     * Takes out the unit expiring soonest that is still usable on {@code today}, or returns
+     * null. Expired units met on the way are dropped; the expiry sweep records them.
+     */
+    public synchronized StockedUnit pollUsable(LocalDate today) {
+        StockedUnit unit = units.pollFirst();
+        while (unit != null && unit.getExpiresOn().isBefore(today)) {
+            unit = units.pollFirst();
+        }
+        publish();
+        return unit;
+    }
+
+    /**
+     * Removes every unit that expired before {@code today}.
+     */
+    public synchronized List<StockedUnit> pollExpired(LocalDate today) {
+        List<StockedUnit> expired = new ArrayList<>();
+        while (!units.isEmpty() && units.first().getExpiresOn().isBefore(today)) {
+            expired.add(units.pollFirst());
+        }
+        publish();
+        return expired;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public LocalDate getNextExpiry() {
+        return nextExpiry;
+    }
+
+    private void publish() {
+        available = units.size();
+        nextExpiry = units.isEmpty() ? null : units.first().getExpiresOn();
+    }
+}
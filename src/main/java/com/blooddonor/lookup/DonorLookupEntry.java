@@ -0,0 +1,49 @@
+package com.blooddonor.lookup;
+
+import com.blooddonor.model.Donor;
+
+import java.util.Objects;
+
+/**
+ * The text of a donor the lookup index searches. Also used as a JPQL constructor projection
+ * so loading the index never hydrates full entities.
+ */
+public class DonorLookupEntry {
+
+    private final long donorId;
+    private final String name;
+    private final String email;
+    private final String phone;
+
+    public DonorLookupEntry(Long donorId, String name, String email, String phone) {
+        this.donorId = donorId;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    public static DonorLookupEntry of(Donor donor) {
+        return new DonorLookupEntry(donor.getId(), donor.getName(), donor.getEmail(), donor.getPhone());
+    }
+
+    boolean sameText(DonorLookupEntry other) {
+        return Objects.equals(name, other.name) && Objects.equals(email, other.email)
+                && Objects.equals(phone, other.phone);
+    }
+
+    public long getDonorId() {
+        return donorId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+}
@@ -0,0 +1,311 @@
+package com.blooddonor.lookup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory trigram inverted index over donor name, email and phone for admin lookups.
+ *
+ * <p>Every indexed version of a donor gets a document number, and each trigram maps to the
+ * ascending list of documents containing it. A search scores documents by the share of the
+ * query's trigrams they contain, so fragments and misspellings still match, and keeps the
+ * best {@code limit} in a heap. Candidates come from the rarest trigrams only: as many as a
+ * document could miss and still reach the similarity threshold, plus one, and at most
+ * {@code lookup.index.max-scan} postings. The remaining (common) trigrams only add to the
+ * scores of candidates already found.</p>
+ *
+ * <p>Writers serialise on the index and only ever append, so searches read without locking.
+ * A changed donor is appended as a new document and the old one marked dead; dead documents
+ * are dropped by the next {@link #rebuild}.</p>
+ */
+@Component
+public class DonorLookupIndex {
+
+    private final int maxScan;
+    private final double minSimilarity;
+
+    private volatile Segment segment = new Segment();
+    private volatile boolean loaded;
+
+    // Writes made while a rebuild reads the table, replayed onto the new segment; guarded by this
+    private List<Consumer<Segment>> pending;
+
+    public DonorLookupIndex(@Value("${lookup.index.max-scan:50000}") int maxScan,
+                            @Value("${lookup.index.min-similarity:0.4}") double minSimilarity) {
+        if (maxScan < 1) {
+            throw new IllegalArgumentException("lookup.index.max-scan must be positive");
+        }
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("lookup.index.min-similarity must be in (0, 1]");
+        }
+        this.maxScan = maxScan;
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Adds a donor or re-indexes a changed one; unchanged text is a no-op.
+     */
+    public synchronized void put(DonorLookupEntry entry) {
+        segment.put(entry);
+        if (pending != null) {
+            pending.add(target -> target.put(entry));
+        }
+    }
+
+    public synchronized void remove(long donorId) {
+        segment.remove(donorId);
+        if (pending != null) {
+            pending.add(target -> target.remove(donorId));
+        }
+    }
+
+    /**
+     * Replaces the index with one built from keyset-paged reads: {@code pageAfter} is called
+     * with the last donor id seen (0 first) until it returns an empty page. Writes arriving
+     * meanwhile are applied to both segments, so none are lost in the swap.
+     */
+    public int rebuild(LongFunction<List<DonorLookupEntry>> pageAfter) {
+        synchronized (this) {
+            if (pending != null) {
+                throw new IllegalStateException("A rebuild is already running");
+            }
+            pending = new ArrayList<>();
+        }
+        Segment fresh = new Segment();
+        try {
+            long afterId = 0;
+            List<DonorLookupEntry> page;
+            while (!(page = pageAfter.apply(afterId)).isEmpty()) {
+                page.forEach(fresh::put);
+                afterId = page.get(page.size() - 1).getDonorId();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach(write -> write.accept(fresh));
+            pending = null;
+            segment = fresh;
+            loaded = true;
+            return fresh.size();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return segment.size();
+    }
+
+    public int gramCount() {
+        return segment.postings.size();
+    }
+
+    /**
+     * Up to {@code limit} donors sharing at least {@code lookup.index.min-similarity} of the
+     * query's trigrams, best first; ties go to the donor with less indexed text.
+     */
+    public List<DonorLookupMatch> search(String query, int limit) {
+        Set<String> grams = LookupGrams.ofQuery(query);
+        if (grams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Segment current = segment;
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Postings postings = current.postings.get(gram);
+            if (postings != null) {
+                lists.add(postings);
+            }
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        int needed = (int) Math.ceil(minSimilarity * grams.size());
+        // A document in enough lists is in at least one of the rarest (lists - needed + 1)
+        int sources = lists.size() - needed + 1;
+        if (sources <= 0) {
+            return List.of();
+        }
+
+        // Per-document count of query trigrams found; candidates lists each document counted
+        Doc[] docs = current.docs;
+        int[] counts = new int[docs.length];
+        int[] candidates = new int[Math.min(maxScan, docs.length)];
+        int candidateCount = 0;
+        int scanned = 0;
+        int next = 0;
+        for (; next < sources && scanned < maxScan; next++) {
+            Postings postings = lists.get(next);
+            int size = postings.size();
+            int[] ids = postings.docs;
+            // A list too long for the budget contributes its newest documents
+            int from = Math.max(0, size - (maxScan - scanned));
+            for (int i = from; i < size; i++) {
+                int doc = ids[i];
+                // Documents appended since docs was read belong to newer donors; skip them
+                if (doc < counts.length && counts[doc]++ == 0) {
+                    candidates[candidateCount++] = doc;
+                }
+            }
+            scanned += size - from;
+        }
+        for (; next < lists.size(); next++) {
+            Postings postings = lists.get(next);
+            int size = postings.size();
+            int[] ids = postings.docs;
+            // Binary-search each candidate or walk the list, whichever reads fewer entries
+            if ((long) candidateCount * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+                for (int i = 0; i < candidateCount; i++) {
+                    int doc = candidates[i];
+                    if (Arrays.binarySearch(ids, 0, size, doc) >= 0) {
+                        counts[doc]++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    int doc = ids[i];
+                    if (doc < counts.length && counts[doc] > 0) {
+                        counts[doc]++;
+                    }
+                }
+            }
+        }
+
+        // Min-heap on rank holding the best matches seen so far
+        Comparator<Ranked> byRank = Comparator.comparingInt((Ranked r) -> r.matched)
+                .thenComparing(Comparator.comparingInt((Ranked r) -> r.doc.gramCount).reversed())
+                .thenComparing(Comparator.comparingLong((Ranked r) -> r.doc.entry.getDonorId()).reversed());
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit, byRank);
+        for (int i = 0; i < candidateCount; i++) {
+            int matched = counts[candidates[i]];
+            Doc doc = docs[candidates[i]];
+            if (matched < needed || !doc.live) {
+                continue;
+            }
+            Ranked candidate = new Ranked(doc, matched);
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (byRank.compare(candidate, best.peek()) > 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(byRank.reversed());
+        List<DonorLookupMatch> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            result.add(new DonorLookupMatch(r.doc.entry.getDonorId(), (double) r.matched / grams.size()));
+        }
+        return result;
+    }
+
+    /**
+     * One generation of the index. Only the index's writer lock mutates it.
+     */
+    private static final class Segment {
+
+        private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+        private final Map<Long, Doc> byDonorId = new HashMap<>();
+        private volatile Doc[] docs = new Doc[1024];
+        private int docCount;
+
+        void put(DonorLookupEntry entry) {
+            Doc previous = byDonorId.get(entry.getDonorId());
+            if (previous != null && previous.entry.sameText(entry)) {
+                return;
+            }
+            Set<String> grams = LookupGrams.ofEntry(entry);
+            Doc doc = new Doc(entry, grams.size());
+            if (docCount == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            int number = docCount++;
+            // Published before any posting refers to it
+            Doc[] current = docs;
+            current[number] = doc;
+            docs = current;
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).append(number);
+            }
+            byDonorId.put(entry.getDonorId(), doc);
+            if (previous != null) {
+                previous.live = false;
+            }
+        }
+
+        void remove(long donorId) {
+            Doc previous = byDonorId.remove(donorId);
+            if (previous != null) {
+                previous.live = false;
+            }
+        }
+
+        int size() {
+            return byDonorId.size();
+        }
+    }
+
+    /**
+     * Ascending document numbers for one trigram. Appends publish through the volatile size,
+     * so a reader that reads the size first sees every document up to it.
+     */
+    private static final class Postings {
+
+        private volatile int[] docs = new int[4];
+        private volatile int size;
+
+        void append(int doc) {
+            int[] current = docs;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                docs = current;
+            }
+            current[size] = doc;
+            size = size + 1;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class Doc {
+
+        private final DonorLookupEntry entry;
+        private final int gramCount;
+        private volatile boolean live = true;
+
+        private Doc(DonorLookupEntry entry, int gramCount) {
+            this.entry = entry;
+            this.gramCount = gramCount;
+        }
+    }
+
+    private static final class Ranked {
+
+        private final Doc doc;
+        private final int matched;
+
+        private Ranked(Doc doc, int matched) {
+            this.doc = doc;
+            this.matched = matched;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.blooddonor.lookup;
+
+import com.blooddonor.service.DonorStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@link DonorLookupIndex} from the database once the application is ready, and
+ * rebuilds it periodically to drop the dead documents left behind by edits.
+ */
+@Component
+public class DonorLookupIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorLookupIndexLoader.class);
+
+    private final DonorStore donorStore;
+    private final DonorLookupIndex donorLookupIndex;
+
+    @Value("${lookup.index.load.batch-size:5000}")
+    private int batchSize;
+
+    public DonorLookupIndexLoader(DonorStore donorStore, DonorLookupIndex donorLookupIndex) {
+        this.donorStore = donorStore;
+        this.donorLookupIndex = donorLookupIndex;
+    }
+
+    @Order(6)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${lookup.index.rebuild.interval-ms:21600000}",
+            fixedDelayString = "${lookup.index.rebuild.interval-ms:21600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int donors = donorLookupIndex.rebuild(
+                afterId -> donorStore.findLookupEntriesAfter(afterId, PageRequest.of(0, batchSize)));
+        log.info("Donor lookup index built over {} donors with {} trigrams in {} ms",
+                donors, donorLookupIndex.gramCount(), System.currentTimeMillis() - start);
+    }
+}
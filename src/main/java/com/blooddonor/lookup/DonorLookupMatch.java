@@ -0,0 +1,23 @@
+package com.blooddonor.lookup;
+
+/**
+ * A donor id returned by the lookup index with the share of the query's trigrams it matched.
+ */
+public class DonorLookupMatch {
+
+    private final long donorId;
+    private final double score;
+
+    public DonorLookupMatch(long donorId, double score) {
+        this.donorId = donorId;
+        this.score = score;
+    }
+
+    public long getDonorId() {
+        return donorId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
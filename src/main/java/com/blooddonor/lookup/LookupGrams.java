@@ -0,0 +1,102 @@
+package com.blooddonor.lookup;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits donor text into trigrams. Text is case-folded and cut into runs of letters and
+ * digits, so "ravi.kumar@gmail.com" gives the words ravi, kumar, gmail and com. Words with
+ * letters are padded with a space on each side, which lets short words and word starts
+ * match; digit runs are not, so any three digits of a phone number find it.
+ */
+final class LookupGrams {
+
+    private static final Pattern PHONE_LIKE = Pattern.compile("[\\d\\s()+.-]+");
+
+    private LookupGrams() {
+    }
+
+    static Set<String> ofEntry(DonorLookupEntry entry) {
+        Set<String> grams = new LinkedHashSet<>();
+        addWords(grams, entry.getName());
+        addWords(grams, entry.getEmail());
+        addDigits(grams, entry.getPhone());
+        return grams;
+    }
+
+    /**
+     * Trigrams of a search. Input made only of digits and phone punctuation is read as one
+     * phone fragment, so "98765 43" matches across the space.
+     */
+    static Set<String> ofQuery(String query) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (query == null) {
+            return grams;
+        }
+        if (PHONE_LIKE.matcher(query).matches()) {
+            addDigits(grams, query);
+        } else {
+            addWords(grams, query);
+        }
+        return grams;
+    }
+
+    private static void addWords(Set<String> grams, String text) {
+        for (String word : words(text)) {
+            addTrigrams(grams, hasLetter(word) ? " " + word + " " : word);
+        }
+    }
+
+    private static void addDigits(Set<String> grams, String text) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        addTrigrams(grams, digits.toString());
+    }
+
+    private static void addTrigrams(Set<String> grams, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static boolean hasLetter(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isLetter(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,59 @@
+package com.blooddonor.matching;
+
+import com.blooddonor.model.BloodRequest;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open blood requests in matching order. A request is queued at most once; offering it
+ * again while it waits is a no-op. Requests that could not be filled come back after a
+ * delay instead of spinning through the workers.
+ */
+public class MatchingQueue {
+
+    private final PriorityBlockingQueue<MatchingTicket> queue = new PriorityBlockingQueue<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "matching-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public void offer(BloodRequest request) {
+        offer(new MatchingTicket(request));
+    }
+
+    public void offer(MatchingTicket ticket) {
+        if (queued.add(ticket.getRequestId())) {
+            queue.offer(ticket);
+        }
+    }
+
+    public void offerLater(MatchingTicket ticket, long delaySeconds) {
+        retryTimer.schedule(() -> offer(ticket), delaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Highest-priority request, or null if none arrives within the timeout.
+     */
+    public MatchingTicket poll(long timeout, TimeUnit unit) throws InterruptedException {
+        MatchingTicket ticket = queue.poll(timeout, unit);
+        if (ticket != null) {
+            queued.remove(ticket.getRequestId());
+        }
+        return ticket;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        retryTimer.shutdownNow();
+    }
+}
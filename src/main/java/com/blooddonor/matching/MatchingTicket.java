@@ -0,0 +1,45 @@
+package com.blooddonor.matching;
+
+import com.blooddonor.model.BloodRequest;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A blood request waiting for donors. Higher urgency goes first, then the earlier
+ * needed-by time (requests without one last), then the older request.
+ */
+public class MatchingTicket implements Comparable<MatchingTicket> {
+
+    private static final Comparator<MatchingTicket> PRIORITY = Comparator
+            .comparing(MatchingTicket::getUrgency, Comparator.reverseOrder())
+            .thenComparing(MatchingTicket::getNeededBy, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(MatchingTicket::getRequestId);
+
+    private final long requestId;
+    private final BloodRequest.Urgency urgency;
+    private final LocalDateTime neededBy;
+
+    public MatchingTicket(BloodRequest request) {
+        this.requestId = request.getId();
+        this.urgency = request.getUrgency();
+        this.neededBy = request.getNeededBy();
+    }
+
+    @Override
+    public int compareTo(MatchingTicket other) {
+        return PRIORITY.compare(this, other);
+    }
+
+    public long getRequestId() {
+        return requestId;
+    }
+
+    public BloodRequest.Urgency getUrgency() {
+        return urgency;
+    }
+
+    public LocalDateTime getNeededBy() {
+        return neededBy;
+    }
+}
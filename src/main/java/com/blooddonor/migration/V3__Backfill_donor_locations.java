@@ -0,0 +1,95 @@
+package com.blooddonor.migration;
+
+import com.blooddonor.service.LocationNames;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the location dictionary from existing donors and points every donor at it.
+ *
+ * <p>Spellings that normalise to the same key are merged; the dictionary keeps the
+ * spelling most donors used, and donors are rewritten to that spelling.</p>
+ */
+public class V3__Backfill_donor_locations extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        List<Object[]> pairs = jdbc.query("SELECT city, area, COUNT(*) FROM donors GROUP BY city, area",
+                (rs, row) -> new Object[]{rs.getString(1), rs.getString(2), rs.getLong(3)});
+
+        // normalized city -> spelling -> donors
+        Map<String, Map<String, Long>> citySpellings = new LinkedHashMap<>();
+        // normalized city | normalized area -> spelling -> donors
+        Map<String, Map<String, Long>> areaSpellings = new LinkedHashMap<>();
+        for (Object[] pair : pairs) {
+            String city = LocationNames.normalize((String) pair[0]);
+            String area = LocationNames.normalize((String) pair[1]);
+            if (city.isEmpty()) {
+                continue;
+            }
+            citySpellings.computeIfAbsent(city, k -> new HashMap<>()).merge((String) pair[0], (Long) pair[2], Long::sum);
+            if (!area.isEmpty()) {
+                areaSpellings.computeIfAbsent(city + "|" + area, k -> new HashMap<>())
+                        .merge((String) pair[1], (Long) pair[2], Long::sum);
+            }
+        }
+
+        Map<String, Integer> cityIds = new HashMap<>();
+        Map<String, String> cityNames = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> entry : citySpellings.entrySet()) {
+            String name = LocationNames.displayName(mostUsed(entry.getValue()));
+            jdbc.update("INSERT INTO cities (name, normalized_name) VALUES (?, ?)", name, entry.getKey());
+            cityIds.put(entry.getKey(), jdbc.queryForObject(
+                    "SELECT id FROM cities WHERE normalized_name = ?", Integer.class, entry.getKey()));
+            cityNames.put(entry.getKey(), name);
+        }
+
+        Map<String, Integer> areaIds = new HashMap<>();
+        Map<String, String> areaNames = new HashMap<>();
+        for (Map.Entry<String, Map<String, Long>> entry : areaSpellings.entrySet()) {
+            String[] key = entry.getKey().split("\\|", 2);
+            Integer cityId = cityIds.get(key[0]);
+            String name = LocationNames.displayName(mostUsed(entry.getValue()));
+            jdbc.update("INSERT INTO areas (city_id, name, normalized_name) VALUES (?, ?, ?)", cityId, name, key[1]);
+            areaIds.put(entry.getKey(), jdbc.queryForObject(
+                    "SELECT id FROM areas WHERE city_id = ? AND normalized_name = ?", Integer.class, cityId, key[1]));
+            areaNames.put(entry.getKey(), name);
+        }
+
+        // One UPDATE per original spelling pair, batched
+        List<Object[]> updates = new ArrayList<>(pairs.size());
+        for (Object[] pair : pairs) {
+            String city = LocationNames.normalize((String) pair[0]);
+            if (city.isEmpty()) {
+                continue;
+            }
+            String areaKey = city + "|" + LocationNames.normalize((String) pair[1]);
+            updates.add(new Object[]{
+                    cityNames.get(city), areaNames.getOrDefault(areaKey, (String) pair[1]),
+                    cityIds.get(city), areaIds.get(areaKey),
+                    pair[0], pair[1]
+            });
+        }
+        jdbc.batchUpdate("UPDATE donors SET city = ?, area = ?, city_id = ?, area_id = ? "
+                + "WHERE city = ? AND area = ? AND city_id IS NULL", updates);
+    }
+
+    private static String mostUsed(Map<String, Long> spellings) {
+        return spellings.entrySet().stream()
+                .max(Map.Entry.<String, Long>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .orElseThrow()
+                .getKey();
+    }
+}
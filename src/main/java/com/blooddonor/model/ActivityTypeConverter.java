@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link DonorActivityRollup.ActivityType} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class ActivityTypeConverter implements AttributeConverter<DonorActivityRollup.ActivityType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(DonorActivityRollup.ActivityType type) {
+        return type != null ? type.getCode() : null;
+    }
+
+    @Override
+    public DonorActivityRollup.ActivityType convertToEntityAttribute(Byte code) {
+        return code != null ? DonorActivityRollup.ActivityType.fromCode(code) : null;
+    }
+}
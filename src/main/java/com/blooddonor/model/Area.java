@@ -0,0 +1,56 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "areas",
+        uniqueConstraints = @UniqueConstraint(name = "uk_areas_city_normalized_name",
+                columnNames = {"city_id", "normalized_name"}))
+public class Area {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "city_id", nullable = false)
+    private Integer cityId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(Integer cityId) {
+        this.cityId = cityId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link Donor.AvailabilityStatus} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class AvailabilityStatusConverter implements AttributeConverter<Donor.AvailabilityStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Donor.AvailabilityStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public Donor.AvailabilityStatus convertToEntityAttribute(Byte code) {
+        return code != null ? Donor.AvailabilityStatus.fromCode(code) : null;
+    }
+}
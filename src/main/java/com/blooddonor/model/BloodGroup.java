@@ -0,0 +1,71 @@
+package com.blooddonor.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * ABO/RhD blood group. Stored as a one-byte code (see {@link BloodGroupConverter}) and
+ * exchanged over the API as its label, e.g. {@code "AB-"}.
+ */
+public enum BloodGroup {
+
+    O_NEGATIVE("O-", 0),
+    O_POSITIVE("O+", 1),
+    A_NEGATIVE("A-", 2),
+    A_POSITIVE("A+", 3),
+    B_NEGATIVE("B-", 4),
+    B_POSITIVE("B+", 5),
+    AB_NEGATIVE("AB-", 6),
+    AB_POSITIVE("AB+", 7);
+
+    private static final BloodGroup[] BY_CODE = new BloodGroup[values().length];
+
+    static {
+        for (BloodGroup group : values()) {
+            BY_CODE[group.code] = group;
+        }
+    }
+
+    private final String label;
+    // Persisted value; never renumber existing groups
+    private final byte code;
+
+    BloodGroup(String label, int code) {
+        this.label = label;
+        this.code = (byte) code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    @JsonCreator
+    public static BloodGroup fromLabel(String label) {
+        if (label != null) {
+            String trimmed = label.trim();
+            for (BloodGroup group : values()) {
+                if (group.label.equalsIgnoreCase(trimmed)) {
+                    return group;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid blood group: " + label);
+    }
+
+    public static BloodGroup fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Invalid blood group code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link BloodGroup} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class BloodGroupConverter implements AttributeConverter<BloodGroup, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BloodGroup bloodGroup) {
+        return bloodGroup != null ? bloodGroup.getCode() : null;
+    }
+
+    @Override
+    public BloodGroup convertToEntityAttribute(Byte code) {
+        return code != null ? BloodGroup.fromCode(code) : null;
+    }
+}
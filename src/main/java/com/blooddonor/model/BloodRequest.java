@@ -0,0 +1,242 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A hospital's request for units of one blood group in one city. Donors are reserved for it
+ * by BloodRequestMatchingService; {@code version} keeps the unit counters exact when
+ * several matchers or coordinators update the request at once.
+ */
+@Entity
+@Table(name = "blood_requests")
+public class BloodRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 150)
+    private String hospital;
+
+    @Column(name = "blood_group", nullable = false, columnDefinition = "TINYINT")
+    private BloodGroup bloodGroup;
+
+    @Column(name = "city_id", nullable = false)
+    private Integer cityId;
+
+    @Column(nullable = false, length = 50)
+    private String city;
+
+    @Column(name = "units_needed", nullable = false)
+    private Integer unitsNeeded;
+
+    @Column(name = "units_reserved", nullable = false)
+    private Integer unitsReserved = 0;
+
+    @Column(name = "units_confirmed", nullable = false)
+    private Integer unitsConfirmed = 0;
+
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private Urgency urgency;
+
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private Status status = Status.OPEN;
+
+    @Column(name = "needed_by")
+    private LocalDateTime neededBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Units still without a reserved or confirmed donor.
+     */
+    public int getUnitsOpen() {
+        return Math.max(0, unitsNeeded - unitsReserved - unitsConfirmed);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getHospital() {
+        return hospital;
+    }
+
+    public void setHospital(String hospital) {
+        this.hospital = hospital;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(BloodGroup bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(Integer cityId) {
+        this.cityId = cityId;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public Integer getUnitsNeeded() {
+        return unitsNeeded;
+    }
+
+    public void setUnitsNeeded(Integer unitsNeeded) {
+        this.unitsNeeded = unitsNeeded;
+    }
+
+    public Integer getUnitsReserved() {
+        return unitsReserved;
+    }
+
+    public void setUnitsReserved(Integer unitsReserved) {
+        this.unitsReserved = unitsReserved;
+    }
+
+    public Integer getUnitsConfirmed() {
+        return unitsConfirmed;
+    }
+
+    public void setUnitsConfirmed(Integer unitsConfirmed) {
+        this.unitsConfirmed = unitsConfirmed;
+    }
+
+    public Urgency getUrgency() {
+        return urgency;
+    }
+
+    public void setUrgency(Urgency urgency) {
+        this.urgency = urgency;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getNeededBy() {
+        return neededBy;
+    }
+
+    public void setNeededBy(LocalDateTime neededBy) {
+        this.neededBy = neededBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Persisted as the code (BloodRequestUrgencyConverter); higher codes are matched first
+    public enum Urgency {
+        ROUTINE(0),
+        URGENT(1),
+        CRITICAL(2);
+
+        private final byte code;
+
+        Urgency(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static Urgency fromCode(byte code) {
+            for (Urgency urgency : values()) {
+                if (urgency.code == code) {
+                    return urgency;
+                }
+            }
+            throw new IllegalArgumentException("Invalid urgency code: " + code);
+        }
+    }
+
+    // Persisted as the code (BloodRequestStatusConverter)
+    public enum Status {
+        OPEN(0),
+        FULFILLED(1),
+        CANCELLED(2);
+
+        private final byte code;
+
+        Status(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static Status fromCode(byte code) {
+            for (Status status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid request status code: " + code);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link BloodRequest.Status} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class BloodRequestStatusConverter implements AttributeConverter<BloodRequest.Status, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BloodRequest.Status status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public BloodRequest.Status convertToEntityAttribute(Byte code) {
+        return code != null ? BloodRequest.Status.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link BloodRequest.Urgency} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class BloodRequestUrgencyConverter implements AttributeConverter<BloodRequest.Urgency, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BloodRequest.Urgency urgency) {
+        return urgency != null ? urgency.getCode() : null;
+    }
+
+    @Override
+    public BloodRequest.Urgency convertToEntityAttribute(Byte code) {
+        return code != null ? BloodRequest.Urgency.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,193 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One collected unit in the blood bank's inventory. Allocation and discarding are
+ * conditional updates on {@code status} (see BloodUnitRepository), so a unit leaves
+ * stock exactly once even when several instances allocate from the same table.
+ */
+@Entity
+@Table(name = "blood_units")
+public class BloodUnit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "blood_group", nullable = false, columnDefinition = "TINYINT")
+    private BloodGroup bloodGroup;
+
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private Component component;
+
+    @Column(name = "donor_id")
+    private Long donorId;
+
+    @Column(name = "collected_on", nullable = false)
+    private LocalDate collectedOn;
+
+    @Column(name = "expires_on", nullable = false)
+    private LocalDate expiresOn;
+
+    @Column(nullable = false, columnDefinition = "TINYINT")
+    private Status status = Status.AVAILABLE;
+
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "allocated_at")
+    private LocalDateTime allocatedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public void setBloodGroup(BloodGroup bloodGroup) {
+        this.bloodGroup = bloodGroup;
+    }
+
+    public Component getComponent() {
+        return component;
+    }
+
+    public void setComponent(Component component) {
+        this.component = component;
+    }
+
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+
+    public LocalDate getCollectedOn() {
+        return collectedOn;
+    }
+
+    public void setCollectedOn(LocalDate collectedOn) {
+        this.collectedOn = collectedOn;
+    }
+
+    public LocalDate getExpiresOn() {
+        return expiresOn;
+    }
+
+    public void setExpiresOn(LocalDate expiresOn) {
+        this.expiresOn = expiresOn;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public LocalDateTime getAllocatedAt() {
+        return allocatedAt;
+    }
+
+    public void setAllocatedAt(LocalDateTime allocatedAt) {
+        this.allocatedAt = allocatedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Persisted as the code (BloodUnitComponentConverter); shelf life applies when no expiry is given
+    public enum Component {
+        WHOLE_BLOOD(0, 35),
+        RED_CELLS(1, 42),
+        PLATELETS(2, 5),
+        PLASMA(3, 365);
+
+        private final byte code;
+        private final int shelfLifeDays;
+
+        Component(int code, int shelfLifeDays) {
+            this.code = (byte) code;
+            this.shelfLifeDays = shelfLifeDays;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public int getShelfLifeDays() {
+            return shelfLifeDays;
+        }
+
+        public static Component fromCode(byte code) {
+            for (Component component : values()) {
+                if (component.code == code) {
+                    return component;
+                }
+            }
+            throw new IllegalArgumentException("Invalid component code: " + code);
+        }
+    }
+
+    // Persisted as the code (BloodUnitStatusConverter)
+    public enum Status {
+        AVAILABLE(0),
+        ALLOCATED(1),
+        EXPIRED(2),
+        DISCARDED(3);
+
+        private final byte code;
+
+        Status(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static Status fromCode(byte code) {
+            for (Status status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid unit status code: " + code);
+        }
+    }
+}
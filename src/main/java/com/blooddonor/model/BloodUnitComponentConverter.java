@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link BloodUnit.Component} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class BloodUnitComponentConverter implements AttributeConverter<BloodUnit.Component, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BloodUnit.Component component) {
+        return component != null ? component.getCode() : null;
+    }
+
+    @Override
+    public BloodUnit.Component convertToEntityAttribute(Byte code) {
+        return code != null ? BloodUnit.Component.fromCode(code) : null;
+    }
+}
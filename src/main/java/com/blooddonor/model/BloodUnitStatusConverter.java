@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link BloodUnit.Status} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class BloodUnitStatusConverter implements AttributeConverter<BloodUnit.Status, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(BloodUnit.Status status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public BloodUnit.Status convertToEntityAttribute(Byte code) {
+        return code != null ? BloodUnit.Status.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link DonorChange.ChangeType} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class ChangeTypeConverter implements AttributeConverter<DonorChange.ChangeType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(DonorChange.ChangeType type) {
+        return type != null ? type.getCode() : null;
+    }
+
+    @Override
+    public DonorChange.ChangeType convertToEntityAttribute(Byte code) {
+        return code != null ? DonorChange.ChangeType.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "donor_activity_daily")
+public class DailyDonorActivity extends DonorActivityRollup {
+}
@@ -0,0 +1,109 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One recorded donation. Rows live in the home database next to the change journal, so the
+ * donor is referenced by id rather than by association: its row may be on another shard.
+ */
+@Entity
+@Table(name = "donations")
+public class Donation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "donor_id", nullable = false)
+    private Long donorId;
+
+    @Column(name = "donation_type", nullable = false, columnDefinition = "TINYINT")
+    private DonationType donationType;
+
+    @Column(name = "donated_on", nullable = false)
+    private LocalDate donatedOn;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public Donation() {
+    }
+
+    public Donation(Long donorId, DonationType donationType, LocalDate donatedOn) {
+        this.donorId = donorId;
+        this.donationType = donationType;
+        this.donatedOn = donatedOn;
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+
+    public DonationType getDonationType() {
+        return donationType;
+    }
+
+    public void setDonationType(DonationType donationType) {
+        this.donationType = donationType;
+    }
+
+    public LocalDate getDonatedOn() {
+        return donatedOn;
+    }
+
+    public void setDonatedOn(LocalDate donatedOn) {
+        this.donatedOn = donatedOn;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    // Persisted as the code (DonationTypeConverter); the API uses the name
+    public enum DonationType {
+        WHOLE_BLOOD(0),
+        DOUBLE_RED_CELLS(1),
+        PLATELETS(2),
+        PLASMA(3);
+
+        private final byte code;
+
+        DonationType(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static DonationType fromCode(byte code) {
+            for (DonationType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Invalid donation type code: " + code);
+        }
+    }
+}
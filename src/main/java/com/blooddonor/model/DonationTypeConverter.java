@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link Donation.DonationType} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class DonationTypeConverter implements AttributeConverter<Donation.DonationType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(Donation.DonationType type) {
+        return type != null ? type.getCode() : null;
+    }
+
+    @Override
+    public Donation.DonationType convertToEntityAttribute(Byte code) {
+        return code != null ? Donation.DonationType.fromCode(code) : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.blooddonor.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
@@ -22,8 +23,8 @@ public class Donor {
     @Column(nullable = false, length = 15)
     private String phone;
 
-    @Column(name = "blood_group", nullable = false, length = 5)
-    private String bloodGroup;
+    @Column(name = "blood_group", nullable = false, columnDefinition = "TINYINT")
+    private BloodGroup bloodGroup;
 
     @Column(nullable = false, length = 100)
     private String area;
@@ -31,21 +32,56 @@ public class Donor {
     @Column(nullable = false, length = 50)
     private String city;
 
+    // Keys into the cities/areas dictionary; city and area above hold the canonical names
+    @JsonIgnore
+    @Column(name = "city_id")
+    private Integer cityId;
+
+    @JsonIgnore
+    @Column(name = "area_id")
+    private Integer areaId;
+
+    // Exact coordinates are private; searches only expose distances
+    @JsonIgnore
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @JsonIgnore
+    @Column(name = "longitude")
+    private Double longitude;
     
-    @Enumerated(EnumType.STRING)
-    @Column(name = "availability_status")
+    @Column(name = "availability_status", nullable = false, columnDefinition = "TINYINT")
     private AvailabilityStatus availabilityStatus = AvailabilityStatus.AVAILABLE;
 
     @Column(name = "not_available_until")
     private LocalDate notAvailableUntil;
 
+    // Derived from the donation history by EligibilityEngine; null until a donation is recorded
+    @Column(name = "next_eligible_date")
+    private LocalDate nextEligibleDate;
+
+    // Every donor write is checked against this; concurrent edits fail instead of overwriting
+    @JsonIgnore
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Held for a blood request until this time (see BloodRequestMatchingService)
+    @JsonIgnore
+    @Column(name = "reserved_until")
+    private LocalDateTime reservedUntil;
+
+    @JsonIgnore
+    @Column(name = "reserved_for_request")
+    private Long reservedForRequest;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "is_verified")
+    @Column(name = "is_verified", nullable = false)
     private Boolean isVerified = false;
 
     @PrePersist
@@ -92,11 +128,11 @@ public class Donor {
         this.phone = phone;
     }
 
-    public String getBloodGroup() {
+    public BloodGroup getBloodGroup() {
         return bloodGroup;
     }
 
-    public void setBloodGroup(String bloodGroup) {
+    public void setBloodGroup(BloodGroup bloodGroup) {
         this.bloodGroup = bloodGroup;
     }
 
@@ -116,6 +152,38 @@ public class Donor {
         this.city = city;
     }
 
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(Integer cityId) {
+        this.cityId = cityId;
+    }
+
+    public Integer getAreaId() {
+        return areaId;
+    }
+
+    public void setAreaId(Integer areaId) {
+        this.areaId = areaId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     
     public AvailabilityStatus getAvailabilityStatus() {
         return availabilityStatus;
@@ -133,6 +201,46 @@ public class Donor {
         this.notAvailableUntil = notAvailableUntil;
     }
 
+    public LocalDate getNextEligibleDate() {
+        return nextEligibleDate;
+    }
+
+    public void setNextEligibleDate(LocalDate nextEligibleDate) {
+        this.nextEligibleDate = nextEligibleDate;
+    }
+
+    public boolean isEligibleOn(LocalDate date) {
+        return nextEligibleDate == null || !nextEligibleDate.isAfter(date);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getReservedUntil() {
+        return reservedUntil;
+    }
+
+    public void setReservedUntil(LocalDateTime reservedUntil) {
+        this.reservedUntil = reservedUntil;
+    }
+
+    public Long getReservedForRequest() {
+        return reservedForRequest;
+    }
+
+    public void setReservedForRequest(Long reservedForRequest) {
+        this.reservedForRequest = reservedForRequest;
+    }
+
+    public boolean isReservedAt(LocalDateTime time) {
+        return reservedUntil != null && reservedUntil.isAfter(time);
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -157,8 +265,28 @@ public class Donor {
         this.isVerified = isVerified;
     }
 
+    // Persisted as the code (AvailabilityStatusConverter); the API still uses the name
     public enum AvailabilityStatus {
-        AVAILABLE,
-        NOT_AVAILABLE
+        AVAILABLE(1),
+        NOT_AVAILABLE(0);
+
+        private final byte code;
+
+        AvailabilityStatus(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static AvailabilityStatus fromCode(byte code) {
+            for (AvailabilityStatus status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid availability status code: " + code);
+        }
     }
 }
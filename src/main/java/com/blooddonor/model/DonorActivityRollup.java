@@ -0,0 +1,95 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns shared by the hourly and daily donor activity rollups: how many events of one
+ * type happened in one city during the bucket starting at {@code bucketStart}.
+ */
+@MappedSuperclass
+public abstract class DonorActivityRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "city_id", nullable = false)
+    private Integer cityId;
+
+    @Column(name = "activity_type", nullable = false, columnDefinition = "TINYINT")
+    private ActivityType activityType;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(Integer cityId) {
+        this.cityId = cityId;
+    }
+
+    public ActivityType getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(ActivityType activityType) {
+        this.activityType = activityType;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public enum ActivityType {
+        REGISTERED(0),
+        BECAME_AVAILABLE(1),
+        BECAME_UNAVAILABLE(2);
+
+        private final byte code;
+
+        ActivityType(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static ActivityType fromCode(byte code) {
+            for (ActivityType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Invalid activity type code: " + code);
+        }
+    }
+}
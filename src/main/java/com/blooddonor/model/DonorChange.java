@@ -0,0 +1,106 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the donor change journal. Entries are only ever appended; {@code seq} is their
+ * insert order and {@code commitSeq}, set by the journal's sequencer once the entry has
+ * committed, is the cursor sync clients resume from.
+ */
+@Entity
+@Table(name = "donor_changes")
+public class DonorChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "commit_seq")
+    private Long commitSeq;
+
+    @Column(name = "donor_id", nullable = false)
+    private Long donorId;
+
+    @Column(name = "change_type", nullable = false, columnDefinition = "TINYINT")
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public DonorChange() {
+    }
+
+    public DonorChange(Long donorId, ChangeType changeType) {
+        this.donorId = donorId;
+        this.changeType = changeType;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Long getCommitSeq() {
+        return commitSeq;
+    }
+
+    public void setCommitSeq(Long commitSeq) {
+        this.commitSeq = commitSeq;
+    }
+
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public enum ChangeType {
+        CREATED(0),
+        UPDATED(1),
+        DELETED(2);
+
+        private final byte code;
+
+        ChangeType(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        public static ChangeType fromCode(byte code) {
+            for (ChangeType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Invalid change type code: " + code);
+        }
+    }
+}
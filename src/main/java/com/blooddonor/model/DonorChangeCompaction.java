@@ -0,0 +1,81 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of one journal compaction run. The highest {@code tombstonesThroughSeq} is the
+ * oldest cursor that can still sync incrementally.
+ */
+@Entity
+@Table(name = "donor_change_compactions")
+public class DonorChangeCompaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+
+    @Column(name = "superseded_removed", nullable = false)
+    private Long supersededRemoved;
+
+    @Column(name = "tombstones_removed", nullable = false)
+    private Long tombstonesRemoved;
+
+    @Column(name = "tombstones_through_seq", nullable = false)
+    private Long tombstonesThroughSeq;
+
+    public DonorChangeCompaction() {
+    }
+
+    public DonorChangeCompaction(long supersededRemoved, long tombstonesRemoved, long tombstonesThroughSeq) {
+        this.compactedAt = LocalDateTime.now();
+        this.supersededRemoved = supersededRemoved;
+        this.tombstonesRemoved = tombstonesRemoved;
+        this.tombstonesThroughSeq = tombstonesThroughSeq;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCompactedAt() {
+        return compactedAt;
+    }
+
+    public void setCompactedAt(LocalDateTime compactedAt) {
+        this.compactedAt = compactedAt;
+    }
+
+    public Long getSupersededRemoved() {
+        return supersededRemoved;
+    }
+
+    public void setSupersededRemoved(Long supersededRemoved) {
+        this.supersededRemoved = supersededRemoved;
+    }
+
+    public Long getTombstonesRemoved() {
+        return tombstonesRemoved;
+    }
+
+    public void setTombstonesRemoved(Long tombstonesRemoved) {
+        this.tombstonesRemoved = tombstonesRemoved;
+    }
+
+    public Long getTombstonesThroughSeq() {
+        return tombstonesThroughSeq;
+    }
+
+    public void setTombstonesThroughSeq(Long tombstonesThroughSeq) {
+        this.tombstonesThroughSeq = tombstonesThroughSeq;
+    }
+}
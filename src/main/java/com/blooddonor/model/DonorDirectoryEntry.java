@@ -0,0 +1,49 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+/**
+ * The shard a donor lives on. Kept on the home shard only.
+ */
+@Entity
+@Table(name = "donor_directory")
+public class DonorDirectoryEntry {
+
+    @Id
+    @Column(name = "donor_id")
+    private Long donorId;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String email;
+
+    @Column(name = "shard_id", nullable = false)
+    private Integer shardId;
+
+    public DonorDirectoryEntry() {
+    }
+
+    // Getters and Setters
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getShardId() {
+        return shardId;
+    }
+
+    public void setShardId(Integer shardId) {
+        this.shardId = shardId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A donor row being written across shards, recorded before the write so it can be settled
+ * after a crash. Kept on the home shard only.
+ */
+@Entity
+@Table(name = "donor_moves")
+public class DonorMove {
+
+    @Id
+    @Column(name = "donor_id")
+    private Long donorId;
+
+    // Null for an insert
+    @Column(name = "source_shard")
+    private Integer sourceShard;
+
+    // Null for a delete
+    @Column(name = "target_shard")
+    private Integer targetShard;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    public DonorMove() {
+    }
+
+    // Getters and Setters
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public void setDonorId(Long donorId) {
+        this.donorId = donorId;
+    }
+
+    public Integer getSourceShard() {
+        return sourceShard;
+    }
+
+    public void setSourceShard(Integer sourceShard) {
+        this.sourceShard = sourceShard;
+    }
+
+    public Integer getTargetShard() {
+        return targetShard;
+    }
+
+    public void setTargetShard(Integer targetShard) {
+        this.targetShard = targetShard;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+}
@@ -0,0 +1,70 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Local geocoding entry: the coordinates of an area within a city, or of the city itself
+ * when {@code area} is null.
+ */
+@Entity
+@Table(name = "geo_locations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_geo_locations_city_area", columnNames = {"city", "area"}))
+public class GeoLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String city;
+
+    @Column(length = 100)
+    private String area;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public void setArea(String area) {
+        this.area = area;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blooddonor.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link DonorReservation.Status} to its TINYINT code.
+ */
+@Converter(autoApply = true)
+public class ReservationStatusConverter implements AttributeConverter<DonorReservation.Status, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(DonorReservation.Status status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public DonorReservation.Status convertToEntityAttribute(Byte code) {
+        return code != null ? DonorReservation.Status.fromCode(code) : null;
+    }
+}
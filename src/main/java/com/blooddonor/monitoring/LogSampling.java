@@ -0,0 +1,17 @@
+package com.blooddonor.monitoring;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marker for high-frequency log events that may be sampled in production, such as a line
+ * per donor search. Events carrying it are thinned out by {@link SampledLogTurboFilter};
+ * everything else is unaffected.
+ */
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.blooddonor.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the number of log events dropped by {@link MeteredAsyncAppender}.
+ */
+@Component
+public class LoggingMetrics {
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.events.discarded", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.getDiscardedCount())
+                .description("Log events discarded because the async queue was nearly full")
+                .register(meterRegistry);
+    }
+}
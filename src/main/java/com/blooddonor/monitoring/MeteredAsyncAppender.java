@@ -0,0 +1,40 @@
+package com.blooddonor.monitoring;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Async appender that charges the caller-side cost of each event (MDC copy, message
+ * formatting, enqueue) to the request's {@code log} timing phase, and counts events it
+ * discards when the queue is under pressure.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final AtomicLong DISCARDED = new AtomicLong();
+
+    public static long getDiscardedCount() {
+        return DISCARDED.get();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        long start = System.nanoTime();
+        try {
+            super.append(event);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.LOGGING, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted once the queue has dropped below the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DISCARDED.incrementAndGet();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,122 @@
+package com.blooddonor.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link QueryCounter} for each HTTP request. The statement count and total
+ * database time are returned in the {@code X-DB-Query-Count} and {@code X-DB-Query-Time}
+ * response headers, recorded as metrics tagged by endpoint, and logged when a request
+ * goes over the statement budget or spends too long in the database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    public static final String QUERY_COUNT_HEADER = "X-DB-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-DB-Query-Time";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean headersEnabled;
+    private final int statementBudget;
+    private final long slowRequestThresholdMillis;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${query.tracking.enabled:true}") boolean enabled,
+                            @Value("${query.tracking.headers.enabled:true}") boolean headersEnabled,
+                            @Value("${query.tracking.statement.budget:10}") int statementBudget,
+                            @Value("${query.tracking.slow.request.ms:500}") long slowRequestThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.headersEnabled = headersEnabled;
+        this.statementBudget = statementBudget;
+        this.slowRequestThresholdMillis = slowRequestThresholdMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (QueryCounter counter = QueryCounter.start()) {
+            HttpServletResponse wrapped = headersEnabled ? new QueryHeaderResponseWrapper(response, counter) : response;
+            try {
+                filterChain.doFilter(request, wrapped);
+            } finally {
+                record(request, counter);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.getStatementCount());
+        Timer.builder("http.server.requests.db.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        if (counter.getStatementCount() > statementBudget) {
+            log.warn("{} {} executed {} SQL statements (budget {}) in {}ms",
+                    request.getMethod(), uri, counter.getStatementCount(), statementBudget,
+                    Math.round(counter.getExecutionMillis()));
+        } else if (counter.getExecutionMillis() > slowRequestThresholdMillis) {
+            log.warn("{} {} spent {}ms in {} SQL statements (threshold {}ms)",
+                    request.getMethod(), uri, Math.round(counter.getExecutionMillis()),
+                    counter.getStatementCount(), slowRequestThresholdMillis);
+        }
+    }
+
+    /**
+     * Headers must be added before the body is committed, so they reflect the statements
+     * executed up to that point.
+     */
+    private static class QueryHeaderResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final QueryCounter counter;
+
+        QueryHeaderResponseWrapper(HttpServletResponse response, QueryCounter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(counter.getStatementCount()));
+            response.setHeader(QUERY_TIME_HEADER, String.format("%.2f", counter.getExecutionMillis()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.blooddonor.monitoring;
+
+/**
+ * Counts JDBC statements and the time spent executing them on the current thread.
+ * {@link QueryCountFilter} opens one per HTTP request; tests can open their own around a
+ * service call:
+ *
+ * <pre>
+ * try (QueryCounter counter = QueryCounter.start()) {
+ *     donorService.deleteDonor(id);
+ *     assertEquals(2, counter.getStatementCount());
+ * }
+ * </pre>
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final QueryCounter previous;
+    private int statementCount;
+    private long executionNanos;
+
+    private QueryCounter(QueryCounter previous) {
+        this.previous = previous;
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * The counter for the current thread, or {@code null} if none is open.
+     */
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    static void record(long nanos) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statementCount++;
+            counter.executionNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public double getExecutionMillis() {
+        return executionNanos / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.blooddonor.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so that every statement execution is timed and recorded against the
+ * current {@link QueryCounter} and {@link RequestTiming}, along with the time spent waiting
+ * for a pooled connection. Individual statements slower than the threshold are logged with
+ * their SQL.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountingDataSource.class);
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+
+    private final long slowQueryThresholdNanos;
+
+    public QueryCountingDataSource(DataSource targetDataSource, long slowQueryThresholdMillis) {
+        super(targetDataSource);
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000L;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return wrapConnection(super.getConnection());
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.CONNECTION, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return wrapConnection(super.getConnection(username, password));
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.CONNECTION, System.nanoTime() - start);
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                QueryCounter.record(elapsed);
+                RequestTiming.record(RequestTiming.Phase.SQL, elapsed);
+                if (elapsed > slowQueryThresholdNanos) {
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+                    log.warn("Slow SQL statement took {}ms: {}", elapsed / 1_000_000,
+                            sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql);
+                }
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
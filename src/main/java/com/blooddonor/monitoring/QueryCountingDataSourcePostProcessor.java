@@ -0,0 +1,34 @@
+package com.blooddonor.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link QueryCountingDataSource} when
+ * query tracking or request timing is enabled.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+    private final long slowQueryThresholdMillis;
+
+    public QueryCountingDataSourcePostProcessor(
+            @Value("${query.tracking.enabled:true}") boolean queryTrackingEnabled,
+            @Value("${request.timing.enabled:true}") boolean requestTimingEnabled,
+            @Value("${query.tracking.slow.query.ms:200}") long slowQueryThresholdMillis) {
+        this.enabled = queryTrackingEnabled || requestTimingEnabled;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource, slowQueryThresholdMillis);
+        }
+        return bean;
+    }
+}
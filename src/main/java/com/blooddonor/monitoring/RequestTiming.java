@@ -0,0 +1,141 @@
+package com.blooddonor.monitoring;
+
+/**
+ * Per-request breakdown of where time went, accumulated on the request thread and reported
+ * by {@link ServerTimingFilter}. Service time is what remains of the handler's execution
+ * once database, email, logging and serialisation time are taken out.
+ */
+public final class RequestTiming implements AutoCloseable {
+
+    public enum Phase {
+        AUTH("auth"),
+        CONNECTION("db-conn"),
+        SQL("db"),
+        SERVICE("app"),
+        EMAIL("email"),
+        SERIALIZATION("ser"),
+        LOGGING("log");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final long[] phaseStartNanos = new long[Phase.values().length];
+    private long handlerStartNanos;
+    private long handlerEndNanos;
+    private long handlerOverlapNanos;
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void record(Phase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos[phase.ordinal()] += nanos;
+            if (timing.handlerStartNanos != 0 && timing.handlerEndNanos == 0) {
+                timing.handlerOverlapNanos += nanos;
+            }
+        }
+    }
+
+    /**
+     * Starts timing a phase that may still be running when the header is rendered, such as
+     * serialisation, which flushes and commits the response before it returns.
+     */
+    public static void begin(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseStartNanos[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public static void end(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.phaseStartNanos[phase.ordinal()] != 0) {
+            long elapsed = System.nanoTime() - timing.phaseStartNanos[phase.ordinal()];
+            timing.phaseStartNanos[phase.ordinal()] = 0;
+            record(phase, elapsed);
+        }
+    }
+
+    static void markHandlerStart() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.handlerStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of controller and service work. Called when serialisation begins, or
+     * after completion for handlers that never write a body.
+     */
+    static void markHandlerEnd() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && timing.handlerStartNanos != 0 && timing.handlerEndNanos == 0) {
+            timing.handlerEndNanos = System.nanoTime();
+        }
+    }
+
+    public long getNanos(Phase phase) {
+        if (phase == Phase.SERVICE) {
+            if (handlerStartNanos == 0 || handlerEndNanos == 0) {
+                return 0;
+            }
+            return Math.max(0, handlerEndNanos - handlerStartNanos - handlerOverlapNanos);
+        }
+        long inProgress = phaseStartNanos[phase.ordinal()] != 0 ? System.nanoTime() - phaseStartNanos[phase.ordinal()] : 0;
+        return phaseNanos[phase.ordinal()] + inProgress;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Renders the {@code Server-Timing} header value, skipping phases that took no time.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            long nanos = getNanos(phase);
+            if (nanos > 0) {
+                appendMetric(header, phase.getMetricName(), nanos);
+            }
+        }
+        appendMetric(header, "total", getElapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(nanos / 1000 / 1000.0);
+    }
+
+    @Override
+    public void close() {
+        CURRENT.remove();
+    }
+}
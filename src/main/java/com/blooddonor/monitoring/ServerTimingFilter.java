@@ -0,0 +1,95 @@
+package com.blooddonor.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestTiming} per request, returns the breakdown in a
+ * {@code Server-Timing} header and records each phase in the
+ * {@code http.server.requests.phase} histogram so the dominant phase at p99 is visible.
+ *
+ * <p>The header only carries phase names and durations. It is written when the response
+ * commits, so for bodies larger than the response buffer it reflects the work done up to
+ * the first flush; the histograms always record the complete request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean headerEnabled;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry,
+                              @Value("${request.timing.enabled:true}") boolean enabled,
+                              @Value("${request.timing.header.enabled:true}") boolean headerEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (RequestTiming timing = RequestTiming.start()) {
+            HttpServletResponse wrapped = headerEnabled ? new ServerTimingResponseWrapper(response, timing) : response;
+            try {
+                filterChain.doFilter(request, wrapped);
+            } finally {
+                record(request, timing);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            Timer.builder("http.server.requests.phase")
+                    .description("Time spent in each phase of an HTTP request")
+                    .tag("phase", phase.getMetricName())
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(timing.getNanos(phase), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            RequestTiming.markHandlerEnd();
+            ((HttpServletResponse) getResponse()).setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+        }
+    }
+}
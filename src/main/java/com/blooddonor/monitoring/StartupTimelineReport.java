@@ -0,0 +1,91 @@
+package com.blooddonor.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs where startup time went once the application is ready: time to ready, and the beans
+ * with the most expensive initialisation of their own, dependencies excluded. The full
+ * timeline is served by {@code /actuator/startup} when that endpoint is exposed.
+ */
+@Component
+public class StartupTimelineReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    @Value("${startup.timeline.top-beans:15}")
+    private int topBeans;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void report(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+
+        // A bean's step includes the beans it pulled in; subtract direct children for its own cost
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent timelineEvent : events) {
+            Long parentId = timelineEvent.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+        List<BeanCost> costs = events.stream()
+                .filter(timelineEvent -> BEAN_STEP.equals(timelineEvent.getStartupStep().getName()))
+                .map(timelineEvent -> new BeanCost(beanName(timelineEvent.getStartupStep()),
+                        timelineEvent.getDuration().minus(
+                                childTime.getOrDefault(timelineEvent.getStartupStep().getId(), Duration.ZERO))))
+                .sorted(Comparator.comparing((BeanCost cost) -> cost.ownTime).reversed())
+                .limit(topBeans)
+                .toList();
+
+        StringBuilder report = new StringBuilder(String.format("Startup ready in %d ms (JVM up %d ms), %d beans created; slowest own init:",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                events.stream().filter(timelineEvent -> BEAN_STEP.equals(timelineEvent.getStartupStep().getName())).count()));
+        for (BeanCost cost : costs) {
+            report.append(String.format("%n  %6d ms  %s", cost.ownTime.toMillis(), cost.beanName));
+        }
+        log.info(report.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static final class BeanCost {
+
+        private final String beanName;
+        private final Duration ownTime;
+
+        private BeanCost(String beanName, Duration ownTime) {
+            this.beanName = beanName;
+            this.ownTime = ownTime;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.blooddonor.registration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. {@link #mightContain} never misses a key that was
+ * {@link #put}; it wrongly answers yes with a probability that grows as bits fill up, and
+ * {@link #expectedFalsePositiveRate} estimates that probability from the bits set so far.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final AtomicLong entries = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount, long capacity) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * The smallest filter that answers wrongly at most {@code falsePositiveRate} of the time
+     * while holding up to {@code capacity} keys.
+     */
+    static BloomFilter withCapacity(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bits > (long) Integer.MAX_VALUE * 64) {
+            throw new IllegalArgumentException("Bloom filter for " + capacity + " keys is too large");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes, n);
+    }
+
+    /**
+     * Returns true if any of the key's bits was still clear, i.e. the key is new.
+     */
+    boolean put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    bitsSet.incrementAndGet();
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (changed) {
+            entries.incrementAndGet();
+        }
+        return changed;
+    }
+
+    boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Chance that all of an absent key's bits are set: the fill ratio to the power of k
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    // Keys that set at least one bit; a key colliding on every bit is not counted
+    long entries() {
+        return entries.get();
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * 8;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units, finished with a full avalanche
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85A53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
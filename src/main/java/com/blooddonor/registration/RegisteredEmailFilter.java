@@ -0,0 +1,204 @@
+package com.blooddonor.registration;
+
+import com.blooddonor.lookup.DonorLookupEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * In-memory Bloom filter of registered donor emails, consulted before the database so that
+ * registrations and OTP logins for unknown addresses cost no query.
+ *
+ * <p>A "no" is definite and skips the lookup; a "maybe" goes to the database as before. Until
+ * the first build completes every email is a "maybe". Emails are keyed in lower case to match
+ * the case-insensitive unique key, and addresses with non-ASCII characters always go to the
+ * database, since the collation may equate them with spellings the filter cannot predict.
+ * Deleted donors' emails stay in the filter as false positives until the next rebuild.</p>
+ *
+ * <p>Lookups read the filter without locking. Writers serialise on the filter; a rebuild
+ * sizes a new one from the donor count and writes arriving meanwhile go to both.</p>
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private final double falsePositiveRate;
+    private final double headroom;
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositive;
+
+    private volatile BloomFilter filter;
+
+    // The filter a running rebuild is filling; guarded by this
+    private BloomFilter building;
+
+    public RegisteredEmailFilter(MeterRegistry meterRegistry,
+                                 @Value("${email.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${email.filter.headroom:1.5}") double headroom) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("email.filter.false-positive-rate must be in (0, 1)");
+        }
+        if (headroom < 1) {
+            throw new IllegalArgumentException("email.filter.headroom must be at least 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.headroom = headroom;
+        this.absent = counter(meterRegistry, "absent");
+        this.present = counter(meterRegistry, "present");
+        this.falsePositive = counter(meterRegistry, "false-positive");
+        Gauge.builder("email.filter.expected-false-positive-rate", this, RegisteredEmailFilter::expectedFalsePositiveRate)
+                .description("False-positive rate the registered email filter's fill ratio predicts")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.entries", this, RegisteredEmailFilter::entries)
+                .description("Emails added to the registered email filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a donor with this email exists, asking {@code database} only if the filter
+     * cannot rule it out.
+     */
+    public boolean exists(String email, Predicate<String> database) {
+        if (!mightBeRegistered(email)) {
+            absent.increment();
+            return false;
+        }
+        boolean found = database.test(email);
+        (found ? present : falsePositive).increment();
+        return found;
+    }
+
+    /**
+     * The donor with this email, asking {@code database} only if the filter cannot rule it out.
+     */
+    public <T> Optional<T> find(String email, Function<String, Optional<T>> database) {
+        if (!mightBeRegistered(email)) {
+            absent.increment();
+            return Optional.empty();
+        }
+        Optional<T> found = database.apply(email);
+        (found.isPresent() ? present : falsePositive).increment();
+        return found;
+    }
+
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        String key = keyOf(email);
+        return current == null || key == null || current.mightContain(key);
+    }
+
+    /**
+     * Adds a registered email. Call only once the donor has committed.
+     */
+    public synchronized void add(String email) {
+        String key = keyOf(email);
+        if (key == null) {
+            return;
+        }
+        if (filter != null) {
+            filter.put(key);
+        }
+        if (building != null) {
+            building.put(key);
+        }
+    }
+
+    /**
+     * Replaces the filter with one sized for {@code donorCount} plus headroom and filled
+     * from keyset-paged reads: {@code pageAfter} is called with the last donor id seen (0
+     * first) until it returns an empty page.
+     */
+    public long rebuild(long donorCount, LongFunction<List<DonorLookupEntry>> pageAfter) {
+        BloomFilter fresh = BloomFilter.withCapacity((long) Math.ceil(donorCount * headroom), falsePositiveRate);
+        synchronized (this) {
+            if (building != null) {
+                throw new IllegalStateException("A rebuild is already running");
+            }
+            building = fresh;
+        }
+        try {
+            long afterId = 0;
+            List<DonorLookupEntry> page;
+            while (!(page = pageAfter.apply(afterId)).isEmpty()) {
+                for (DonorLookupEntry entry : page) {
+                    String key = keyOf(entry.getEmail());
+                    if (key != null) {
+                        fresh.put(key);
+                    }
+                }
+                afterId = page.get(page.size() - 1).getDonorId();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            building = null;
+            filter = fresh;
+        }
+        return fresh.entries();
+    }
+
+    public boolean isLoaded() {
+        return filter != null;
+    }
+
+    /**
+     * Whether the filter holds more emails than it was sized for and should be rebuilt.
+     */
+    public boolean isOverCapacity() {
+        BloomFilter current = filter;
+        return current != null && current.entries() > current.capacity();
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 0;
+    }
+
+    public long entries() {
+        BloomFilter current = filter;
+        return current != null ? current.entries() : 0;
+    }
+
+    public long sizeInBytes() {
+        BloomFilter current = filter;
+        return current != null ? current.sizeInBytes() : 0;
+    }
+
+    public int hashCount() {
+        BloomFilter current = filter;
+        return current != null ? current.hashCount() : 0;
+    }
+
+    // Null for emails the filter must not answer for
+    private static String keyOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        for (int i = 0; i < email.length(); i++) {
+            if (email.charAt(i) > 0x7E) {
+                return null;
+            }
+        }
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.filter.checks")
+                .description("Registered email checks, by what the filter and database answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.blooddonor.registration;
+
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorChange;
+import com.blooddonor.repository.DonorChangeRepository;
+import com.blooddonor.service.DonorStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds {@link RegisteredEmailFilter} once the application is ready and rebuilds it
+ * periodically, resized to the donor count and without the emails of deleted donors.
+ *
+ * <p>Between rebuilds it follows the donor change journal from a commit sequence cursor for
+ * registrations committed on other instances. An email registered elsewhere is therefore
+ * unknown here for at most about {@code email.filter.refresh-interval-ms} plus
+ * {@code journal.sequencer.interval-ms}.</p>
+ */
+@Component
+public class RegisteredEmailFilterLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilterLoader.class);
+
+    private final DonorStore donorStore;
+    private final DonorChangeRepository donorChangeRepository;
+    private final RegisteredEmailFilter registeredEmailFilter;
+
+    @Value("${email.filter.load.batch-size:5000}")
+    private int batchSize;
+
+    // Registrations numbered above this may be missing from the filter; guarded by this
+    private Long caughtUpTo;
+
+    public RegisteredEmailFilterLoader(DonorStore donorStore, DonorChangeRepository donorChangeRepository,
+                                       RegisteredEmailFilter registeredEmailFilter) {
+        this.donorStore = donorStore;
+        this.donorChangeRepository = donorChangeRepository;
+        this.registeredEmailFilter = registeredEmailFilter;
+    }
+
+    @Order(7)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${email.filter.rebuild.interval-ms:21600000}",
+            fixedDelayString = "${email.filter.rebuild.interval-ms:21600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        // Read before the donors: anything numbered later is replayed by the next refresh
+        Long latestSeq = caughtUpTo == null ? donorChangeRepository.findLatestSeq() : null;
+        long donors = donorStore.count();
+        long emails = registeredEmailFilter.rebuild(donors,
+                afterId -> donorStore.findLookupEntriesAfter(afterId, PageRequest.of(0, batchSize)));
+        if (caughtUpTo == null) {
+            caughtUpTo = latestSeq != null ? latestSeq : 0;
+        }
+        log.info("Registered email filter built over {} emails: {} KB, {} hashes, expected false-positive rate {} in {} ms",
+                emails, registeredEmailFilter.sizeInBytes() / 1024, registeredEmailFilter.hashCount(),
+                String.format("%.5f", registeredEmailFilter.expectedFalsePositiveRate()),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds the emails of donors registered since the last refresh, on any instance, and
+     * rebuilds early once more emails were added than the filter was sized for.
+     */
+    @Scheduled(fixedDelayString = "${email.filter.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        if (caughtUpTo == null) {
+            return;
+        }
+        if (registeredEmailFilter.isOverCapacity()) {
+            log.info("Registered email filter holds more emails than it was sized for, rebuilding");
+            rebuild();
+        }
+        int added = 0;
+        while (true) {
+            List<DonorChange> page = donorChangeRepository.findByTypeAfter(DonorChange.ChangeType.CREATED, caughtUpTo,
+                    PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Long> donorIds = page.stream().map(DonorChange::getDonorId).toList();
+            for (Donor donor : donorStore.findAllById(donorIds)) {
+                registeredEmailFilter.add(donor.getEmail());
+                added++;
+            }
+            caughtUpTo = page.get(page.size() - 1).getCommitSeq();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        log.debug("Registered email filter refreshed with {} recent registrations", added);
+    }
+}
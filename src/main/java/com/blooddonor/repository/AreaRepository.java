@@ -0,0 +1,13 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.Area;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AreaRepository extends JpaRepository<Area, Integer> {
+
+    Optional<Area> findByCityIdAndNormalizedName(Integer cityId, String normalizedName);
+}
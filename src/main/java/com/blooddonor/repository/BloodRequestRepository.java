@@ -0,0 +1,14 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.BloodRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BloodRequestRepository extends JpaRepository<BloodRequest, Long> {
+
+    // Served by idx_blood_requests_status
+    List<BloodRequest> findByStatusOrderByUrgencyDescCreatedAtAsc(BloodRequest.Status status);
+}
@@ -0,0 +1,48 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.inventory.StockedUnit;
+import com.blooddonor.model.BloodUnit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BloodUnitRepository extends JpaRepository<BloodUnit, Long> {
+
+    // Keyset-paged projection for loading the in-memory stock, served by idx_blood_units_status_expiry
+    @Query("SELECT new com.blooddonor.inventory.StockedUnit(u.id, u.bloodGroup, u.component, u.expiresOn) " +
+           "FROM BloodUnit u WHERE u.status = :status AND u.expiresOn >= :today AND u.id > :afterId ORDER BY u.id")
+    List<StockedUnit> findStockedAfter(@Param("status") BloodUnit.Status status,
+                                       @Param("today") LocalDate today,
+                                       @Param("afterId") long afterId,
+                                       Pageable pageable);
+
+    List<BloodUnit> findByRequestIdOrderByExpiresOn(Long requestId);
+
+    // Takes the unit out of stock only if no one else has; 0 means it is gone
+    @Modifying
+    @Query("UPDATE BloodUnit u SET u.status = :allocated, u.requestId = :requestId, u.allocatedAt = :now " +
+           "WHERE u.id = :id AND u.status = :available")
+    int allocate(@Param("id") Long id,
+                 @Param("requestId") Long requestId,
+                 @Param("now") LocalDateTime now,
+                 @Param("available") BloodUnit.Status available,
+                 @Param("allocated") BloodUnit.Status allocated);
+
+    @Modifying
+    @Query("UPDATE BloodUnit u SET u.status = :to WHERE u.id = :id AND u.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") BloodUnit.Status from, @Param("to") BloodUnit.Status to);
+
+    @Modifying
+    @Query("UPDATE BloodUnit u SET u.status = :expired WHERE u.status = :available AND u.expiresOn < :today")
+    int expireBefore(@Param("today") LocalDate today,
+                     @Param("available") BloodUnit.Status available,
+                     @Param("expired") BloodUnit.Status expired);
+}
@@ -0,0 +1,13 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.City;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CityRepository extends JpaRepository<City, Integer> {
+
+    Optional<City> findByNormalizedName(String normalizedName);
+}
@@ -0,0 +1,31 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.Donation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DonationRepository extends JpaRepository<Donation, Long> {
+
+    // Served by idx_donations_donor
+    List<Donation> findByDonorIdOrderByDonatedOnDesc(Long donorId);
+
+    // One query for a page of donors' histories, each donor's newest first
+    @Query("SELECT d FROM Donation d WHERE d.donorId IN :donorIds ORDER BY d.donorId, d.donatedOn DESC")
+    List<Donation> findByDonorIdIn(@Param("donorIds") Collection<Long> donorIds);
+
+    @Modifying
+    @Query("DELETE FROM Donation d WHERE d.donorId = :donorId")
+    int deleteByDonorId(@Param("donorId") Long donorId);
+
+    // Keyset page of donors with any history, for recomputing after a rule change
+    @Query("SELECT DISTINCT d.donorId FROM Donation d WHERE d.donorId > :afterId ORDER BY d.donorId")
+    List<Long> findDonorIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+}
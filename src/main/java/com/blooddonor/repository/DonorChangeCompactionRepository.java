@@ -0,0 +1,13 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.DonorChangeCompaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DonorChangeCompactionRepository extends JpaRepository<DonorChangeCompaction, Long> {
+
+    @Query("SELECT MAX(c.tombstonesThroughSeq) FROM DonorChangeCompaction c")
+    Long findTombstoneHorizon();
+}
@@ -0,0 +1,64 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.DonorChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DonorChangeRepository extends JpaRepository<DonorChange, Long> {
+
+    // Only numbered entries: a number is assigned after commit, so none appears behind a cursor
+    @Query("SELECT c FROM DonorChange c WHERE c.commitSeq > :since ORDER BY c.commitSeq")
+    List<DonorChange> findChangesAfter(@Param("since") long since, Pageable pageable);
+
+    @Query("SELECT c FROM DonorChange c WHERE c.changeType = :type AND c.commitSeq > :since ORDER BY c.commitSeq")
+    List<DonorChange> findByTypeAfter(@Param("type") DonorChange.ChangeType type,
+                                      @Param("since") long since,
+                                      Pageable pageable);
+
+    @Query("SELECT MAX(c.commitSeq) FROM DonorChange c")
+    Long findLatestSeq();
+
+    // Committed entries still waiting for a commit sequence, in insert order
+    @Query("SELECT c FROM DonorChange c WHERE c.commitSeq IS NULL ORDER BY c.seq")
+    List<DonorChange> findUnsequenced(Pageable pageable);
+
+    @Query(value = "SELECT last_seq FROM donor_change_sequence WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    long lockLastCommitSeq();
+
+    @Modifying
+    @Query(value = "UPDATE donor_change_sequence SET last_seq = :lastSeq WHERE id = 1", nativeQuery = true)
+    int updateLastCommitSeq(@Param("lastSeq") long lastSeq);
+
+    // Entries followed by a newer entry for the same donor carry nothing a client still needs
+    @Query("SELECT c FROM DonorChange c WHERE c.changedAt < :cutoff AND EXISTS " +
+           "(SELECT n.seq FROM DonorChange n WHERE n.donorId = c.donorId AND n.commitSeq > c.commitSeq) " +
+           "ORDER BY c.seq")
+    List<DonorChange> findSupersededBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT c FROM DonorChange c WHERE c.changeType = :type AND c.changedAt < :cutoff " +
+           "AND c.commitSeq IS NOT NULL ORDER BY c.seq")
+    List<DonorChange> findByTypeBefore(@Param("type") DonorChange.ChangeType type,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DonorChange c WHERE c.seq IN :seqs")
+    int deleteBySeqIn(@Param("seqs") Collection<Long> seqs);
+
+    // Journals donors written outside DonorService (bulk imports, seeding) as created
+    @Modifying
+    @Query(value = "INSERT INTO donor_changes (donor_id, change_type, changed_at) " +
+                   "SELECT d.id, 0, CURRENT_TIMESTAMP FROM donors d WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM donor_changes c WHERE c.donor_id = d.id) ORDER BY d.id",
+           nativeQuery = true)
+    int journalUnrecordedDonors();
+}
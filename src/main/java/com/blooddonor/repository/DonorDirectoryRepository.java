@@ -0,0 +1,48 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.DonorDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DonorDirectoryRepository extends JpaRepository<DonorDirectoryEntry, Long> {
+
+    Optional<DonorDirectoryEntry> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query("SELECT e.shardId FROM DonorDirectoryEntry e WHERE e.donorId = :donorId")
+    Optional<Integer> findShardByDonorId(@Param("donorId") Long donorId);
+
+    // Plain insert: the key is assigned, so save() would select before every insert
+    @Modifying
+    @Query(value = "INSERT INTO donor_directory (donor_id, email, shard_id) VALUES (:donorId, :email, :shardId)",
+           nativeQuery = true)
+    int insert(@Param("donorId") Long donorId, @Param("email") String email, @Param("shardId") int shardId);
+
+    @Modifying
+    @Query("UPDATE DonorDirectoryEntry e SET e.shardId = :shardId WHERE e.donorId = :donorId")
+    int updateShard(@Param("donorId") Long donorId, @Param("shardId") int shardId);
+
+    @Modifying
+    @Query("DELETE FROM DonorDirectoryEntry e WHERE e.donorId = :donorId")
+    int deleteByDonorId(@Param("donorId") Long donorId);
+
+    // Registers home-shard donors written while sharding was off and forgets deleted ones
+    @Modifying
+    @Query(value = "INSERT INTO donor_directory (donor_id, email, shard_id) SELECT d.id, d.email, 0 FROM donors d " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM donor_directory e WHERE e.donor_id = d.id)",
+           nativeQuery = true)
+    int registerHomeDonors();
+
+    @Modifying
+    @Query(value = "DELETE FROM donor_directory WHERE shard_id = 0 AND NOT EXISTS " +
+                   "(SELECT 1 FROM donors d WHERE d.id = donor_directory.donor_id)",
+           nativeQuery = true)
+    int forgetMissingHomeDonors();
+}
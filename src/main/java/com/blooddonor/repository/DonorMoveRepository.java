@@ -0,0 +1,35 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.DonorMove;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DonorMoveRepository extends JpaRepository<DonorMove, Long> {
+
+    // Plain insert: the key is assigned, so save() would select before every insert
+    @Modifying
+    @Query(value = "INSERT INTO donor_moves (donor_id, source_shard, target_shard, started_at) " +
+                   "VALUES (:donorId, :sourceShard, :targetShard, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int insert(@Param("donorId") Long donorId, @Param("sourceShard") Integer sourceShard,
+               @Param("targetShard") Integer targetShard);
+
+    // Waits while the transaction doing the move still holds it
+    @Query(value = "SELECT * FROM donor_moves WHERE donor_id = :donorId FOR UPDATE", nativeQuery = true)
+    Optional<DonorMove> lockByDonorId(@Param("donorId") Long donorId);
+
+    @Query("SELECT m.donorId FROM DonorMove m WHERE m.donorId > :afterId ORDER BY m.donorId")
+    List<Long> findDonorIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DonorMove m WHERE m.donorId = :donorId")
+    int deleteByDonorId(@Param("donorId") Long donorId);
+}
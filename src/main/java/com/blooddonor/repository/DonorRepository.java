@@ -1,9 +1,21 @@
 package com.blooddonor.repository;
 
+import com.blooddonor.autocomplete.PlaceCount;
+import com.blooddonor.broadcast.BroadcastRecipient;
+import com.blooddonor.geo.DonorLocation;
+import com.blooddonor.lookup.DonorLookupEntry;
+import com.blooddonor.model.BloodGroup;
 import com.blooddonor.model.Donor;
+import com.blooddonor.statistics.DonorCountRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,19 +24,77 @@ public interface DonorRepository extends JpaRepository<Donor, Long> {
 
     Optional<Donor> findByEmail(String email);
 
-    List<Donor> findByBloodGroupAndCity(String bloodGroup, String city);
+    List<Donor> findByBloodGroupAndCityId(BloodGroup bloodGroup, Integer cityId);
 
-    List<Donor> findByBloodGroupAndCityAndAvailabilityStatus(
-            String bloodGroup, 
-            String city, 
+    List<Donor> findByBloodGroupAndCityIdAndAvailabilityStatus(
+            BloodGroup bloodGroup,
+            Integer cityId,
             Donor.AvailabilityStatus status
     );
 
-    List<Donor> findByCity(String city);
+    List<Donor> findByCityId(Integer cityId);
 
-    List<Donor> findByBloodGroup(String bloodGroup);
+    // Range on the last column of idx_donors_city_group_eligible; NULL sorts first, so the
+    // never-donated donors are part of the same index range
+    @Query("SELECT d FROM Donor d WHERE d.cityId = :cityId AND d.bloodGroup = :bloodGroup " +
+           "AND (d.nextEligibleDate IS NULL OR d.nextEligibleDate <= :date) AND d.availabilityStatus = :status")
+    List<Donor> findEligibleByBloodGroupAndCityId(@Param("bloodGroup") BloodGroup bloodGroup,
+                                                  @Param("cityId") Integer cityId,
+                                                  @Param("date") LocalDate date,
+                                                  @Param("status") Donor.AvailabilityStatus status);
+
+    // Donors a blood request may reserve: a lapsed reserved_until frees a donor without any write
+    @Query("SELECT d FROM Donor d WHERE d.cityId = :cityId AND d.bloodGroup IN :bloodGroups " +
+           "AND (d.nextEligibleDate IS NULL OR d.nextEligibleDate <= :date) AND d.availabilityStatus = :status " +
+           "AND d.isVerified = true AND (d.reservedUntil IS NULL OR d.reservedUntil < :now)")
+    List<Donor> findReservationCandidates(@Param("cityId") Integer cityId,
+                                          @Param("bloodGroups") Collection<BloodGroup> bloodGroups,
+                                          @Param("date") LocalDate date,
+                                          @Param("status") Donor.AvailabilityStatus status,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    List<Donor> findByBloodGroup(BloodGroup bloodGroup);
     
     boolean existsByEmail(String email);
 
     List<Donor> findByIsVerifiedTrue();
+
+    // Keyset paging: cost does not grow with depth, and stays exact when merged across shards
+    @Query("SELECT d FROM Donor d WHERE d.id > :afterId ORDER BY d.id")
+    List<Donor> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset-paged projection for loading the geo index without hydrating entities
+    @Query("SELECT new com.blooddonor.geo.DonorLocation(d.id, d.latitude, d.longitude, d.bloodGroup, d.availabilityStatus) " +
+           "FROM Donor d WHERE d.id > :afterId AND d.latitude IS NOT NULL AND d.longitude IS NOT NULL ORDER BY d.id")
+    List<DonorLocation> findLocationsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset-paged projection for loading the lookup index without hydrating entities
+    @Query("SELECT new com.blooddonor.lookup.DonorLookupEntry(d.id, d.name, d.email, d.phone) " +
+           "FROM Donor d WHERE d.id > :afterId ORDER BY d.id")
+    List<DonorLookupEntry> findLookupEntriesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.blooddonor.autocomplete.PlaceCount(d.city, d.area, COUNT(d)) FROM Donor d GROUP BY d.city, d.area")
+    List<PlaceCount> countByCityAndArea();
+
+    // Keyset page of emergency broadcast recipients; each page is a short query on its own connection
+    @Query("SELECT new com.blooddonor.broadcast.BroadcastRecipient(d.id, d.email, d.name) FROM Donor d " +
+           "WHERE d.cityId IN :cityIds AND d.bloodGroup IN :bloodGroups AND d.availabilityStatus = :status " +
+           "AND d.isVerified = true AND d.id > :afterId ORDER BY d.id")
+    List<BroadcastRecipient> findBroadcastRecipients(@Param("cityIds") Collection<Integer> cityIds,
+                                                     @Param("bloodGroups") Collection<BloodGroup> bloodGroups,
+                                                     @Param("status") Donor.AvailabilityStatus status,
+                                                     @Param("afterId") long afterId,
+                                                     Pageable pageable);
+
+    // Reconciliation source for the in-memory donor statistics
+    @Query("SELECT new com.blooddonor.statistics.DonorCountRow(d.cityId, d.bloodGroup, d.availabilityStatus, COUNT(d)) " +
+           "FROM Donor d GROUP BY d.cityId, d.bloodGroup, d.availabilityStatus")
+    List<DonorCountRow> countByCityBloodGroupAndStatus();
+
+    // Geocoding backfill: keyset page of a city's donors without coordinates, or one area's
+    @Query("SELECT d FROM Donor d WHERE d.cityId = :cityId AND (:areaId IS NULL OR d.areaId = :areaId) " +
+           "AND d.latitude IS NULL AND d.id > :afterId ORDER BY d.id")
+    List<Donor> findMissingCoordinates(@Param("cityId") Integer cityId, @Param("areaId") Integer areaId,
+                                       @Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.DonorReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DonorReservationRepository extends JpaRepository<DonorReservation, Long> {
+
+    List<DonorReservation> findByRequestIdOrderByReservedAtDesc(Long requestId);
+
+    // Served by idx_donor_reservations_request
+    List<DonorReservation> findByRequestIdAndStatus(Long requestId, DonorReservation.Status status);
+
+    // Served by idx_donor_reservations_expiry
+    List<DonorReservation> findByStatusAndExpiresAtBefore(DonorReservation.Status status, LocalDateTime time,
+                                                          Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.GeoLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GeoLocationRepository extends JpaRepository<GeoLocation, Long> {
+
+    Optional<GeoLocation> findByCityIgnoreCaseAndAreaIgnoreCase(String city, String area);
+
+    Optional<GeoLocation> findByCityIgnoreCaseAndAreaIsNull(String city);
+}
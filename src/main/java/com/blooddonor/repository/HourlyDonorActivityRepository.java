@@ -0,0 +1,35 @@
+package com.blooddonor.repository;
+
+import com.blooddonor.model.HourlyDonorActivity;
+import com.blooddonor.statistics.ActivityCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HourlyDonorActivityRepository extends JpaRepository<HourlyDonorActivity, Long> {
+
+    // Adds to the bucket's count, creating the row on first use; concurrent instances just add up
+    @Modifying
+    @Query(value = "INSERT INTO donor_activity_hourly (city_id, activity_type, bucket_start, event_count) " +
+                   "VALUES (:cityId, :activityType, :bucketStart, :count) " +
+                   "ON DUPLICATE KEY UPDATE event_count = event_count + :count", nativeQuery = true)
+    int add(@Param("cityId") int cityId, @Param("activityType") byte activityType,
+            @Param("bucketStart") LocalDateTime bucketStart, @Param("count") long count);
+
+    @Query("SELECT new com.blooddonor.statistics.ActivityCount(a.bucketStart, a.activityType, SUM(a.eventCount)) " +
+           "FROM HourlyDonorActivity a WHERE a.bucketStart >= :from AND a.bucketStart < :to " +
+           "GROUP BY a.bucketStart, a.activityType")
+    List<ActivityCount> sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.blooddonor.statistics.ActivityCount(a.bucketStart, a.activityType, SUM(a.eventCount)) " +
+           "FROM HourlyDonorActivity a WHERE a.cityId = :cityId AND a.bucketStart >= :from AND a.bucketStart < :to " +
+           "GROUP BY a.bucketStart, a.activityType")
+    List<ActivityCount> sumBetweenForCity(@Param("cityId") int cityId, @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+}
@@ -1,5 +1,6 @@
 package com.blooddonor.security;
 
+import com.blooddonor.monitoring.RequestTiming;
 import com.blooddonor.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -41,6 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
+        long start = System.nanoTime();
         
         try {
             userEmail = jwtService.extractUsername(jwt);
@@ -63,6 +65,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.warn("JWT authentication failed: {}", e.getMessage());
             SecurityContextHolder.clearContext();
         }
+        RequestTiming.record(RequestTiming.Phase.AUTH, System.nanoTime() - start);
         
         filterChain.doFilter(request, response);
     }
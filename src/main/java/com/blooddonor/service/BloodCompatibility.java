@@ -0,0 +1,40 @@
+package com.blooddonor.service;
+
+import com.blooddonor.model.BloodGroup;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Red cell compatibility: which donor blood groups a recipient can receive from.
+ */
+public final class BloodCompatibility {
+
+    private static final Map<BloodGroup, Set<BloodGroup>> DONORS_FOR_RECIPIENT = new EnumMap<>(BloodGroup.class);
+
+    static {
+        DONORS_FOR_RECIPIENT.put(BloodGroup.O_NEGATIVE, EnumSet.of(BloodGroup.O_NEGATIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.O_POSITIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.O_POSITIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.A_NEGATIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.A_NEGATIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.A_POSITIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.O_POSITIVE,
+                BloodGroup.A_NEGATIVE, BloodGroup.A_POSITIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.B_NEGATIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.B_NEGATIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.B_POSITIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.O_POSITIVE,
+                BloodGroup.B_NEGATIVE, BloodGroup.B_POSITIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.AB_NEGATIVE, EnumSet.of(BloodGroup.O_NEGATIVE, BloodGroup.A_NEGATIVE,
+                BloodGroup.B_NEGATIVE, BloodGroup.AB_NEGATIVE));
+        DONORS_FOR_RECIPIENT.put(BloodGroup.AB_POSITIVE, EnumSet.allOf(BloodGroup.class));
+    }
+
+    private BloodCompatibility() {
+    }
+
+    /**
+     * Donor groups whose red cells a recipient of {@code recipientGroup} can receive.
+     */
+    public static Set<BloodGroup> compatibleDonorGroups(BloodGroup recipientGroup) {
+        return EnumSet.copyOf(DONORS_FOR_RECIPIENT.get(recipientGroup));
+    }
+}
@@ -0,0 +1,434 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.BloodRequestCreateRequest;
+import com.blooddonor.matching.MatchingQueue;
+import com.blooddonor.matching.MatchingTicket;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.BloodRequest;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorReservation;
+import com.blooddonor.repository.BloodRequestRepository;
+import com.blooddonor.repository.DonorReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserves donors for hospital blood requests, most urgent request first.
+ *
+ * <p>Open requests wait in a {@link MatchingQueue}; worker threads take the top one, read a
+ * shuffled batch of eligible, unreserved donors of compatible groups and hold them one by
+ * one. A hold is a write of {@code reserved_until} on the donor row under its
+ * {@code @Version}, so two matchers (or an admin edit) racing for the same donor cannot
+ * both win: the loser gets an optimistic locking failure and moves on to the next
+ * candidate. No row is ever locked. The request's unit counters are versioned the same
+ * way, and every reservation state change goes through them.</p>
+ *
+ * <p>A hold lapses by itself once {@code reserved_until} has passed; the candidate query
+ * treats such donors as free. The expiry sweep only brings the reservation rows and the
+ * request's counters up to date and puts the request back in the queue.</p>
+ */
+@Service
+public class BloodRequestMatchingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BloodRequestMatchingService.class);
+
+    private static final long POLL_MILLIS = 500;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final BloodRequestRepository bloodRequestRepository;
+    private final DonorReservationRepository reservationRepository;
+    private final DonorStore donorStore;
+    private final LocationDictionary locationDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingQueue queue = new MatchingQueue();
+    private final ExecutorService executor;
+    private final int workers;
+
+    @Value("${matching.reservation-ttl-minutes:30}")
+    private long reservationTtlMinutes;
+
+    @Value("${matching.confirmed-hold-hours:24}")
+    private long confirmedHoldHours;
+
+    @Value("${matching.candidates-per-unit:4}")
+    private int candidatesPerUnit;
+
+    @Value("${matching.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+
+    @Value("${matching.expiry.batch-size:500}")
+    private int expiryBatchSize;
+
+    public BloodRequestMatchingService(BloodRequestRepository bloodRequestRepository,
+                                       DonorReservationRepository reservationRepository, DonorStore donorStore,
+                                       LocationDictionary locationDictionary,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${matching.workers:2}") int workers) {
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.reservationRepository = reservationRepository;
+        this.donorStore = donorStore;
+        this.locationDictionary = locationDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "matching-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues every request left open by the previous run, then starts the workers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(4)
+    public void start() {
+        List<BloodRequest> open = bloodRequestRepository.findByStatusOrderByUrgencyDescCreatedAtAsc(BloodRequest.Status.OPEN);
+        open.forEach(queue::offer);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        log.info("Blood request matching started with {} workers, {} open requests queued", workers, open.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        queue.shutdown();
+    }
+
+    @Transactional
+    public BloodRequest createRequest(BloodRequestCreateRequest request) {
+        BloodRequest.Urgency urgency;
+        try {
+            urgency = BloodRequest.Urgency.valueOf(request.getUrgency().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown urgency: " + request.getUrgency());
+        }
+        Integer cityId = locationDictionary.findCityId(request.getCity())
+                .orElseThrow(() -> new RuntimeException("No donors registered in " + request.getCity()));
+
+        BloodRequest bloodRequest = new BloodRequest();
+        bloodRequest.setHospital(request.getHospital());
+        bloodRequest.setBloodGroup(BloodGroup.fromLabel(request.getBloodGroup()));
+        bloodRequest.setCityId(cityId);
+        bloodRequest.setCity(locationDictionary.getCityName(cityId).orElse(request.getCity()));
+        bloodRequest.setUnitsNeeded(request.getUnitsNeeded());
+        bloodRequest.setUrgency(urgency);
+        bloodRequest.setNeededBy(request.getNeededBy());
+        BloodRequest saved = bloodRequestRepository.save(bloodRequest);
+        afterCommit(() -> queue.offer(saved));
+        log.info("Blood request {} created: {} units of {} in {} ({})", saved.getId(), saved.getUnitsNeeded(),
+                saved.getBloodGroup().getLabel(), saved.getCity(), urgency);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public BloodRequest getRequest(Long id) {
+        return bloodRequestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blood request not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BloodRequest> getRequests(BloodRequest.Status status) {
+        return bloodRequestRepository.findByStatusOrderByUrgencyDescCreatedAtAsc(status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DonorReservation> getReservations(Long requestId) {
+        getRequest(requestId);
+        return reservationRepository.findByRequestIdOrderByReservedAtDesc(requestId);
+    }
+
+    public int getQueuedRequests() {
+        return queue.size();
+    }
+
+    /**
+     * The donor has agreed to donate: the reservation is confirmed and the donor stays held
+     * for {@code matching.confirmed-hold-hours}. Once enough donors are confirmed the
+     * request is fulfilled and its remaining holds are released.
+     */
+    public BloodRequest confirmReservation(Long requestId, Long reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> released = new ArrayList<>();
+        ReservationChange change = transactionTemplate.execute(status -> {
+            BloodRequest request = getRequest(requestId);
+            DonorReservation reservation = heldReservation(request, reservationId);
+            if (!reservation.getExpiresAt().isAfter(now)) {
+                throw new RuntimeException("Reservation has expired");
+            }
+            reservation.setStatus(DonorReservation.Status.CONFIRMED);
+            request.setUnitsReserved(request.getUnitsReserved() - 1);
+            request.setUnitsConfirmed(request.getUnitsConfirmed() + 1);
+            if (request.getUnitsConfirmed() >= request.getUnitsNeeded()) {
+                request.setStatus(BloodRequest.Status.FULFILLED);
+                released.addAll(releaseHeld(request));
+            }
+            return new ReservationChange(request, reservation.getDonorId());
+        });
+        updateHold(change.donorId, requestId, now.plusHours(confirmedHoldHours));
+        released.forEach(donorId -> updateHold(donorId, requestId, null));
+        log.info("Reservation {} of blood request {} confirmed", reservationId, requestId);
+        return change.request;
+    }
+
+    /**
+     * The donor declined or cannot be reached; the unit goes back to matching.
+     */
+    public BloodRequest releaseReservation(Long requestId, Long reservationId) {
+        ReservationChange change = transactionTemplate.execute(status -> {
+            BloodRequest request = getRequest(requestId);
+            DonorReservation reservation = heldReservation(request, reservationId);
+            reservation.setStatus(DonorReservation.Status.RELEASED);
+            request.setUnitsReserved(request.getUnitsReserved() - 1);
+            return new ReservationChange(request, reservation.getDonorId());
+        });
+        updateHold(change.donorId, requestId, null);
+        queue.offer(change.request);
+        log.info("Reservation {} of blood request {} released", reservationId, requestId);
+        return change.request;
+    }
+
+    public BloodRequest cancelRequest(Long requestId) {
+        List<Long> released = new ArrayList<>();
+        BloodRequest cancelled = transactionTemplate.execute(status -> {
+            BloodRequest request = getRequest(requestId);
+            if (request.getStatus() != BloodRequest.Status.OPEN) {
+                throw new RuntimeException("Blood request is already " + request.getStatus());
+            }
+            request.setStatus(BloodRequest.Status.CANCELLED);
+            released.addAll(releaseHeld(request));
+            // Confirmed donors are no longer needed either
+            reservationRepository.findByRequestIdAndStatus(requestId, DonorReservation.Status.CONFIRMED)
+                    .forEach(reservation -> released.add(reservation.getDonorId()));
+            return request;
+        });
+        released.forEach(donorId -> updateHold(donorId, requestId, null));
+        log.info("Blood request {} cancelled, {} donors released", requestId, released.size());
+        return cancelled;
+    }
+
+    /**
+     * Marks lapsed holds as expired and requeues their requests. Donors are already free
+     * for matching by then; a sweep that loses a race with a confirmation skips that row.
+     */
+    @Scheduled(fixedDelayString = "${matching.expiry.interval-ms:30000}")
+    public void expireReservations() {
+        List<DonorReservation> lapsed = reservationRepository.findByStatusAndExpiresAtBefore(
+                DonorReservation.Status.HELD, LocalDateTime.now(), PageRequest.of(0, expiryBatchSize));
+        int expired = 0;
+        for (DonorReservation candidate : lapsed) {
+            try {
+                BloodRequest request = transactionTemplate.execute(status -> {
+                    DonorReservation reservation = reservationRepository.findById(candidate.getId()).orElse(null);
+                    if (reservation == null || reservation.getStatus() != DonorReservation.Status.HELD) {
+                        return null;
+                    }
+                    reservation.setStatus(DonorReservation.Status.EXPIRED);
+                    BloodRequest owner = getRequest(reservation.getRequestId());
+                    owner.setUnitsReserved(owner.getUnitsReserved() - 1);
+                    return owner;
+                });
+                if (request != null) {
+                    expired++;
+                    if (request.getStatus() == BloodRequest.Status.OPEN) {
+                        queue.offer(request);
+                    }
+                }
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Reservation {} changed during expiry, left for the next sweep", candidate.getId());
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} donor reservations", expired);
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            MatchingTicket ticket;
+            try {
+                ticket = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (ticket == null) {
+                continue;
+            }
+            try {
+                if (!match(ticket.getRequestId())) {
+                    queue.offerLater(ticket, retryDelaySeconds);
+                }
+            } catch (RuntimeException e) {
+                log.error("Matching failed for blood request {}", ticket.getRequestId(), e);
+                queue.offerLater(ticket, retryDelaySeconds);
+            }
+        }
+    }
+
+    // True when the request needs nothing more from matching
+    private boolean match(long requestId) {
+        BloodRequest request = bloodRequestRepository.findById(requestId).orElse(null);
+        if (request == null || request.getStatus() != BloodRequest.Status.OPEN || request.getUnitsOpen() == 0) {
+            return true;
+        }
+        int wanted = request.getUnitsOpen();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(reservationTtlMinutes);
+
+        // Shuffled so that matchers working on the same city rarely race for the same donor;
+        // exact-group donors first so O- donors stay free for requests only they can serve
+        List<Donor> candidates = new ArrayList<>(donorStore.findReservationCandidates(request.getCityId(),
+                BloodCompatibility.compatibleDonorGroups(request.getBloodGroup()), now.toLocalDate(),
+                Donor.AvailabilityStatus.AVAILABLE, now, PageRequest.of(0, wanted * candidatesPerUnit)));
+        Collections.shuffle(candidates);
+        candidates.sort(Comparator.comparing(donor -> donor.getBloodGroup() != request.getBloodGroup()));
+
+        int reserved = 0;
+        int conflicts = 0;
+        for (Donor donor : candidates) {
+            if (reserved == wanted) {
+                break;
+            }
+            if (!holdDonor(donor, requestId, now, until)) {
+                conflicts++;
+                continue;
+            }
+            if (!recordReservation(requestId, donor.getId(), now, until)) {
+                // Filled or closed by someone else meanwhile
+                updateHold(donor.getId(), requestId, null);
+                return true;
+            }
+            reserved++;
+        }
+        log.debug("Blood request {}: reserved {} of {} units from {} candidates, {} lost to concurrent writes",
+                requestId, reserved, wanted, candidates.size(), conflicts);
+        return reserved == wanted;
+    }
+
+    // The candidate row carries the version it was read with; saving it fails if anything wrote the donor since
+    private boolean holdDonor(Donor donor, Long requestId, LocalDateTime now, LocalDateTime until) {
+        if (donor.isReservedAt(now)) {
+            return false;
+        }
+        donor.setReservedUntil(until);
+        donor.setReservedForRequest(requestId);
+        try {
+            donorStore.save(donor);
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            return false;
+        }
+    }
+
+    private boolean recordReservation(Long requestId, Long donorId, LocalDateTime now, LocalDateTime until) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    BloodRequest request = bloodRequestRepository.findById(requestId).orElse(null);
+                    if (request == null || request.getStatus() != BloodRequest.Status.OPEN
+                            || request.getUnitsOpen() == 0) {
+                        return false;
+                    }
+                    request.setUnitsReserved(request.getUnitsReserved() + 1);
+                    reservationRepository.save(new DonorReservation(requestId, donorId, now, until));
+                    return true;
+                }));
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Blood request {} changed while recording a reservation, attempt {}", requestId, attempt);
+            }
+        }
+        return false;
+    }
+
+    // Moves or clears (until == null) a donor's hold, provided it is still this request's
+    private void updateHold(Long donorId, Long requestId, LocalDateTime until) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Donor donor = donorStore.findById(donorId).orElse(null);
+            if (donor == null || !Objects.equals(donor.getReservedForRequest(), requestId)) {
+                return;
+            }
+            donor.setReservedUntil(until);
+            donor.setReservedForRequest(until != null ? requestId : null);
+            try {
+                donorStore.save(donor);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Donor {} changed while updating its hold, attempt {}", donorId, attempt);
+            }
+        }
+        log.warn("Could not update the hold of donor {} for blood request {}", donorId, requestId);
+    }
+
+    private DonorReservation heldReservation(BloodRequest request, Long reservationId) {
+        DonorReservation reservation = reservationRepository.findById(reservationId)
+                .filter(found -> found.getRequestId().equals(request.getId()))
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        if (reservation.getStatus() != DonorReservation.Status.HELD) {
+            throw new RuntimeException("Reservation is already " + reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    // Releases the request's outstanding holds; returns the donors to free once committed
+    private List<Long> releaseHeld(BloodRequest request) {
+        List<DonorReservation> held = reservationRepository.findByRequestIdAndStatus(
+                request.getId(), DonorReservation.Status.HELD);
+        held.forEach(reservation -> reservation.setStatus(DonorReservation.Status.RELEASED));
+        request.setUnitsReserved(request.getUnitsReserved() - held.size());
+        return held.stream().map(DonorReservation::getDonorId).toList();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class ReservationChange {
+
+        private final BloodRequest request;
+        private final Long donorId;
+
+        private ReservationChange(BloodRequest request, Long donorId) {
+            this.request = request;
+            this.donorId = donorId;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.BloodUnitAllocationRequest;
+import com.blooddonor.dto.BloodUnitRequest;
+import com.blooddonor.inventory.BloodUnitInventory;
+import com.blooddonor.inventory.StockLevel;
+import com.blooddonor.inventory.StockedUnit;
+import com.blooddonor.inventory.UnitStock;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.BloodUnit;
+import com.blooddonor.repository.BloodRequestRepository;
+import com.blooddonor.repository.BloodUnitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Blood bank inventory. Units are allocated first-expiry-first-out from the in-memory
+ * {@link BloodUnitInventory}: the stock hands out the unit expiring soonest in O(log n) and
+ * a conditional update takes it out of the table. A unit another instance got to first
+ * simply fails that update and the next one is tried.
+ *
+ * <p>Units added on another instance reach this one's stock at the next rebuild
+ * ({@code inventory.rebuild.interval-ms}); until then they are only allocated there.</p>
+ */
+@Service
+public class BloodUnitService {
+
+    private static final Logger log = LoggerFactory.getLogger(BloodUnitService.class);
+
+    private final BloodUnitRepository bloodUnitRepository;
+    private final BloodRequestRepository bloodRequestRepository;
+    private final BloodUnitInventory inventory;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.load.batch-size:5000}")
+    private int loadBatchSize;
+
+    public BloodUnitService(BloodUnitRepository bloodUnitRepository, BloodRequestRepository bloodRequestRepository,
+                            BloodUnitInventory inventory, PlatformTransactionManager transactionManager) {
+        this.bloodUnitRepository = bloodUnitRepository;
+        this.bloodRequestRepository = bloodRequestRepository;
+        this.inventory = inventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Order(5)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        int units = rebuild();
+        log.info("Blood unit inventory loaded {} available units in {} ms", units, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads the stock from the table, picking up units added or allocated by other instances.
+     */
+    @Scheduled(initialDelayString = "${inventory.rebuild.interval-ms:300000}",
+            fixedDelayString = "${inventory.rebuild.interval-ms:300000}")
+    public int rebuild() {
+        LocalDate today = LocalDate.now();
+        return inventory.rebuild(afterId -> bloodUnitRepository.findStockedAfter(BloodUnit.Status.AVAILABLE, today,
+                afterId, PageRequest.of(0, loadBatchSize)));
+    }
+
+    @Transactional
+    public BloodUnit addUnit(BloodUnitRequest request) {
+        BloodUnit.Component component = component(request.getComponent());
+        LocalDate today = LocalDate.now();
+        if (request.getCollectedOn().isAfter(today)) {
+            throw new RuntimeException("Collection date cannot be in the future");
+        }
+        LocalDate expiresOn = request.getExpiresOn() != null
+                ? request.getExpiresOn()
+                : request.getCollectedOn().plusDays(component.getShelfLifeDays());
+        if (expiresOn.isBefore(today)) {
+            throw new RuntimeException("Unit has already expired");
+        }
+
+        BloodUnit unit = new BloodUnit();
+        unit.setBloodGroup(BloodGroup.fromLabel(request.getBloodGroup()));
+        unit.setComponent(component);
+        unit.setDonorId(request.getDonorId());
+        unit.setCollectedOn(request.getCollectedOn());
+        unit.setExpiresOn(expiresOn);
+        BloodUnit saved = bloodUnitRepository.save(unit);
+        StockedUnit stocked = StockedUnit.of(saved);
+        afterCommit(() -> inventory.add(stocked));
+        log.info("Blood unit {} added: {} {} expiring {}", saved.getId(), saved.getBloodGroup().getLabel(),
+                component, expiresOn);
+        return saved;
+    }
+
+    /**
+     * Allocates the requested number of units of one group and component, soonest expiry
+     * first. All or nothing: if stock runs out part way, the units taken go back.
+     */
+    public List<BloodUnit> allocate(BloodUnitAllocationRequest request) {
+        if (!inventory.isLoaded()) {
+            throw new RuntimeException("Inventory is still loading, try again shortly");
+        }
+        BloodGroup bloodGroup = BloodGroup.fromLabel(request.getBloodGroup());
+        BloodUnit.Component component = component(request.getComponent());
+        if (request.getRequestId() != null && !bloodRequestRepository.existsById(request.getRequestId())) {
+            throw new RuntimeException("Blood request not found");
+        }
+        UnitStock stock = inventory.stock(bloodGroup, component);
+        int wanted = request.getUnits();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<StockedUnit> taken = new ArrayList<>(wanted);
+        List<Long> allocated = new ArrayList<>(wanted);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                while (allocated.size() < wanted) {
+                    StockedUnit unit = stock.pollUsable(today);
+                    if (unit == null) {
+                        throw new RuntimeException("Only " + allocated.size() + " " + bloodGroup.getLabel() + " "
+                                + component + " units in stock, " + wanted + " requested");
+                    }
+                    // 0 rows: allocated, discarded or expired elsewhere, so it stays out of stock
+                    if (bloodUnitRepository.allocate(unit.getId(), request.getRequestId(), now,
+                            BloodUnit.Status.AVAILABLE, BloodUnit.Status.ALLOCATED) == 1) {
+                        taken.add(unit);
+                        allocated.add(unit.getId());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            taken.forEach(stock::add);
+            throw e;
+        }
+        log.info("Allocated {} {} {} units{}", wanted, bloodGroup.getLabel(), component,
+                request.getRequestId() != null ? " to blood request " + request.getRequestId() : "");
+        return bloodUnitRepository.findAllById(allocated).stream()
+                .sorted(Comparator.comparing(BloodUnit::getExpiresOn).thenComparing(BloodUnit::getId))
+                .toList();
+    }
+
+    @Transactional
+    public void discardUnit(Long id) {
+        BloodUnit unit = bloodUnitRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blood unit not found"));
+        if (bloodUnitRepository.updateStatus(id, BloodUnit.Status.AVAILABLE, BloodUnit.Status.DISCARDED) == 0) {
+            throw new RuntimeException("Blood unit is not in stock");
+        }
+        StockedUnit stocked = StockedUnit.of(unit);
+        afterCommit(() -> inventory.remove(stocked));
+        log.info("Blood unit {} discarded", id);
+    }
+
+    @Transactional(readOnly = true)
+    public BloodUnit getUnit(Long id) {
+        return bloodUnitRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Blood unit not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BloodUnit> getUnitsForRequest(Long requestId) {
+        return bloodUnitRepository.findByRequestIdOrderByExpiresOn(requestId);
+    }
+
+    public List<StockLevel> getStockLevels() {
+        return inventory.snapshot();
+    }
+
+    /**
+     * Marks units past their expiry date as expired, in the table and in the stock.
+     */
+    @Scheduled(fixedDelayString = "${inventory.expiry.interval-ms:60000}")
+    public void expireUnits() {
+        LocalDate today = LocalDate.now();
+        int removed = inventory.removeExpired(today);
+        Integer expired = transactionTemplate.execute(status ->
+                bloodUnitRepository.expireBefore(today, BloodUnit.Status.AVAILABLE, BloodUnit.Status.EXPIRED));
+        if (expired != null && expired > 0) {
+            log.info("Expired {} blood units ({} held in stock)", expired, removed);
+        }
+    }
+
+    private static BloodUnit.Component component(String name) {
+        try {
+            return BloodUnit.Component.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown component: " + name);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
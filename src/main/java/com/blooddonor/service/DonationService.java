@@ -0,0 +1,130 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.DonationRequest;
+import com.blooddonor.model.Donation;
+import com.blooddonor.model.Donor;
+import com.blooddonor.repository.DonationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Donation history. Every change to a donor's history recomputes their next-eligible date
+ * from that donor's donations alone, so searches never look at history.
+ */
+@Service
+public class DonationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationService.class);
+
+    private final DonationRepository donationRepository;
+    private final DonorService donorService;
+    private final DonorStore donorStore;
+    private final EligibilityEngine eligibilityEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${donation.recompute.batch-size:100}")
+    private int recomputeBatchSize;
+
+    public DonationService(DonationRepository donationRepository, DonorService donorService, DonorStore donorStore,
+                           EligibilityEngine eligibilityEngine, PlatformTransactionManager transactionManager) {
+        this.donationRepository = donationRepository;
+        this.donorService = donorService;
+        this.donorStore = donorStore;
+        this.eligibilityEngine = eligibilityEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public Donation recordDonation(Long donorId, DonationRequest request) {
+        Donation.DonationType type;
+        try {
+            type = Donation.DonationType.valueOf(request.getDonationType().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown donation type: " + request.getDonationType());
+        }
+        LocalDate donatedOn = request.getDonatedOn() != null ? request.getDonatedOn() : LocalDate.now();
+        if (donatedOn.isAfter(LocalDate.now())) {
+            throw new RuntimeException("Donation date cannot be in the future");
+        }
+
+        Donor donor = donorService.getDonorById(donorId);
+        Donation donation = donationRepository.save(new Donation(donorId, type, donatedOn));
+        refreshEligibility(donor);
+        log.info("Recorded {} donation on {} for donor ID: {}, next eligible {}",
+                type, donatedOn, donorId, donor.getNextEligibleDate());
+        return donation;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Donation> getHistory(Long donorId) {
+        return donationRepository.findByDonorIdOrderByDonatedOnDesc(donorId);
+    }
+
+    /**
+     * Removes a donation recorded in error and recomputes the donor's eligibility.
+     */
+    @Transactional
+    public void deleteDonation(Long donationId) {
+        Donation donation = donationRepository.findById(donationId)
+                .orElseThrow(() -> new RuntimeException("Donation not found"));
+        donationRepository.delete(donation);
+        donorStore.findById(donation.getDonorId()).ifPresent(this::refreshEligibility);
+        log.info("Deleted donation ID: {} of donor ID: {}", donationId, donation.getDonorId());
+    }
+
+    /**
+     * Recomputes the stored date of every donor with a history, e.g. after the interval rules
+     * change. Each page of donors is its own short transaction reading all of the page's
+     * histories in one query. Returns the number of dates that moved.
+     */
+    public int recomputeAll() {
+        int changed = 0;
+        long afterId = 0;
+        List<Long> donorIds;
+        do {
+            donorIds = donationRepository.findDonorIdsAfter(afterId, PageRequest.of(0, recomputeBatchSize));
+            List<Long> page = donorIds;
+            Integer pageChanged = transactionTemplate.execute(status -> {
+                Map<Long, List<Donation>> historyByDonor = donationRepository.findByDonorIdIn(page).stream()
+                        .collect(Collectors.groupingBy(Donation::getDonorId));
+                int count = 0;
+                for (Donor donor : donorStore.findAllById(page)) {
+                    count += refreshEligibility(donor, historyByDonor.getOrDefault(donor.getId(), List.of())) ? 1 : 0;
+                }
+                return count;
+            });
+            changed += pageChanged != null ? pageChanged : 0;
+            if (!donorIds.isEmpty()) {
+                afterId = donorIds.get(donorIds.size() - 1);
+            }
+        } while (donorIds.size() == recomputeBatchSize);
+        log.info("Recomputed eligibility, {} next-eligible dates changed", changed);
+        return changed;
+    }
+
+    private boolean refreshEligibility(Donor donor) {
+        return refreshEligibility(donor, donationRepository.findByDonorIdOrderByDonatedOnDesc(donor.getId()));
+    }
+
+    private boolean refreshEligibility(Donor donor, List<Donation> history) {
+        LocalDate next = eligibilityEngine.nextEligibleDate(history);
+        if (Objects.equals(next, donor.getNextEligibleDate())) {
+            return false;
+        }
+        donorService.updateNextEligibleDate(donor, next);
+        return true;
+    }
+}
@@ -0,0 +1,220 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.DonorActivityResponse;
+import com.blooddonor.model.DonorActivityRollup;
+import com.blooddonor.repository.DailyDonorActivityRepository;
+import com.blooddonor.repository.HourlyDonorActivityRepository;
+import com.blooddonor.statistics.ActivityBuckets;
+import com.blooddonor.statistics.ActivityCount;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hourly and daily counts of donor registrations and availability changes per city.
+ *
+ * <p>{@link DonorService} records each committed event as an increment of an in-memory
+ * minute bucket. A scheduled flush folds closed minutes into the hour and day rollup tables
+ * with additive upserts, so a chart costs one row per bucket and type however many donors
+ * there are. Range queries read the rollups and add the minutes not flushed yet; a flush
+ * takes its counts out of memory only as it commits, under a lock queries share, so a
+ * query never sees a minute twice or not at all.</p>
+ */
+@Service
+public class DonorActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorActivityService.class);
+
+    public enum Granularity {
+        HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        LocalDateTime bucketOf(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plus(1, unit);
+        }
+    }
+
+    private final HourlyDonorActivityRepository hourlyRepository;
+    private final DailyDonorActivityRepository dailyRepository;
+    private final LocationDictionary locationDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityBuckets buckets = new ActivityBuckets();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    @Value("${activity.query.max-buckets:1000}")
+    private int maxBuckets;
+
+    public DonorActivityService(HourlyDonorActivityRepository hourlyRepository,
+                                DailyDonorActivityRepository dailyRepository,
+                                LocationDictionary locationDictionary, PlatformTransactionManager transactionManager) {
+        this.hourlyRepository = hourlyRepository;
+        this.dailyRepository = dailyRepository;
+        this.locationDictionary = locationDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts one event now. Call only after the change has committed.
+     */
+    public void record(Integer cityId, DonorActivityRollup.ActivityType type) {
+        buckets.increment(minuteOf(LocalDateTime.now()), cityId, type);
+    }
+
+    /**
+     * Flushes every minute but the current and previous one, leaving slow writers time to
+     * finish their increments.
+     */
+    @Scheduled(fixedDelayString = "${activity.flush.interval-ms:60000}")
+    public void flush() {
+        flushBefore(minuteOf(LocalDateTime.now()) - 1);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flushBefore(Long.MAX_VALUE);
+    }
+
+    private synchronized void flushBefore(long minute) {
+        Map<Long, Long> flushed = buckets.countsBefore(minute);
+        if (flushed.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> hourly = new HashMap<>();
+        Map<Long, Long> daily = new HashMap<>();
+        for (Map.Entry<Long, Long> bucket : flushed.entrySet()) {
+            long key = bucket.getKey();
+            LocalDateTime time = timeOf(ActivityBuckets.minuteOf(key));
+            int cityId = ActivityBuckets.cityOf(key);
+            DonorActivityRollup.ActivityType type = ActivityBuckets.typeOf(key);
+            hourly.merge(ActivityBuckets.key(minuteOf(Granularity.HOUR.bucketOf(time)), cityId, type),
+                    bucket.getValue(), Long::sum);
+            daily.merge(ActivityBuckets.key(minuteOf(Granularity.DAY.bucketOf(time)), cityId, type),
+                    bucket.getValue(), Long::sum);
+        }
+        flushLock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                hourly.forEach((key, count) -> hourlyRepository.add(ActivityBuckets.cityOf(key),
+                        ActivityBuckets.typeOf(key).getCode(), timeOf(ActivityBuckets.minuteOf(key)), count));
+                daily.forEach((key, count) -> dailyRepository.add(ActivityBuckets.cityOf(key),
+                        ActivityBuckets.typeOf(key).getCode(), timeOf(ActivityBuckets.minuteOf(key)), count));
+            });
+            buckets.subtract(flushed);
+        } catch (RuntimeException e) {
+            // Still in memory, so counted again at the next flush
+            log.warn("Failed to flush {} donor activity buckets: {}", flushed.size(), e.getMessage());
+            return;
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        log.debug("Flushed {} donor activity minutes into {} hourly and {} daily rows",
+                flushed.size(), hourly.size(), daily.size());
+    }
+
+    /**
+     * Event counts per bucket from {@code from} up to and including the bucket holding
+     * {@code to}, for one city or all of them. Buckets without events are included.
+     */
+    // Read-write on purpose: a lagging replica could miss rows already taken out of memory
+    @Transactional
+    public DonorActivityResponse getActivity(String granularity, LocalDateTime from, LocalDateTime to, String city) {
+        Granularity unit;
+        try {
+            unit = Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Granularity must be HOUR or DAY");
+        }
+        Integer cityId = null;
+        if (city != null) {
+            cityId = locationDictionary.findCityId(city)
+                    .orElseThrow(() -> new RuntimeException("Unknown city: " + city));
+        }
+        LocalDateTime end = unit.next(unit.bucketOf(to != null ? to : LocalDateTime.now()));
+        LocalDateTime start = unit.bucketOf(from != null ? from : end.minus(unit == Granularity.HOUR ? 48 : 30, unit.unit));
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("from must be before to");
+        }
+        if (unit.unit.between(start, end) > maxBuckets) {
+            throw new RuntimeException("At most " + maxBuckets + " buckets per query");
+        }
+
+        Map<LocalDateTime, DonorActivityResponse.Bucket> series = new LinkedHashMap<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = unit.next(bucket)) {
+            series.put(bucket, new DonorActivityResponse.Bucket(bucket));
+        }
+        List<ActivityCount> rows;
+        Map<Long, Long> pending;
+        flushLock.readLock().lock();
+        try {
+            rows = sumBetween(unit, cityId, start, end);
+            pending = buckets.snapshot();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        for (ActivityCount row : rows) {
+            DonorActivityResponse.Bucket bucket = series.get(row.getBucketStart());
+            if (bucket != null) {
+                bucket.add(row.getActivityType(), row.getCount());
+            }
+        }
+        for (Map.Entry<Long, Long> unflushed : pending.entrySet()) {
+            long key = unflushed.getKey();
+            if (cityId != null && ActivityBuckets.cityOf(key) != cityId) {
+                continue;
+            }
+            DonorActivityResponse.Bucket bucket = series.get(unit.bucketOf(timeOf(ActivityBuckets.minuteOf(key))));
+            if (bucket != null) {
+                bucket.add(ActivityBuckets.typeOf(key), unflushed.getValue());
+            }
+        }
+        String cityName = cityId != null ? locationDictionary.getCityName(cityId).orElse(city) : null;
+        return new DonorActivityResponse(unit.name(), cityName, start, end, new ArrayList<>(series.values()));
+    }
+
+    private List<ActivityCount> sumBetween(Granularity unit, Integer cityId, LocalDateTime start, LocalDateTime end) {
+        if (unit == Granularity.HOUR) {
+            return cityId != null
+                    ? hourlyRepository.sumBetweenForCity(cityId, start, end)
+                    : hourlyRepository.sumBetween(start, end);
+        }
+        return cityId != null
+                ? dailyRepository.sumBetweenForCity(cityId, start, end)
+                : dailyRepository.sumBetween(start, end);
+    }
+
+    // Minutes of local wall-clock time, so hour and day buckets follow the server's calendar
+    private static long minuteOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime timeOf(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,206 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.DonorDeltaResponse;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorChange;
+import com.blooddonor.model.DonorChangeCompaction;
+import com.blooddonor.repository.DonorChangeCompactionRepository;
+import com.blooddonor.repository.DonorChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only journal of donor changes, read back as deltas by mirroring clients.
+ *
+ * <p>Entries are written in the same transaction as the donor change, without a cursor
+ * number. A sequencer numbers committed entries every {@code journal.sequencer.interval-ms},
+ * always above the last number handed out, and reads only return numbered entries, so a
+ * client's cursor never passes an entry that commits later however long its transaction
+ * runs.</p>
+ */
+@Service
+public class DonorChangeJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorChangeJournal.class);
+
+    private final DonorChangeRepository donorChangeRepository;
+    private final DonorChangeCompactionRepository compactionRepository;
+    private final DonorStore donorStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate sequencerTemplate;
+
+    @Value("${journal.sequencer.batch-size:1000}")
+    private int sequencerBatchSize;
+
+    @Value("${journal.compaction.superseded-after-hours:24}")
+    private long supersededAfterHours;
+
+    @Value("${journal.compaction.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    @Value("${journal.compaction.batch-size:1000}")
+    private int compactionBatchSize;
+
+    public DonorChangeJournal(DonorChangeRepository donorChangeRepository,
+                              DonorChangeCompactionRepository compactionRepository,
+                              DonorStore donorStore, PlatformTransactionManager transactionManager) {
+        this.donorChangeRepository = donorChangeRepository;
+        this.compactionRepository = compactionRepository;
+        this.donorStore = donorStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Each statement must see what committed since the counter was locked, not a snapshot
+        this.sequencerTemplate = new TransactionTemplate(transactionManager);
+        this.sequencerTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long donorId, DonorChange.ChangeType type) {
+        donorChangeRepository.save(new DonorChange(donorId, type));
+    }
+
+    /**
+     * Numbers committed entries in batches. Uncommitted entries are invisible here and get
+     * their number once they commit, above everything numbered meanwhile. The counter row lock
+     * serialises instances, so numbers become visible in order. Returns the entries numbered.
+     */
+    @Scheduled(fixedDelayString = "${journal.sequencer.interval-ms:200}")
+    public int sequence() {
+        int numbered = 0;
+        while (true) {
+            Integer batch = sequencerTemplate.execute(status -> {
+                long lastSeq = donorChangeRepository.lockLastCommitSeq();
+                List<DonorChange> entries = donorChangeRepository.findUnsequenced(PageRequest.of(0, sequencerBatchSize));
+                if (entries.isEmpty()) {
+                    return 0;
+                }
+                for (DonorChange entry : entries) {
+                    entry.setCommitSeq(++lastSeq);
+                }
+                donorChangeRepository.updateLastCommitSeq(lastSeq);
+                return entries.size();
+            });
+            if (batch == null || batch == 0) {
+                return numbered;
+            }
+            numbered += batch;
+            if (batch < sequencerBatchSize) {
+                return numbered;
+            }
+        }
+    }
+
+    /**
+     * Changes after {@code since}, at most one per donor per page, carrying the donor's
+     * current state. A page costs two queries whatever its size.
+     */
+    // A lagging replica only returns fewer entries: numbers become visible in order
+    @Transactional(readOnly = true)
+    public DonorDeltaResponse getChanges(long since, int limit) {
+        Long horizon = compactionRepository.findTombstoneHorizon();
+        if (horizon != null && since < horizon) {
+            return new DonorDeltaResponse(List.of(), since, false, true);
+        }
+
+        List<DonorChange> page = donorChangeRepository.findChangesAfter(since, PageRequest.of(0, limit));
+        if (page.isEmpty()) {
+            return new DonorDeltaResponse(List.of(), since, false, false);
+        }
+
+        // A donor changed twice in one page only needs its latest entry
+        Map<Long, Long> latestSeqByDonor = new HashMap<>();
+        for (DonorChange change : page) {
+            latestSeqByDonor.put(change.getDonorId(), change.getCommitSeq());
+        }
+        Map<Long, Donor> donorsById = donorStore.findAllById(latestSeqByDonor.keySet()).stream()
+                .collect(Collectors.toMap(Donor::getId, Function.identity()));
+
+        List<DonorDeltaResponse.Change> changes = new ArrayList<>(latestSeqByDonor.size());
+        for (DonorChange change : page) {
+            if (!change.getCommitSeq().equals(latestSeqByDonor.get(change.getDonorId()))) {
+                continue;
+            }
+            Donor donor = donorsById.get(change.getDonorId());
+            // A donor deleted after this entry is already gone: report the tombstone now
+            String type = donor != null ? change.getChangeType().name() : DonorChange.ChangeType.DELETED.name();
+            changes.add(new DonorDeltaResponse.Change(change.getCommitSeq(), type, change.getDonorId(), donor));
+        }
+        long nextSince = page.get(page.size() - 1).getCommitSeq();
+        return new DonorDeltaResponse(changes, nextSince, page.size() == limit, false);
+    }
+
+    /**
+     * Journals donors that were inserted without going through {@link DonorService}.
+     */
+    @Transactional
+    public int journalUnrecordedDonors() {
+        int added = donorChangeRepository.journalUnrecordedDonors();
+        if (added > 0) {
+            log.info("Journalled {} donors written outside the service", added);
+        }
+        return added;
+    }
+
+    /**
+     * Drops entries superseded by a newer one for the same donor, then tombstones past
+     * retention. Runs in short batches so it never holds long locks on the journal.
+     */
+    @Scheduled(cron = "${journal.compaction.cron:0 30 3 * * *}")
+    public DonorChangeCompaction compact() {
+        long start = System.currentTimeMillis();
+        LocalDateTime supersededCutoff = LocalDateTime.now().minusHours(supersededAfterHours);
+        long supersededRemoved = deleteInBatches(
+                batch -> donorChangeRepository.findSupersededBefore(supersededCutoff, batch));
+
+        LocalDateTime tombstoneCutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        long[] tombstonesThroughSeq = {0};
+        long tombstonesRemoved = deleteInBatches(batch -> {
+            List<DonorChange> tombstones = donorChangeRepository.findByTypeBefore(
+                    DonorChange.ChangeType.DELETED, tombstoneCutoff, batch);
+            for (DonorChange tombstone : tombstones) {
+                tombstonesThroughSeq[0] = Math.max(tombstonesThroughSeq[0], tombstone.getCommitSeq());
+            }
+            return tombstones;
+        });
+
+        Long previousHorizon = compactionRepository.findTombstoneHorizon();
+        long horizon = Math.max(tombstonesThroughSeq[0], previousHorizon != null ? previousHorizon : 0);
+        DonorChangeCompaction compaction = compactionRepository.save(
+                new DonorChangeCompaction(supersededRemoved, tombstonesRemoved, horizon));
+        log.info("Donor change journal compacted: {} superseded and {} tombstones removed in {} ms",
+                supersededRemoved, tombstonesRemoved, System.currentTimeMillis() - start);
+        return compaction;
+    }
+
+    private long deleteInBatches(Function<PageRequest, List<DonorChange>> finder) {
+        long removed = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> seqs = finder.apply(PageRequest.of(0, compactionBatchSize)).stream()
+                        .map(DonorChange::getSeq)
+                        .toList();
+                return seqs.isEmpty() ? 0 : donorChangeRepository.deleteBySeqIn(seqs);
+            });
+            if (deleted == null || deleted == 0) {
+                return removed;
+            }
+            removed += deleted;
+        }
+    }
+}
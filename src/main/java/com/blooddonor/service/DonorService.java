@@ -1,40 +1,107 @@
 package com.blooddonor.service;
 
+import com.blooddonor.dto.DonorBatchResponse;
+import com.blooddonor.dto.DonorLookupResponse;
 import com.blooddonor.dto.DonorRegistrationRequest;
 import com.blooddonor.dto.DonorSearchRequest;
 import com.blooddonor.dto.LoginResponse;
+import com.blooddonor.dto.NearbyDonorResponse;
+import com.blooddonor.dto.NearbyDonorSearchRequest;
 import com.blooddonor.dto.OtpLoginRequest;
+import com.blooddonor.geo.DonorGeoIndex;
+import com.blooddonor.geo.DonorLocation;
+import com.blooddonor.geo.GeoMatch;
+import com.blooddonor.lookup.DonorLookupEntry;
+import com.blooddonor.lookup.DonorLookupIndex;
+import com.blooddonor.lookup.DonorLookupMatch;
+import com.blooddonor.model.Area;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.City;
 import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorActivityRollup;
+import com.blooddonor.model.DonorChange;
+import com.blooddonor.model.GeoLocation;
 import com.blooddonor.model.OtpVerification;
-import com.blooddonor.repository.DonorRepository;
+import com.blooddonor.monitoring.LogSampling;
+import com.blooddonor.registration.RegisteredEmailFilter;
+import com.blooddonor.repository.DonationRepository;
+import com.blooddonor.stream.DonorChangeEvent;
+import com.blooddonor.stream.DonorChangeStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class DonorService {
 
     private static final Logger log = LoggerFactory.getLogger(DonorService.class);
 
-    private final DonorRepository donorRepository;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_LOOKUP_RESULTS = 100;
+
+    private final DonorStore donorStore;
     private final OtpService otpService;
     private final JwtService jwtService;
+    private final GeocodingService geocodingService;
+    private final DonorGeoIndex donorGeoIndex;
+    private final DonorLookupIndex donorLookupIndex;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final PlaceAutocompleteService placeAutocompleteService;
+    private final LocationDictionary locationDictionary;
+    private final DonorStatisticsService donorStatisticsService;
+    private final DonorActivityService donorActivityService;
+    private final DonorChangeStream donorChangeStream;
+    private final DonorChangeJournal donorChangeJournal;
+    private final DonationRepository donationRepository;
+    private final int maxBatchIds;
 
-    public DonorService(DonorRepository donorRepository, OtpService otpService, JwtService jwtService) {
-        this.donorRepository = donorRepository;
+    public DonorService(DonorStore donorStore, OtpService otpService, JwtService jwtService,
+                        GeocodingService geocodingService, DonorGeoIndex donorGeoIndex,
+                        DonorLookupIndex donorLookupIndex, RegisteredEmailFilter registeredEmailFilter,
+                        PlaceAutocompleteService placeAutocompleteService, LocationDictionary locationDictionary,
+                        DonorStatisticsService donorStatisticsService, DonorActivityService donorActivityService,
+                        DonorChangeStream donorChangeStream,
+                        DonorChangeJournal donorChangeJournal, DonationRepository donationRepository,
+                        @Value("${donor.batch.max-ids:200}") int maxBatchIds) {
+        this.donorStore = donorStore;
         this.otpService = otpService;
         this.jwtService = jwtService;
+        this.geocodingService = geocodingService;
+        this.donorGeoIndex = donorGeoIndex;
+        this.donorLookupIndex = donorLookupIndex;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.placeAutocompleteService = placeAutocompleteService;
+        this.locationDictionary = locationDictionary;
+        this.donorStatisticsService = donorStatisticsService;
+        this.donorActivityService = donorActivityService;
+        this.donorChangeStream = donorChangeStream;
+        this.donorChangeJournal = donorChangeJournal;
+        this.donationRepository = donationRepository;
+        this.maxBatchIds = maxBatchIds;
     }
 
     @Transactional
     public void initiateRegistration(DonorRegistrationRequest request) {
-        log.info("Initiating registration for email: {}", request.getEmail());
-        // Check if email already exists
-        if (donorRepository.existsByEmail(request.getEmail())) {
+        log.debug("Initiating registration for email: {}", request.getEmail());
+        // Check if email already exists; most unknown emails are ruled out without a query
+        if (registeredEmailFilter.exists(request.getEmail(), donorStore::existsByEmail)) {
             log.warn("Registration attempt with already registered email: {}", request.getEmail());
             throw new RuntimeException("Email already registered");
         }
@@ -43,7 +110,7 @@ public class DonorService {
         // Send OTP
         try {
             otpService.generateAndSendOtp(request.getEmail(), OtpVerification.OtpPurpose.DONOR_REGISTRATION);
-            log.info("OTP generated and sent for email: {}", request.getEmail());
+            log.debug("OTP generated and sent for email: {}", request.getEmail());
         } catch (RuntimeException e) {
             log.error("Failed to send OTP for email: {} - Error: {}", request.getEmail(), e.getMessage(), e);
             throw new RuntimeException("Failed to send OTP email. Please try again later.");
@@ -55,7 +122,7 @@ public class DonorService {
 
     @Transactional
     public Donor completeRegistration(DonorRegistrationRequest request, String otp) {
-        log.info("Completing registration for email: {}", request.getEmail());
+        log.debug("Completing registration for email: {}", request.getEmail());
         // Verify OTP
         boolean isValid = otpService.verifyOtp(request.getEmail(), otp, OtpVerification.OtpPurpose.DONOR_REGISTRATION);
         
@@ -70,48 +137,156 @@ public class DonorService {
         donor.setName(request.getName());
         donor.setEmail(request.getEmail());
         donor.setPhone(request.getPhone());
-        donor.setBloodGroup(request.getBloodGroup());
-        donor.setArea(request.getArea());
-        donor.setCity(request.getCity());
+        donor.setBloodGroup(BloodGroup.fromLabel(request.getBloodGroup()));
+        applyLocation(donor, request);
         donor.setIsVerified(true);
         donor.setAvailabilityStatus(Donor.AvailabilityStatus.AVAILABLE);
+        applyCoordinates(donor, request);
 
-        Donor savedDonor = donorRepository.save(donor);
+        Donor savedDonor = donorStore.save(donor);
+        donorChangeJournal.record(savedDonor.getId(), DonorChange.ChangeType.CREATED);
+        indexAfterCommit(savedDonor);
+        afterCommit(() -> registeredEmailFilter.add(savedDonor.getEmail()));
+        afterCommit(() -> placeAutocompleteService.record(savedDonor.getCity(), savedDonor.getArea(), 1));
+        countAfterCommit(savedDonor, 1);
+        activityAfterCommit(savedDonor.getCityId(), DonorActivityRollup.ActivityType.REGISTERED);
+        publishAfterCommit(DonorChangeEvent.of(DonorChangeEvent.Type.REGISTERED, savedDonor));
         log.info("Donor registered successfully with ID: {} and email: {}", savedDonor.getId(), request.getEmail());
         return savedDonor;
     }
 
+    @Transactional(readOnly = true)
     public List<Donor> searchDonors(DonorSearchRequest searchRequest) {
-        log.info("Searching donors with blood group: {}, city: {}, status: {}", 
+        log.debug("Searching donors with blood group: {}, city: {}, status: {}", 
             searchRequest.getBloodGroup(), searchRequest.getCity(), searchRequest.getAvailabilityStatus());
         
+        // City names resolve to dictionary ids in memory; an unknown city has no donors
+        Integer cityId = null;
+        if (searchRequest.getCity() != null) {
+            cityId = locationDictionary.findCityId(searchRequest.getCity()).orElse(null);
+            if (cityId == null) {
+                log.debug("Unknown city in search: {}", searchRequest.getCity());
+                return List.of();
+            }
+        }
+
+        BloodGroup bloodGroup = searchRequest.getBloodGroup() != null
+            ? BloodGroup.fromLabel(searchRequest.getBloodGroup())
+            : null;
+
+        LocalDate today = LocalDate.now();
+        boolean eligibleNow = Boolean.TRUE.equals(searchRequest.getEligibleNow());
+        // Eligible donors are those who can be asked today: available unless told otherwise
+        Donor.AvailabilityStatus eligibleStatus = !eligibleNow ? null
+            : searchRequest.getAvailabilityStatus() != null
+                ? Donor.AvailabilityStatus.valueOf(searchRequest.getAvailabilityStatus())
+                : Donor.AvailabilityStatus.AVAILABLE;
         List<Donor> results;
-        if (searchRequest.getBloodGroup() != null && searchRequest.getCity() != null) {
-            if (searchRequest.getAvailabilityStatus() != null) {
+        if (bloodGroup != null && cityId != null) {
+            if (eligibleNow) {
+                results = donorStore.findEligibleByBloodGroupAndCityId(bloodGroup, cityId, today, eligibleStatus);
+            } else if (searchRequest.getAvailabilityStatus() != null) {
                 Donor.AvailabilityStatus status = Donor.AvailabilityStatus.valueOf(searchRequest.getAvailabilityStatus());
-                results = donorRepository.findByBloodGroupAndCityAndAvailabilityStatus(
-                    searchRequest.getBloodGroup(),
-                    searchRequest.getCity(),
+                results = donorStore.findByBloodGroupAndCityIdAndAvailabilityStatus(
+                    bloodGroup,
+                    cityId,
                     status
                 );
             } else {
-                results = donorRepository.findByBloodGroupAndCity(searchRequest.getBloodGroup(), searchRequest.getCity());
+                results = donorStore.findByBloodGroupAndCityId(bloodGroup, cityId);
             }
-        } else if (searchRequest.getBloodGroup() != null) {
-            results = donorRepository.findByBloodGroup(searchRequest.getBloodGroup());
-        } else if (searchRequest.getCity() != null) {
-            results = donorRepository.findByCity(searchRequest.getCity());
+        } else if (bloodGroup != null) {
+            results = donorStore.findByBloodGroup(bloodGroup);
+        } else if (cityId != null) {
+            results = donorStore.findByCityId(cityId);
         } else {
-            results = donorRepository.findByIsVerifiedTrue();
+            results = donorStore.findByIsVerifiedTrue();
+        }
+        if (eligibleNow && (bloodGroup == null || cityId == null)) {
+            // The broader searches load their rows anyway; filter them as the indexed query would
+            results = results.stream()
+                .filter(donor -> donor.getAvailabilityStatus() == eligibleStatus && donor.isEligibleOn(today))
+                .collect(Collectors.toList());
         }
         
-        log.info("Found {} donors matching search criteria", results.size());
+        log.info(LogSampling.SAMPLED, "Found {} donors matching search criteria", results.size());
+        return results;
+    }
+
+    /**
+     * Closest available donors whose blood is compatible with the requested group,
+     * nearest first. Without a blood group every available donor is considered.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyDonorResponse> findNearbyDonors(NearbyDonorSearchRequest request) {
+        double latitude;
+        double longitude;
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            latitude = request.getLatitude();
+            longitude = request.getLongitude();
+        } else {
+            GeoLocation origin = geocodingService.resolve(request.getCity(), request.getArea())
+                .orElseThrow(() -> new RuntimeException("Provide latitude and longitude or a known city"));
+            latitude = origin.getLatitude();
+            longitude = origin.getLongitude();
+        }
+
+        Set<BloodGroup> groups = request.getBloodGroup() != null
+            ? BloodCompatibility.compatibleDonorGroups(BloodGroup.fromLabel(request.getBloodGroup()))
+            : EnumSet.allOf(BloodGroup.class);
+        List<GeoMatch> matches = donorGeoIndex.findNearest(latitude, longitude, groups,
+            request.getRadiusKm(), request.getLimit());
+
+        Map<Long, Donor> donorsById = donorStore.findAllById(
+                matches.stream().map(GeoMatch::getDonorId).toList())
+            .stream()
+            .collect(Collectors.toMap(Donor::getId, Function.identity()));
+        List<NearbyDonorResponse> results = new ArrayList<>(matches.size());
+        for (GeoMatch match : matches) {
+            Donor donor = donorsById.get(match.getDonorId());
+            if (donor != null) {
+                results.add(new NearbyDonorResponse(donor, match.getDistanceKm()));
+            }
+        }
+        log.info(LogSampling.SAMPLED, "Found {} donors within {} km", results.size(), request.getRadiusKm());
         return results;
     }
 
+    /**
+     * Admin lookup by a fragment or misspelling of a donor's name, email or phone, best
+     * match first. Donors come from the in-memory trigram index, then one IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<DonorLookupResponse> lookupDonors(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        if (limit < 1 || limit > MAX_LOOKUP_RESULTS) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_LOOKUP_RESULTS);
+        }
+        if (!donorLookupIndex.isLoaded()) {
+            throw new RuntimeException("Donor lookup index is still loading, try again shortly");
+        }
+        List<DonorLookupMatch> matches = donorLookupIndex.search(query, limit);
+        Map<Long, Donor> donorsById = donorStore.findAllById(
+                matches.stream().map(DonorLookupMatch::getDonorId).toList())
+            .stream()
+            .collect(Collectors.toMap(Donor::getId, Function.identity()));
+        List<DonorLookupResponse> results = new ArrayList<>(matches.size());
+        for (DonorLookupMatch match : matches) {
+            Donor donor = donorsById.get(match.getDonorId());
+            if (donor != null) {
+                results.add(new DonorLookupResponse(donor, match.getScore()));
+            }
+        }
+        log.debug("Donor lookup matched {} donors", results.size());
+        return results;
+    }
+
+    @Transactional(readOnly = true)
     public Donor getDonorById(Long id) {
         log.debug("Fetching donor with ID: {}", id);
-        Donor donor = donorRepository.findById(id)
+        Donor donor = donorStore.findById(id)
             .orElseThrow(() -> {
                 log.error("Donor not found with ID: {}", id);
                 return new RuntimeException("Donor not found");
@@ -120,10 +295,40 @@ public class DonorService {
         return donor;
     }
 
+    /**
+     * Resolves up to {@code donor.batch.max-ids} donors with a single {@code IN} query.
+     * Unknown IDs are reported in the result rather than failing the batch.
+     */
+    @Transactional(readOnly = true)
+    public DonorBatchResponse getDonorsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxBatchIds) {
+            throw new RuntimeException("Between 1 and " + maxBatchIds + " donor IDs are allowed per request");
+        }
+        if (ids.contains(null)) {
+            throw new RuntimeException("Donor IDs must not be null");
+        }
+        Map<Long, Donor> donorsById = donorStore.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Donor::getId, Function.identity()));
+
+        List<DonorBatchResponse.Entry> entries = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Donor donor = donorsById.get(id);
+            entries.add(new DonorBatchResponse.Entry(id, donor));
+            if (donor == null) {
+                missingIds.add(id);
+            }
+        }
+        log.debug("Batch lookup of {} donor IDs, {} missing", ids.size(), missingIds.size());
+        return new DonorBatchResponse(entries, missingIds);
+    }
+
     @Transactional
     public Donor updateDonorStatus(Long donorId, Donor.AvailabilityStatus status, Integer monthsUnavailable) {
-        log.info("Updating donor status for ID: {} to status: {}", donorId, status);
+        log.debug("Updating donor status for ID: {} to status: {}", donorId, status);
         Donor donor = getDonorById(donorId);
+        countAfterCommit(donor, -1);
+        Donor.AvailabilityStatus previousStatus = donor.getAvailabilityStatus();
         donor.setAvailabilityStatus(status);
         
         if (status == Donor.AvailabilityStatus.NOT_AVAILABLE && monthsUnavailable != null) {
@@ -134,50 +339,131 @@ public class DonorService {
             log.debug("Donor ID: {} set as available", donorId);
         }
         
-        Donor updatedDonor = donorRepository.save(donor);
+        // Journal first: on a sharded store the donor write commits on its own, so it goes last
+        donorChangeJournal.record(donorId, DonorChange.ChangeType.UPDATED);
+        Donor updatedDonor = donorStore.save(donor);
+        indexAfterCommit(updatedDonor);
+        countAfterCommit(updatedDonor, 1);
+        if (status != previousStatus) {
+            activityAfterCommit(updatedDonor.getCityId(), status == Donor.AvailabilityStatus.AVAILABLE
+                ? DonorActivityRollup.ActivityType.BECAME_AVAILABLE
+                : DonorActivityRollup.ActivityType.BECAME_UNAVAILABLE);
+        }
+        publishAfterCommit(DonorChangeEvent.of(DonorChangeEvent.Type.STATUS_CHANGED, updatedDonor));
         log.info("Donor status updated successfully for ID: {}", donorId);
         return updatedDonor;
     }
 
+    /**
+     * Stores a next-eligible date recomputed from the donation history; journalled and
+     * streamed like any other update so mirrors pick it up.
+     */
+    @Transactional
+    public Donor updateNextEligibleDate(Donor donor, LocalDate nextEligibleDate) {
+        donor.setNextEligibleDate(nextEligibleDate);
+        donorChangeJournal.record(donor.getId(), DonorChange.ChangeType.UPDATED);
+        Donor updatedDonor = donorStore.save(donor);
+        publishAfterCommit(DonorChangeEvent.of(DonorChangeEvent.Type.UPDATED, updatedDonor));
+        return updatedDonor;
+    }
+
     @Transactional
     public void deleteDonor(Long id) {
-        log.info("Deleting donor with ID: {}", id);
-        if (!donorRepository.existsById(id)) {
-            log.error("Donor not found for deletion with ID: {}", id);
-            throw new RuntimeException("Donor not found");
-        }
-        donorRepository.deleteById(id);
+        log.debug("Deleting donor with ID: {}", id);
+        Donor donor = donorStore.findById(id)
+            .orElseThrow(() -> {
+                log.error("Donor not found for deletion with ID: {}", id);
+                return new RuntimeException("Donor not found");
+            });
+        donorChangeJournal.record(id, DonorChange.ChangeType.DELETED);
+        donationRepository.deleteByDonorId(id);
+        donorStore.delete(donor);
+        countAfterCommit(donor, -1);
+        publishAfterCommit(DonorChangeEvent.of(DonorChangeEvent.Type.DELETED, donor));
+        afterCommit(() -> {
+            donorGeoIndex.remove(id);
+            donorLookupIndex.remove(id);
+            placeAutocompleteService.record(donor.getCity(), donor.getArea(), -1);
+        });
         log.info("Donor deleted successfully with ID: {}", id);
     }
 
+    @Transactional(readOnly = true)
     public List<Donor> getAllDonors() {
         log.debug("Fetching all donors");
-        List<Donor> donors = donorRepository.findAll();
+        List<Donor> donors = donorStore.findAll();
         log.info("Retrieved {} donors from database", donors.size());
         return donors;
     }
 
+    @Transactional(readOnly = true)
+    public Page<Donor> getDonorsPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return donorStore.findAll(page, size);
+    }
+
+    /**
+     * The next {@code size} donors after {@code afterId} in id order; pass the last id of one
+     * page to get the next. Unlike {@link #getDonorsPage} deep pages cost no more.
+     */
+    @Transactional(readOnly = true)
+    public List<Donor> getDonorsAfter(long afterId, int size) {
+        if (afterId < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("afterId must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return donorStore.findAllAfter(afterId, size);
+    }
+
+    /**
+     * Moves donors to the shard their city maps to; 0 when donors are not sharded.
+     */
+    public int rebalanceShards() {
+        return donorStore.rebalance();
+    }
+
     @Transactional
     public Donor updateDonor(Long id, DonorRegistrationRequest request) {
-        log.info("Updating donor with ID: {}", id);
+        log.debug("Updating donor with ID: {}", id);
         Donor donor = getDonorById(id);
+        countAfterCommit(donor, -1);
+        String previousCity = donor.getCity();
+        String previousArea = donor.getArea();
+        Integer previousAreaId = donor.getAreaId();
+        Integer previousCityId = donor.getCityId();
+        BloodGroup previousBloodGroup = donor.getBloodGroup();
         donor.setName(request.getName());
         donor.setPhone(request.getPhone());
-        donor.setBloodGroup(request.getBloodGroup());
-        donor.setArea(request.getArea());
-        donor.setCity(request.getCity());
+        donor.setBloodGroup(BloodGroup.fromLabel(request.getBloodGroup()));
+        applyLocation(donor, request);
+        boolean moved = !Objects.equals(previousAreaId, donor.getAreaId());
+        // Keep precise coordinates unless new ones were sent or the donor changed area
+        if (moved || request.getLatitude() != null || donor.getLatitude() == null) {
+            applyCoordinates(donor, request);
+        }
         
-        Donor updatedDonor = donorRepository.save(donor);
+        donorChangeJournal.record(id, DonorChange.ChangeType.UPDATED);
+        Donor updatedDonor = donorStore.save(donor);
+        indexAfterCommit(updatedDonor);
+        countAfterCommit(updatedDonor, 1);
+        publishAfterCommit(DonorChangeEvent.moved(updatedDonor, previousCityId, previousBloodGroup));
+        if (moved) {
+            afterCommit(() -> {
+                placeAutocompleteService.record(previousCity, previousArea, -1);
+                placeAutocompleteService.record(updatedDonor.getCity(), updatedDonor.getArea(), 1);
+            });
+        }
         log.info("Donor updated successfully with ID: {}", id);
         return updatedDonor;
     }
 
     
     public LoginResponse authenticateDonorWithOtp(OtpLoginRequest otpLoginRequest) {
-        log.info("Authenticating donor with OTP for email: {}", otpLoginRequest.getEmail());
+        log.debug("Authenticating donor with OTP for email: {}", otpLoginRequest.getEmail());
         
         // Find donor by email
-        Donor donor = donorRepository.findByEmail(otpLoginRequest.getEmail())
+        Donor donor = registeredEmailFilter.find(otpLoginRequest.getEmail(), donorStore::findByEmail)
             .orElseThrow(() -> new RuntimeException("Donor not found"));
         
         // Verify OTP
@@ -198,4 +484,66 @@ public class DonorService {
         log.info("OTP authentication successful for email: {}", otpLoginRequest.getEmail());
         return new LoginResponse(token, "Bearer", donor.getId(), donor.getEmail(), donor.getName(), "DONOR");
     }
+
+    // Stores dictionary ids and the canonical spelling, so variants of a name stay one place
+    private void applyLocation(Donor donor, DonorRegistrationRequest request) {
+        City city = locationDictionary.resolveCity(request.getCity());
+        Area area = locationDictionary.resolveArea(city, request.getArea());
+        donor.setCityId(city.getId());
+        donor.setCity(city.getName());
+        donor.setAreaId(area.getId());
+        donor.setArea(area.getName());
+    }
+
+    private void applyCoordinates(Donor donor, DonorRegistrationRequest request) {
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            donor.setLatitude(request.getLatitude());
+            donor.setLongitude(request.getLongitude());
+            return;
+        }
+        GeoLocation location = geocodingService.resolve(request.getCity(), request.getArea()).orElse(null);
+        donor.setLatitude(location != null ? location.getLatitude() : null);
+        donor.setLongitude(location != null ? location.getLongitude() : null);
+        if (location == null) {
+            log.debug("No coordinates known for area: {}, city: {}", request.getArea(), request.getCity());
+        }
+    }
+
+    // The in-memory indexes must never show rows a rollback would discard
+    private void indexAfterCommit(Donor donor) {
+        DonorLocation location = DonorLocation.of(donor);
+        DonorLookupEntry lookupEntry = DonorLookupEntry.of(donor);
+        afterCommit(() -> {
+            donorGeoIndex.put(location);
+            donorLookupIndex.put(lookupEntry);
+        });
+    }
+
+    // Captures the donor's statistics cell now; the entity may change before commit
+    private void countAfterCommit(Donor donor, int delta) {
+        donorStatisticsService.recordAfterCommit(donor.getCityId(), donor.getBloodGroup(),
+                donor.getAvailabilityStatus(), delta);
+    }
+
+    private void activityAfterCommit(Integer cityId, DonorActivityRollup.ActivityType type) {
+        afterCommit(() -> donorActivityService.record(cityId, type));
+    }
+
+    // Built before commit for the same reason; subscribers must never see a rolled-back change
+    private void publishAfterCommit(DonorChangeEvent event) {
+        afterCommit(() -> donorChangeStream.publish(event));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
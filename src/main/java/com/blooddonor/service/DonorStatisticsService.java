@@ -0,0 +1,281 @@
+package com.blooddonor.service;
+
+import com.blooddonor.dto.ApiResponse;
+import com.blooddonor.dto.DonorStatisticsResponse;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import com.blooddonor.statistics.DonorCountRow;
+import com.blooddonor.statistics.DonorCounters;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live donor counts by city x blood group x availability, kept in memory.
+ *
+ * <p>{@link DonorService} applies every committed create, update, status change and delete
+ * as a +1/-1 on the affected cells once it commits. A scheduled reconciliation recounts from
+ * the database and corrects cells that drifted, e.g. through writes that bypass the service
+ * or were made on another instance.</p>
+ */
+@Service
+public class DonorStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorStatisticsService.class);
+
+    private final DonorStore donorStore;
+    private final LocationDictionary locationDictionary;
+    private final ObjectMapper objectMapper;
+    private final DonorCounters counters = new DonorCounters();
+    private final Counter driftCounter;
+
+    // Open transactions per cell with a recorded change pending their commit
+    private final Map<Integer, Integer> inFlight = new ConcurrentHashMap<>();
+
+    // Tick of each cell's latest change, recorded or begun; reconcile ticks before it queries
+    private final Map<Integer, Long> touchedAt = new ConcurrentHashMap<>();
+    private final AtomicLong ticks = new AtomicLong();
+
+    @Value("${statistics.snapshot.ttl-ms:1000}")
+    private long snapshotTtlMs;
+
+    private volatile CachedSnapshot cachedSnapshot;
+
+    public DonorStatisticsService(DonorStore donorStore, LocationDictionary locationDictionary,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.donorStore = donorStore;
+        this.locationDictionary = locationDictionary;
+        this.objectMapper = objectMapper;
+        this.driftCounter = Counter.builder("donor.statistics.drift")
+                .description("Donor counts corrected by reconciliation against the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves a donor into ({@code delta = 1}) or out of ({@code delta = -1}) its cell once the
+     * current transaction commits, or at once outside a transaction. Call before the commit:
+     * from here until the transaction completes the cell is busy and reconciliation skips it.
+     */
+    public void recordAfterCommit(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus status, int delta) {
+        if (bloodGroup == null || status == null) {
+            return;
+        }
+        int index = DonorCounters.index(cityId, bloodGroup, status);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(index, delta);
+            return;
+        }
+        inFlight.merge(index, 1, Integer::sum);
+        touch(index);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(index, delta);
+            }
+
+            @Override
+            public void afterCompletion(int outcome) {
+                inFlight.computeIfPresent(index, (k, count) -> count > 1 ? count - 1 : null);
+                touch(index);
+            }
+        });
+    }
+
+    public long count(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus status) {
+        return counters.get(cityId, bloodGroup, status);
+    }
+
+    /**
+     * Donors in one city with one blood group; every status when {@code status} is null.
+     *
+     * @throws IllegalArgumentException if the city is blank or the blood group or status is unknown
+     */
+    public long count(String city, String bloodGroup, String status) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City is required");
+        }
+        BloodGroup group = BloodGroup.fromLabel(bloodGroup);
+        Donor.AvailabilityStatus availability = status != null && !status.isBlank() ? parseStatus(status) : null;
+        Integer cityId = locationDictionary.findCityId(city).orElse(null);
+        if (cityId == null) {
+            return 0;
+        }
+        if (availability != null) {
+            return counters.get(cityId, group, availability);
+        }
+        long total = 0;
+        for (Donor.AvailabilityStatus each : Donor.AvailabilityStatus.values()) {
+            total += counters.get(cityId, group, each);
+        }
+        return total;
+    }
+
+    /**
+     * The full statistics as a serialised {@link ApiResponse}, rebuilt at most once per
+     * {@code statistics.snapshot.ttl-ms} however many dashboards are polling.
+     */
+    public byte[] snapshotJson() {
+        CachedSnapshot snapshot = cachedSnapshot;
+        long now = System.currentTimeMillis();
+        if (snapshot != null && now - snapshot.createdAt < snapshotTtlMs) {
+            return snapshot.json;
+        }
+        synchronized (this) {
+            snapshot = cachedSnapshot;
+            if (snapshot != null && now - snapshot.createdAt < snapshotTtlMs) {
+                return snapshot.json;
+            }
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(
+                        ApiResponse.success("Statistics retrieved successfully", buildSnapshot()));
+                cachedSnapshot = new CachedSnapshot(now, json);
+                return json;
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialise statistics", e);
+            }
+        }
+    }
+
+    @Order(3)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recounts from the database and corrects drifted cells. Only quiescent cells are
+     * corrected: a cell with a change in flight, or touched while the query ran, is left for
+     * the next pass, since the query may already include a change the counters have yet to
+     * record, or miss one they have.
+     */
+    @Scheduled(fixedDelayString = "${statistics.reconcile.interval-ms:300000}",
+            initialDelayString = "${statistics.reconcile.interval-ms:300000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        long queriedAt = ticks.incrementAndGet();
+        List<DonorCountRow> rows = donorStore.countByCityBloodGroupAndStatus();
+        long[] after = counters.sums();
+
+        Map<Integer, Long> expected = new LinkedHashMap<>();
+        for (DonorCountRow row : rows) {
+            expected.merge(DonorCounters.index(row.getCityId(), row.getBloodGroup(), row.getAvailabilityStatus()),
+                    row.getCount(), Long::sum);
+        }
+        for (int i = 0; i < after.length; i++) {
+            expected.putIfAbsent(i, 0L);
+        }
+
+        long drift = 0;
+        int skipped = 0;
+        for (Map.Entry<Integer, Long> cell : expected.entrySet()) {
+            int index = cell.getKey();
+            if (inFlight.containsKey(index) || touchedAt.getOrDefault(index, 0L) >= queriedAt) {
+                skipped++;
+                continue;
+            }
+            long current = index < after.length ? after[index] : 0;
+            long difference = cell.getValue() - current;
+            if (difference != 0) {
+                counters.addAt(index, difference);
+                drift += Math.abs(difference);
+            }
+        }
+        driftCounter.increment(drift);
+        if (drift > 0) {
+            log.info("Donor statistics reconciled: corrected {} donors, skipped {} busy cells in {} ms",
+                    drift, skipped, System.currentTimeMillis() - start);
+        } else {
+            log.debug("Donor statistics in sync ({} busy cells skipped)", skipped);
+        }
+    }
+
+    private void record(int index, int delta) {
+        counters.addAt(index, delta);
+        touch(index);
+    }
+
+    private void touch(int index) {
+        touchedAt.put(index, ticks.incrementAndGet());
+    }
+
+    private static Donor.AvailabilityStatus parseStatus(String status) {
+        try {
+            return Donor.AvailabilityStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid availability status: " + status);
+        }
+    }
+
+    private DonorStatisticsResponse buildSnapshot() {
+        long[] sums = counters.sums();
+        Map<String, DonorStatisticsResponse.GroupCount> totals = emptyGroups();
+        List<DonorStatisticsResponse.CityStatistics> cities = new ArrayList<>();
+        long total = 0;
+        long available = 0;
+
+        int cellsPerCity = sums.length / Math.max(1, counters.cityCapacity());
+        for (int start = 0; start < sums.length; start += cellsPerCity) {
+            Map<String, DonorStatisticsResponse.GroupCount> groups = emptyGroups();
+            long cityTotal = 0;
+            for (int index = start; index < start + cellsPerCity; index++) {
+                long count = sums[index];
+                if (count == 0) {
+                    continue;
+                }
+                boolean isAvailable = DonorCounters.statusOf(index) == Donor.AvailabilityStatus.AVAILABLE;
+                String group = DonorCounters.bloodGroupOf(index).getLabel();
+                groups.get(group).add(isAvailable, count);
+                totals.get(group).add(isAvailable, count);
+                cityTotal += count;
+                total += count;
+                available += isAvailable ? count : 0;
+            }
+            if (cityTotal != 0) {
+                Integer cityId = DonorCounters.cityOf(start);
+                String name = locationDictionary.getCityName(cityId).orElse(cityId == 0 ? "Unknown" : null);
+                cities.add(new DonorStatisticsResponse.CityStatistics(cityId, name, groups));
+            }
+        }
+        cities.sort((a, b) -> Long.compare(b.getTotalDonors(), a.getTotalDonors()));
+        return new DonorStatisticsResponse(LocalDateTime.now(), total, available, totals, cities);
+    }
+
+    private static Map<String, DonorStatisticsResponse.GroupCount> emptyGroups() {
+        Map<String, DonorStatisticsResponse.GroupCount> groups = new LinkedHashMap<>();
+        for (BloodGroup group : BloodGroup.values()) {
+            groups.put(group.getLabel(), new DonorStatisticsResponse.GroupCount());
+        }
+        return groups;
+    }
+
+    private static final class CachedSnapshot {
+
+        private final long createdAt;
+        private final byte[] json;
+
+        CachedSnapshot(long createdAt, byte[] json) {
+            this.createdAt = createdAt;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,693 @@
+package com.blooddonor.service;
+
+import com.blooddonor.autocomplete.PlaceCount;
+import com.blooddonor.broadcast.BroadcastRecipient;
+import com.blooddonor.datasource.ShardContext;
+import com.blooddonor.datasource.ShardRouting;
+import com.blooddonor.geo.DonorLocation;
+import com.blooddonor.lookup.DonorLookupEntry;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorDirectoryEntry;
+import com.blooddonor.model.DonorMove;
+import com.blooddonor.repository.DonorDirectoryRepository;
+import com.blooddonor.repository.DonorMoveRepository;
+import com.blooddonor.repository.DonorRepository;
+import com.blooddonor.statistics.DonorCountRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Every read and write of donor rows. Without shards, the default, each method is the
+ * {@link DonorRepository} method of the same name.
+ *
+ * <p>When {@code datasource.shards.urls} is set, a donor lives on the shard its city maps
+ * to and the home shard's {@code donor_directory} records which one; the directory is also
+ * what keeps an email unique across shards. City-scoped queries go to one shard. Everything
+ * else is sent to every shard in parallel and the results are merged in id order.</p>
+ *
+ * <p>A write to a shard other than home commits on its own, ahead of the caller's
+ * transaction. A new donor's row is deleted again if the caller then rolls back. Updates
+ * are issued last by {@link DonorService}, so only a failed commit of the caller can leave
+ * a shard ahead of the journal.</p>
+ *
+ * <p>Inserts, deletes and moves to another shard first record a {@link DonorMove} on the
+ * home shard, then hold its row lock until the caller completes. Once it has, the
+ * directory names the copy that stays and the others are deleted. The writer normally does
+ * this itself. If it dies first, the move is settled at the next startup or
+ * {@code datasource.shards.move-recovery-interval-ms}; until then scatter reads may return
+ * the donor twice, or a donor with no directory entry. An insert that dies between its
+ * shard commit and recording its move leaves a row without a directory entry that
+ * nothing cleans up.</p>
+ */
+@Service
+public class DonorStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorStore.class);
+
+    private static final int HOME = ShardRouting.HOME;
+
+    private final DonorRepository donorRepository;
+    private final DonorDirectoryRepository directoryRepository;
+    private final DonorMoveRepository moveRepository;
+    private final LocationDictionary locationDictionary;
+    private final ShardRouting routing;
+    private final TransactionTemplate homeTransaction;
+    private final TransactionTemplate moveTransaction;
+    private final TransactionTemplate shardWrite;
+    private final TransactionTemplate shardRead;
+    private final ExecutorService scatterExecutor;
+    private final Timer scatterTimer;
+    private final Map<String, Boolean> replicatedPlaces = new ConcurrentHashMap<>();
+
+    public DonorStore(DonorRepository donorRepository, DonorDirectoryRepository directoryRepository,
+                      DonorMoveRepository moveRepository,
+                      LocationDictionary locationDictionary, PlatformTransactionManager transactionManager,
+                      ObjectProvider<ShardRouting> shardRouting, MeterRegistry meterRegistry,
+                      @Value("${datasource.shards.scatter-threads:16}") int scatterThreads) {
+        this.donorRepository = donorRepository;
+        this.directoryRepository = directoryRepository;
+        this.moveRepository = moveRepository;
+        this.locationDictionary = locationDictionary;
+        this.routing = shardRouting.getIfAvailable();
+        this.homeTransaction = new TransactionTemplate(transactionManager);
+        // Move records commit on their own; settling must see the directory as committed after the lock
+        this.moveTransaction = new TransactionTemplate(transactionManager);
+        this.moveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.moveTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.shardWrite = new TransactionTemplate(transactionManager);
+        this.shardWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardRead = new TransactionTemplate(transactionManager);
+        this.shardRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardRead.setReadOnly(true);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scatterExecutor = routing == null ? null : Executors.newFixedThreadPool(scatterThreads, runnable -> {
+            Thread thread = new Thread(runnable, "donor-shard-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scatterTimer = Timer.builder("donor.shard.scatter")
+                .description("Time to query every donor shard and merge the results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Brings the directory up to date with donors written on the home shard while sharding
+     * was off, settles moves left behind by a crash, and moves every shard's next donor id
+     * above all ids handed out so far.
+     */
+    @PostConstruct
+    public void prepareShards() {
+        if (routing == null) {
+            return;
+        }
+        homeTransaction.executeWithoutResult(status -> {
+            int registered = directoryRepository.registerHomeDonors();
+            int forgotten = directoryRepository.forgetMissingHomeDonors();
+            if (registered > 0 || forgotten > 0) {
+                log.info("Donor directory: registered {} and forgot {} home shard donors", registered, forgotten);
+            }
+        });
+        recoverMoves();
+        alignDonorIds();
+        log.info("Donors are sharded over {} databases", routing.size());
+    }
+
+    /**
+     * Settles every recorded move whose writer has completed or died, waiting for those still
+     * running. Returns the number settled here.
+     */
+    @Scheduled(initialDelayString = "${datasource.shards.move-recovery-interval-ms:60000}",
+            fixedDelayString = "${datasource.shards.move-recovery-interval-ms:60000}")
+    public int recoverMoves() {
+        if (routing == null) {
+            return 0;
+        }
+        int settled = 0;
+        long afterId = 0;
+        List<Long> donorIds;
+        do {
+            donorIds = moveRepository.findDonorIdsAfter(afterId, PageRequest.of(0, 500));
+            for (Long donorId : donorIds) {
+                Boolean done = moveTransaction.execute(status -> moveRepository.lockByDonorId(donorId)
+                        .map(move -> {
+                            settle(move);
+                            return true;
+                        })
+                        .orElse(false));
+                if (Boolean.TRUE.equals(done)) {
+                    settled++;
+                }
+                afterId = donorId;
+            }
+        } while (!donorIds.isEmpty());
+        if (settled > 0) {
+            // Usually moves that completed while this ran; after a crash, the ones it left behind
+            log.info("Settled {} recorded donor moves", settled);
+        }
+        return settled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return routing != null;
+    }
+
+    public Donor save(Donor donor) {
+        if (routing == null) {
+            return donorRepository.save(donor);
+        }
+        int shard = shardOf(donor.getCity());
+        if (donor.getId() == null) {
+            return insert(donor, shard);
+        }
+        int current = directoryRepository.findShardByDonorId(donor.getId()).orElse(shard);
+        if (current != shard) {
+            move(donor.getId(), current, shard);
+            // The copy is of the committed row; the caller's transaction may already have flushed
+            // this donor on the old shard, so the copy takes the version the caller holds
+            if (donor.getVersion() != null) {
+                jdbc(shard).update("UPDATE donors SET version = ? WHERE id = ?", donor.getVersion(), donor.getId());
+            }
+        }
+        replicatePlaces(donor.getCityId(), donor.getAreaId(), shard);
+        return onShard(shard, false, () -> donorRepository.save(donor));
+    }
+
+    /**
+     * Bulk insert of new donors, one batch per shard. Unlike {@link #save} nothing is undone
+     * if the caller rolls back; meant for imports and seeding.
+     */
+    public List<Donor> saveAll(List<Donor> donors) {
+        if (routing == null) {
+            return donorRepository.saveAll(donors);
+        }
+        Map<Integer, List<Donor>> byShard = donors.stream()
+                .collect(Collectors.groupingBy(donor -> shardOf(donor.getCity()), LinkedHashMap::new, Collectors.toList()));
+        List<Donor> saved = new ArrayList<>(donors.size());
+        byShard.forEach((shard, group) -> {
+            group.forEach(donor -> replicatePlaces(donor.getCityId(), donor.getAreaId(), shard));
+            List<Donor> stored = onShard(shard, false, () -> donorRepository.saveAll(group));
+            homeTransaction.executeWithoutResult(status ->
+                    stored.forEach(donor -> directoryRepository.insert(donor.getId(), donor.getEmail(), shard)));
+            saved.addAll(stored);
+        });
+        return saved;
+    }
+
+    public void delete(Donor donor) {
+        if (routing == null) {
+            donorRepository.delete(donor);
+            return;
+        }
+        int shard = directoryRepository.findShardByDonorId(donor.getId()).orElse(shardOf(donor.getCity()));
+        if (shard == HOME) {
+            homeTransaction.executeWithoutResult(status -> {
+                directoryRepository.deleteByDonorId(donor.getId());
+                donorRepository.delete(donor);
+            });
+            return;
+        }
+        // The row goes once the directory entry is gone for good
+        startMove(donor.getId(), shard, null);
+        requireShard(donor.getId(), shard);
+        homeTransaction.executeWithoutResult(status -> directoryRepository.deleteByDonorId(donor.getId()));
+        afterCompletion(committed -> finishMove(donor.getId(), committed ? shard : null));
+    }
+
+    public Optional<Donor> findById(Long id) {
+        if (routing == null) {
+            return donorRepository.findById(id);
+        }
+        return directoryRepository.findShardByDonorId(id)
+                .flatMap(shard -> onShard(shard, true, () -> donorRepository.findById(id)));
+    }
+
+    public List<Donor> findAllById(Collection<Long> ids) {
+        if (routing == null) {
+            return donorRepository.findAllById(ids);
+        }
+        Map<Integer, List<Long>> idsByShard = directoryRepository.findAllById(ids).stream()
+                .collect(Collectors.groupingBy(DonorDirectoryEntry::getShardId,
+                        Collectors.mapping(DonorDirectoryEntry::getDonorId, Collectors.toList())));
+        return merge(scatter(idsByShard.keySet(), shard -> donorRepository.findAllById(idsByShard.get(shard))),
+                Donor::getId);
+    }
+
+    public Optional<Donor> findByEmail(String email) {
+        if (routing == null) {
+            return donorRepository.findByEmail(email);
+        }
+        return directoryRepository.findByEmail(email)
+                .flatMap(entry -> onShard(entry.getShardId(), true, () -> donorRepository.findByEmail(email)));
+    }
+
+    public long count() {
+        return routing == null ? donorRepository.count() : directoryRepository.count();
+    }
+
+    public boolean existsByEmail(String email) {
+        return routing == null ? donorRepository.existsByEmail(email) : directoryRepository.existsByEmail(email);
+    }
+
+    public List<Donor> findByBloodGroupAndCityId(BloodGroup bloodGroup, Integer cityId) {
+        return onCity(cityId, () -> donorRepository.findByBloodGroupAndCityId(bloodGroup, cityId));
+    }
+
+    public List<Donor> findEligibleByBloodGroupAndCityId(BloodGroup bloodGroup, Integer cityId, LocalDate date,
+                                                         Donor.AvailabilityStatus status) {
+        return onCity(cityId, () -> donorRepository.findEligibleByBloodGroupAndCityId(bloodGroup, cityId, date, status));
+    }
+
+    public List<Donor> findReservationCandidates(Integer cityId, Collection<BloodGroup> bloodGroups, LocalDate date,
+                                                 Donor.AvailabilityStatus status, LocalDateTime now,
+                                                 Pageable pageable) {
+        return onCity(cityId, () -> donorRepository.findReservationCandidates(
+                cityId, bloodGroups, date, status, now, pageable));
+    }
+
+    public List<Donor> findByBloodGroupAndCityIdAndAvailabilityStatus(BloodGroup bloodGroup, Integer cityId,
+                                                                      Donor.AvailabilityStatus status) {
+        return onCity(cityId, () -> donorRepository.findByBloodGroupAndCityIdAndAvailabilityStatus(
+                bloodGroup, cityId, status));
+    }
+
+    public List<Donor> findByCityId(Integer cityId) {
+        return onCity(cityId, () -> donorRepository.findByCityId(cityId));
+    }
+
+    public List<Donor> findByBloodGroup(BloodGroup bloodGroup) {
+        return everywhere(() -> donorRepository.findByBloodGroup(bloodGroup), Donor::getId);
+    }
+
+    public List<Donor> findByIsVerifiedTrue() {
+        return everywhere(donorRepository::findByIsVerifiedTrue, Donor::getId);
+    }
+
+    public List<Donor> findAll() {
+        return everywhere(donorRepository::findAll, Donor::getId);
+    }
+
+    /**
+     * One page of all donors in id order. Each shard returns its first
+     * {@code (page + 1) * size} donors, so deep pages cost more on every shard; walking all
+     * donors should use {@link #findAllAfter} instead.
+     */
+    public Page<Donor> findAll(int page, int size) {
+        PageRequest request = PageRequest.of(page, size, Sort.by("id"));
+        if (routing == null) {
+            return donorRepository.findAll(request);
+        }
+        PageRequest head = PageRequest.of(0, Math.toIntExact(request.getOffset() + size), Sort.by("id"));
+        List<Page<Donor>> pages = scatter(allShards(), shard -> donorRepository.findAll(head));
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<Donor> content = merge(pages.stream().map(Page::getContent).toList(), Donor::getId).stream()
+                .skip(request.getOffset())
+                .limit(size)
+                .toList();
+        return new PageImpl<>(content, request, total);
+    }
+
+    /**
+     * Up to {@code size} donors with an id above {@code afterId}, in id order. Each shard
+     * returns at most {@code size} rows whatever the depth.
+     */
+    public List<Donor> findAllAfter(long afterId, int size) {
+        PageRequest request = PageRequest.of(0, size);
+        if (routing == null) {
+            return donorRepository.findAfter(afterId, request);
+        }
+        return merge(scatter(allShards(), shard -> donorRepository.findAfter(afterId, request)), Donor::getId)
+                .stream().limit(size).toList();
+    }
+
+    // Keyset paging stays exact: every shard's next page is a superset of its share of the merged one
+    public List<DonorLocation> findLocationsAfter(Long afterId, Pageable pageable) {
+        if (routing == null) {
+            return donorRepository.findLocationsAfter(afterId, pageable);
+        }
+        return merge(scatter(allShards(), shard -> donorRepository.findLocationsAfter(afterId, pageable)),
+                DonorLocation::getDonorId).stream().limit(pageable.getPageSize()).toList();
+    }
+
+    public List<DonorLookupEntry> findLookupEntriesAfter(Long afterId, Pageable pageable) {
+        if (routing == null) {
+            return donorRepository.findLookupEntriesAfter(afterId, pageable);
+        }
+        return merge(scatter(allShards(), shard -> donorRepository.findLookupEntriesAfter(afterId, pageable)),
+                DonorLookupEntry::getDonorId).stream().limit(pageable.getPageSize()).toList();
+    }
+
+    public List<Donor> findMissingCoordinates(Integer cityId, Integer areaId, long afterId, Pageable pageable) {
+        return onCity(cityId, () -> donorRepository.findMissingCoordinates(cityId, areaId, afterId, pageable));
+    }
+
+    public List<PlaceCount> countByCityAndArea() {
+        return concat(donorRepository::countByCityAndArea);
+    }
+
+    public List<DonorCountRow> countByCityBloodGroupAndStatus() {
+        return concat(donorRepository::countByCityBloodGroupAndStatus);
+    }
+
+    public List<BroadcastRecipient> findBroadcastRecipients(Collection<Integer> cityIds,
+                                                            Collection<BloodGroup> bloodGroups,
+                                                            Donor.AvailabilityStatus status, long afterId,
+                                                            Pageable pageable) {
+        if (routing == null) {
+            return donorRepository.findBroadcastRecipients(cityIds, bloodGroups, status, afterId, pageable);
+        }
+        Map<Integer, List<Integer>> citiesByShard = cityIds.stream()
+                .collect(Collectors.groupingBy(this::shardOfCityId));
+        return merge(scatter(citiesByShard.keySet(), shard -> donorRepository.findBroadcastRecipients(
+                        citiesByShard.get(shard), bloodGroups, status, afterId, pageable)),
+                BroadcastRecipient::getDonorId).stream().limit(pageable.getPageSize()).toList();
+    }
+
+    /**
+     * Moves every donor whose city now maps to another shard than the one holding it: after
+     * {@code datasource.shards.cities} changed, or when sharding is switched on for a
+     * database that already has donors. Safe to rerun after an interruption.
+     */
+    public int rebalance() {
+        if (routing == null) {
+            return 0;
+        }
+        int moved = 0;
+        for (int shard = 0; shard < routing.size(); shard++) {
+            JdbcTemplate jdbc = jdbc(shard);
+            for (String city : jdbc.queryForList("SELECT DISTINCT city FROM donors", String.class)) {
+                int target = shardOf(city);
+                if (target == shard) {
+                    continue;
+                }
+                int from = shard;
+                for (Long id : jdbc.queryForList("SELECT id FROM donors WHERE city = ?", Long.class, city)) {
+                    homeTransaction.executeWithoutResult(status -> move(id, from, target));
+                    moved++;
+                }
+            }
+        }
+        log.info("Rebalanced {} donors across {} shards", moved, routing.size());
+        return moved;
+    }
+
+    private Donor insert(Donor donor, int shard) {
+        replicatePlaces(donor.getCityId(), donor.getAreaId(), shard);
+        Donor saved = onShard(shard, false, () -> donorRepository.save(donor));
+        boolean undoLater = shard != HOME && TransactionSynchronizationManager.isSynchronizationActive();
+        if (undoLater) {
+            afterCompletion(committed -> finishMove(saved.getId(), committed ? null : shard));
+            startMove(saved.getId(), null, shard);
+        }
+        try {
+            homeTransaction.executeWithoutResult(status ->
+                    directoryRepository.insert(saved.getId(), saved.getEmail(), shard));
+        } catch (DataIntegrityViolationException e) {
+            if (shard != HOME && !undoLater) {
+                deleteRow(shard, saved.getId());
+            }
+            throw new RuntimeException("Email already registered");
+        }
+        return saved;
+    }
+
+    // The stored row is copied before the caller's change is applied on the new shard. The old
+    // row goes once the caller commits; on rollback the copy goes instead
+    private void move(Long id, int from, int to) {
+        startMove(id, from, to);
+        requireShard(id, from);
+        Map<String, Object> row = jdbc(from).queryForMap("SELECT * FROM donors WHERE id = ?", id);
+        replicatePlaces(toInteger(row.get("city_id")), toInteger(row.get("area_id")), to);
+        insertRow(jdbc(to), "donors", row);
+        homeTransaction.executeWithoutResult(status -> {
+            if (directoryRepository.updateShard(id, to) == 0) {
+                directoryRepository.insert(id, (String) row.get("email"), to);
+            }
+        });
+        afterCompletion(committed -> finishMove(id, committed ? from : to));
+        log.debug("Moved donor {} from shard {} to shard {}", id, from, to);
+    }
+
+    // Records the move, settling one a previous writer left behind, and locks the record in
+    // the caller's transaction. Recovery may settle it between the two; the write is then
+    // refused rather than done unrecorded
+    private void startMove(Long id, Integer source, Integer target) {
+        moveTransaction.executeWithoutResult(status -> moveRepository.lockByDonorId(id).ifPresent(this::settle));
+        try {
+            moveTransaction.executeWithoutResult(status -> moveRepository.insert(id, source, target));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Donor is being changed elsewhere, please try again");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && homeTransaction.execute(status -> moveRepository.lockByDonorId(id)).isEmpty()) {
+            throw new RuntimeException("Donor is being changed elsewhere, please try again");
+        }
+    }
+
+    // A writer that held the move before us may have moved or deleted the donor meanwhile
+    private void requireShard(Long id, int shard) {
+        Integer current = moveTransaction.execute(status -> directoryRepository.findShardByDonorId(id).orElse(null));
+        if (current == null || current != shard) {
+            afterCompletion(committed -> finishMove(id, null));
+            throw new ObjectOptimisticLockingFailureException(Donor.class, id);
+        }
+    }
+
+    // After the caller completes: drops the losing row, if any, and the move record
+    private void finishMove(Long id, Integer stale) {
+        if (stale != null) {
+            deleteRow(stale, id);
+        }
+        moveTransaction.executeWithoutResult(status -> moveRepository.deleteByDonorId(id));
+    }
+
+    // The caller holds the move's lock, so its writer has completed and the directory is final
+    private void settle(DonorMove move) {
+        Integer keep = directoryRepository.findShardByDonorId(move.getDonorId()).orElse(null);
+        for (Integer shard : new Integer[] {move.getSourceShard(), move.getTargetShard()}) {
+            if (shard != null && !shard.equals(keep)) {
+                deleteRow(shard, move.getDonorId());
+            }
+        }
+        moveRepository.deleteByDonorId(move.getDonorId());
+    }
+
+    // Donor rows reference cities and areas by foreign key, so each shard keeps a copy of the
+    // places its donors use. The dictionary itself is only ever written on the home shard
+    private void replicatePlaces(Integer cityId, Integer areaId, int shard) {
+        if (shard == HOME) {
+            return;
+        }
+        copyOnce("cities", cityId, shard);
+        copyOnce("areas", areaId, shard);
+    }
+
+    private void copyOnce(String table, Integer id, int shard) {
+        if (id == null) {
+            return;
+        }
+        replicatedPlaces.computeIfAbsent(table + ":" + id + "@" + shard, key -> {
+            JdbcTemplate target = jdbc(shard);
+            Integer present = target.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+            if (present == null || present == 0) {
+                insertRow(target, table, jdbc(HOME).queryForMap("SELECT * FROM " + table + " WHERE id = ?", id));
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private void deleteRow(int shard, Long id) {
+        jdbc(shard).update("DELETE FROM donors WHERE id = ?", id);
+    }
+
+    /**
+     * Puts every shard's next generated donor id above the highest id on any shard. From
+     * there each shard counts in its own residue class (offset {@code shard + 1}, step
+     * {@code shard count}), so ids never collide, not even for rows that moved.
+     */
+    private void alignDonorIds() {
+        int shardCount = routing.size();
+        long next = 1;
+        for (int shard = 0; shard < shardCount; shard++) {
+            Long max = jdbc(shard).queryForObject("SELECT MAX(id) FROM donors", Long.class);
+            next = Math.max(next, max != null ? max + 1 : 1);
+        }
+        for (int shard = 0; shard < shardCount; shard++) {
+            JdbcTemplate jdbc = jdbc(shard);
+            String product = jdbc.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if ("MySQL".equalsIgnoreCase(product)) {
+                // The session's auto_increment_offset and _increment round this up into the residue class
+                jdbc.execute("ALTER TABLE donors AUTO_INCREMENT = " + next);
+            } else {
+                long start = next + Math.floorMod(shard + 1 - next, (long) shardCount);
+                jdbc.execute("ALTER TABLE donors ALTER COLUMN id RESTART WITH " + start
+                        + " SET INCREMENT BY " + shardCount);
+            }
+        }
+    }
+
+    private <T> List<T> onCity(Integer cityId, Supplier<List<T>> query) {
+        if (routing == null) {
+            return query.get();
+        }
+        return onShard(shardOfCityId(cityId), true, query);
+    }
+
+    private <T> List<T> everywhere(Supplier<List<T>> query, Function<T, Long> id) {
+        if (routing == null) {
+            return query.get();
+        }
+        return merge(scatter(allShards(), shard -> query.get()), id);
+    }
+
+    private <T> List<T> concat(Supplier<List<T>> query) {
+        if (routing == null) {
+            return query.get();
+        }
+        return scatter(allShards(), shard -> query.get()).stream().flatMap(List::stream).toList();
+    }
+
+    // Home runs on the calling thread, inside its transaction if there is one; other shards
+    // each get a read-only transaction of their own on a scatter thread
+    private <T> List<T> scatter(Collection<Integer> shards, IntFunction<T> query) {
+        Timer.Sample sample = Timer.start();
+        List<Future<T>> remote = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            if (shard != HOME) {
+                remote.add(scatterExecutor.submit(() -> onShard(shard, true, () -> query.apply(shard))));
+            }
+        }
+        try {
+            List<T> results = new ArrayList<>(shards.size());
+            if (shards.contains(HOME)) {
+                results.add(query.apply(HOME));
+            }
+            for (Future<T> future : remote) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while querying donor shards");
+        } finally {
+            remote.forEach(future -> future.cancel(true));
+            sample.stop(scatterTimer);
+        }
+    }
+
+    // Work on the home shard joins the caller's transaction; any other shard gets its own
+    private <T> T onShard(int shard, boolean readOnly, Supplier<T> work) {
+        if (shard == HOME) {
+            return work.get();
+        }
+        TransactionTemplate transaction = readOnly ? shardRead : shardWrite;
+        return ShardContext.callOn(shard, () -> transaction.execute(status -> work.get()));
+    }
+
+    private static <T> List<T> merge(List<List<T>> parts, Function<T, Long> id) {
+        return parts.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(id))
+                .toList();
+    }
+
+    private List<Integer> allShards() {
+        return IntStream.range(0, routing.size()).boxed().toList();
+    }
+
+    private int shardOf(String city) {
+        return routing.getShardMap().shardFor(city);
+    }
+
+    // A city missing from the dictionary has no donors anywhere; home answers that cheaply
+    private int shardOfCityId(Integer cityId) {
+        return locationDictionary.getCityName(cityId).map(this::shardOf).orElse(HOME);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(routing.getShard(shard));
+    }
+
+    private static void insertRow(JdbcTemplate jdbc, String table, Map<String, Object> row) {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(row.size(), "?")) + ")";
+        try {
+            jdbc.update(sql, row.values().toArray());
+        } catch (DuplicateKeyException e) {
+            // Already copied, by another instance or by a move that was interrupted
+        }
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
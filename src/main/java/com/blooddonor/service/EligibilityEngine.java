@@ -0,0 +1,95 @@
+package com.blooddonor.service;
+
+import com.blooddonor.model.Donation;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out when a donor may donate again from their donation history. Each donation blocks
+ * further donations for its type's recovery interval, and a type whose yearly maximum has
+ * been reached blocks the donor until the oldest counted donation is a year old. The result
+ * is the first date every rule allows, so the stored date means "eligible for any donation".
+ */
+@Component
+public class EligibilityEngine {
+
+    @Value("${donation.whole-blood.interval-days:90}")
+    private int wholeBloodIntervalDays;
+
+    @Value("${donation.whole-blood.max-per-year:4}")
+    private int wholeBloodMaxPerYear;
+
+    @Value("${donation.double-red-cells.interval-days:112}")
+    private int doubleRedCellsIntervalDays;
+
+    @Value("${donation.double-red-cells.max-per-year:3}")
+    private int doubleRedCellsMaxPerYear;
+
+    @Value("${donation.platelets.interval-days:7}")
+    private int plateletsIntervalDays;
+
+    @Value("${donation.platelets.max-per-year:24}")
+    private int plateletsMaxPerYear;
+
+    @Value("${donation.plasma.interval-days:14}")
+    private int plasmaIntervalDays;
+
+    @Value("${donation.plasma.max-per-year:24}")
+    private int plasmaMaxPerYear;
+
+    private final Map<Donation.DonationType, Rule> rules = new EnumMap<>(Donation.DonationType.class);
+
+    @PostConstruct
+    void loadRules() {
+        rules.put(Donation.DonationType.WHOLE_BLOOD, new Rule(wholeBloodIntervalDays, wholeBloodMaxPerYear));
+        rules.put(Donation.DonationType.DOUBLE_RED_CELLS, new Rule(doubleRedCellsIntervalDays, doubleRedCellsMaxPerYear));
+        rules.put(Donation.DonationType.PLATELETS, new Rule(plateletsIntervalDays, plateletsMaxPerYear));
+        rules.put(Donation.DonationType.PLASMA, new Rule(plasmaIntervalDays, plasmaMaxPerYear));
+    }
+
+    /**
+     * First date another donation is allowed, or null when there is no history.
+     */
+    public LocalDate nextEligibleDate(List<Donation> history) {
+        LocalDate next = null;
+        Map<Donation.DonationType, List<LocalDate>> datesByType = new EnumMap<>(Donation.DonationType.class);
+        for (Donation donation : history) {
+            Rule rule = rules.get(donation.getDonationType());
+            next = later(next, donation.getDonatedOn().plusDays(rule.intervalDays));
+            datesByType.computeIfAbsent(donation.getDonationType(), type -> new ArrayList<>()).add(donation.getDonatedOn());
+        }
+        for (Map.Entry<Donation.DonationType, List<LocalDate>> entry : datesByType.entrySet()) {
+            int maxPerYear = rules.get(entry.getKey()).maxPerYear;
+            List<LocalDate> dates = entry.getValue();
+            if (maxPerYear > 0 && dates.size() >= maxPerYear) {
+                dates.sort(Comparator.reverseOrder());
+                // Another donation of this type must leave at most maxPerYear - 1 within a year before it
+                next = later(next, dates.get(maxPerYear - 1).plusYears(1));
+            }
+        }
+        return next;
+    }
+
+    private static LocalDate later(LocalDate current, LocalDate candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static final class Rule {
+
+        private final int intervalDays;
+        private final int maxPerYear;
+
+        private Rule(int intervalDays, int maxPerYear) {
+            this.intervalDays = intervalDays;
+            this.maxPerYear = maxPerYear;
+        }
+    }
+}
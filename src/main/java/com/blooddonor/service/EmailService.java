@@ -1,11 +1,13 @@
 package com.blooddonor.service;
 
+import com.blooddonor.monitoring.RequestTiming;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.HtmlUtils;
 
 import java.util.Map;
 
@@ -14,7 +16,8 @@ public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
     
-    private static final String RESEND_API_URL = "https://api.resend.com/emails";
+    @Value("${resend.api.url:https://api.resend.com/emails}")
+    private String resendApiUrl;
 
     @Value("${resend.api.key:re_bPoWk2LS_38aeeqd9sfyu6SD3sevAWwMB}")
     private String resendApiKey;
@@ -45,8 +48,8 @@ public class EmailService {
 
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
             
-            log.info("Sending email via Resend API to: {} from: {}", toEmail, fromEmail);
-            ResponseEntity<Map> response = restTemplate.postForEntity(RESEND_API_URL, request, Map.class);
+            log.debug("Sending email via Resend API to: {} from: {}", toEmail, fromEmail);
+            ResponseEntity<Map> response = postToResend(request);
             
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("OTP email sent successfully to: {}", toEmail);
@@ -84,7 +87,7 @@ public class EmailService {
 
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
             
-            ResponseEntity<Map> response = restTemplate.postForEntity(RESEND_API_URL, request, Map.class);
+            ResponseEntity<Map> response = postToResend(request);
             
             if (response.getStatusCode().is2xxSuccessful()) {
                 log.info("Report notification email sent successfully to: {}", toEmail);
@@ -97,6 +100,39 @@ public class EmailService {
         }
     }
 
+    /**
+     * Sends one emergency request; throws so the broadcast can count the failure.
+     */
+    public void sendEmergencyRequest(String toEmail, String donorName, String bloodGroup, String hospital,
+                                     String message) {
+        String emailBody = buildEmergencyEmailBody(donorName, bloodGroup, hospital, message);
+
+        Map<String, Object> requestBody = Map.of(
+            "from", fromEmail,
+            "to", new String[]{toEmail},
+            "subject", "Blood Donor App - Urgent " + bloodGroup + " blood needed",
+            "html", emailBody
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + resendApiKey);
+
+        ResponseEntity<Map> response = postToResend(new HttpEntity<>(requestBody, headers));
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Failed to send email: " + response.getStatusCode());
+        }
+    }
+
+    private ResponseEntity<Map> postToResend(HttpEntity<Map<String, Object>> request) {
+        long start = System.nanoTime();
+        try {
+            return restTemplate.postForEntity(resendApiUrl, request, Map.class);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.EMAIL, System.nanoTime() - start);
+        }
+    }
+
     private String buildEmailBody(String otp, String purpose) {
         return String.format(
                 "<p>Dear User,</p>" +
@@ -125,4 +161,19 @@ public class EmailService {
                 reporterName != null ? reporterName : "Anonymous", 
                 reason);
     }
+
+    private String buildEmergencyEmailBody(String donorName, String bloodGroup, String hospital, String message) {
+        return String.format(
+                "<p>Dear %s,</p>" +
+                "<p><strong>%s</strong> urgently needs blood compatible with <strong>%s</strong>.</p>" +
+                "%s" +
+                "<p>If you can donate, please log in to the app and respond to this request.</p>" +
+                "<br>" +
+                "<p>Thank you,<br>" +
+                "Blood Donor Team</p>",
+                HtmlUtils.htmlEscape(donorName),
+                HtmlUtils.htmlEscape(hospital),
+                bloodGroup,
+                message != null ? "<p>" + HtmlUtils.htmlEscape(message) + "</p>" : "");
+    }
 }
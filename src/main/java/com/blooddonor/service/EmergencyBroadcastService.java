@@ -0,0 +1,236 @@
+package com.blooddonor.service;
+
+import com.blooddonor.broadcast.BroadcastRecipient;
+import com.blooddonor.broadcast.EmergencyBroadcast;
+import com.blooddonor.broadcast.RatePacer;
+import com.blooddonor.dto.EmergencyBroadcastRequest;
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans an emergency blood request out to every compatible, available donor in the
+ * requested cities.
+ *
+ * <p>Each broadcast runs on background threads joined by a bounded queue. The producer
+ * reads recipients in keyset pages, holding a pooled connection only for the length of
+ * one page query, and blocks when the queue is full. Senders drain the queue at the
+ * rate allowed by a pacer shared across broadcasts, skipping donors who responded while
+ * they were waiting. Request threads only start, inspect or cancel broadcasts.</p>
+ */
+@Service
+public class EmergencyBroadcastService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmergencyBroadcastService.class);
+
+    private static final long POLL_MILLIS = 500;
+
+    private final DonorStore donorStore;
+    private final EmailService emailService;
+    private final LocationDictionary locationDictionary;
+    private final RatePacer pacer;
+    private final ExecutorService executor;
+    private final int maxConcurrent;
+    private final int senders;
+    private final Map<String, EmergencyBroadcast> broadcasts = new ConcurrentHashMap<>();
+
+    @Value("${broadcast.page-size:500}")
+    private int pageSize;
+
+    @Value("${broadcast.queue.capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${broadcast.retention-hours:24}")
+    private long retentionHours;
+
+    public EmergencyBroadcastService(DonorStore donorStore, EmailService emailService,
+                                     LocationDictionary locationDictionary,
+                                     @Value("${broadcast.rate-per-second:10}") double ratePerSecond,
+                                     @Value("${broadcast.max-concurrent:2}") int maxConcurrent,
+                                     @Value("${broadcast.senders:4}") int senders) {
+        this.donorStore = donorStore;
+        this.emailService = emailService;
+        this.locationDictionary = locationDictionary;
+        this.pacer = new RatePacer(ratePerSecond);
+        this.maxConcurrent = maxConcurrent;
+        this.senders = senders;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent * (1 + senders), runnable -> {
+            Thread thread = new Thread(runnable, "broadcast-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized EmergencyBroadcast start(EmergencyBroadcastRequest request) {
+        long running = broadcasts.values().stream().filter(EmergencyBroadcast::isRunning).count();
+        if (running >= maxConcurrent) {
+            throw new RuntimeException("Too many broadcasts in progress, try again shortly");
+        }
+
+        BloodGroup bloodGroup = BloodGroup.fromLabel(request.getBloodGroup());
+        Set<BloodGroup> donorGroups = BloodCompatibility.compatibleDonorGroups(bloodGroup);
+        List<Integer> cityIds = new ArrayList<>();
+        for (String city : request.getCities()) {
+            locationDictionary.findCityId(city).ifPresent(cityIds::add);
+        }
+        if (cityIds.isEmpty()) {
+            throw new RuntimeException("No donors registered in the requested cities");
+        }
+
+        EmergencyBroadcast broadcast = new EmergencyBroadcast(UUID.randomUUID().toString(),
+                bloodGroup.getLabel(), request.getCities(), request.getHospital(), request.getMessage());
+        broadcasts.put(broadcast.getId(), broadcast);
+
+        BlockingQueue<BroadcastRecipient> queue = new ArrayBlockingQueue<>(queueCapacity);
+        executor.execute(() -> selectRecipients(broadcast, cityIds, donorGroups, queue));
+        AtomicInteger activeSenders = new AtomicInteger(senders);
+        for (int i = 0; i < senders; i++) {
+            executor.execute(() -> sendNotifications(broadcast, queue, activeSenders));
+        }
+        log.info("Emergency broadcast {} started for {} in {} cities", broadcast.getId(),
+                bloodGroup.getLabel(), cityIds.size());
+        return broadcast;
+    }
+
+    public EmergencyBroadcast getBroadcast(String id) {
+        EmergencyBroadcast broadcast = broadcasts.get(id);
+        if (broadcast == null) {
+            throw new RuntimeException("Broadcast not found");
+        }
+        return broadcast;
+    }
+
+    public List<EmergencyBroadcast> getBroadcasts() {
+        return broadcasts.values().stream()
+                .sorted((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()))
+                .toList();
+    }
+
+    public EmergencyBroadcast cancel(String id) {
+        EmergencyBroadcast broadcast = getBroadcast(id);
+        if (broadcast.cancel()) {
+            log.info("Emergency broadcast {} cancelled after {} notifications", id, broadcast.getSent());
+        }
+        return broadcast;
+    }
+
+    /**
+     * Marks a donor as having answered; if still queued, they are not notified.
+     */
+    public void respond(String id, String donorEmail) {
+        EmergencyBroadcast broadcast = getBroadcast(id);
+        Donor donor = donorStore.findByEmail(donorEmail)
+                .orElseThrow(() -> new RuntimeException("Donor not found"));
+        if (broadcast.respond(donor.getId())) {
+            log.info("Donor {} responded to emergency broadcast {}", donor.getId(), id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${broadcast.cleanup.interval-ms:3600000}")
+    public void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        broadcasts.values().removeIf(broadcast ->
+                broadcast.getFinishedAt() != null && broadcast.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcasts.values().forEach(EmergencyBroadcast::cancel);
+        executor.shutdownNow();
+    }
+
+    private void selectRecipients(EmergencyBroadcast broadcast, List<Integer> cityIds, Set<BloodGroup> donorGroups,
+                                  BlockingQueue<BroadcastRecipient> queue) {
+        long afterId = 0;
+        try {
+            while (broadcast.isRunning()) {
+                List<BroadcastRecipient> page = donorStore.findBroadcastRecipients(cityIds, donorGroups,
+                        Donor.AvailabilityStatus.AVAILABLE, afterId, PageRequest.of(0, pageSize));
+                for (BroadcastRecipient recipient : page) {
+                    // Blocks while the sender is behind; re-checks for cancellation while waiting
+                    while (!queue.offer(recipient, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (!broadcast.isRunning()) {
+                            return;
+                        }
+                    }
+                    broadcast.recordSelected();
+                    broadcast.setQueued(queue.size());
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getDonorId();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Emergency broadcast {} failed while selecting recipients", broadcast.getId(), e);
+            broadcast.finish(EmergencyBroadcast.Status.FAILED);
+        } finally {
+            broadcast.setSelectionComplete();
+        }
+    }
+
+    private void sendNotifications(EmergencyBroadcast broadcast, BlockingQueue<BroadcastRecipient> queue,
+                                   AtomicInteger activeSenders) {
+        try {
+            while (broadcast.isRunning()) {
+                BroadcastRecipient recipient = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                broadcast.setQueued(queue.size());
+                if (recipient == null) {
+                    if (broadcast.isSelectionComplete() && queue.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (broadcast.hasResponded(recipient.getDonorId())) {
+                    broadcast.recordSkipped();
+                    continue;
+                }
+                pacer.acquire();
+                try {
+                    emailService.sendEmergencyRequest(recipient.getEmail(), recipient.getName(),
+                            broadcast.getBloodGroup(), broadcast.getHospital(), broadcast.getMessage());
+                    broadcast.recordSent();
+                } catch (RuntimeException e) {
+                    log.warn("Emergency notification to donor {} failed: {}", recipient.getDonorId(), e.getMessage());
+                    broadcast.recordFailed();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            broadcast.finish(EmergencyBroadcast.Status.CANCELLED);
+        }
+        if (activeSenders.decrementAndGet() > 0) {
+            return;
+        }
+        // Last sender out settles the outcome
+        broadcast.finish(EmergencyBroadcast.Status.COMPLETED);
+        queue.clear();
+        broadcast.setQueued(0);
+        log.info("Emergency broadcast {} {}: {} sent, {} failed, {} skipped", broadcast.getId(),
+                broadcast.getStatus().name().toLowerCase(), broadcast.getSent(), broadcast.getFailed(),
+                broadcast.getSkipped());
+    }
+}
@@ -0,0 +1,233 @@
+package com.blooddonor.service;
+
+import com.blooddonor.geo.DonorGeoIndex;
+import com.blooddonor.geo.DonorLocation;
+import com.blooddonor.geo.GeoDistance;
+import com.blooddonor.model.Donor;
+import com.blooddonor.model.DonorChange;
+import com.blooddonor.model.GeoLocation;
+import com.blooddonor.repository.GeoLocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves an area/city pair to coordinates using the local {@code geo_locations} table,
+ * falling back from the area to the city centroid. The table is small and cached in memory.
+ */
+@Service
+public class GeocodingService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodingService.class);
+
+    private static final String SEED_FILE = "geo/city-centroids.csv";
+
+    private final GeoLocationRepository geoLocationRepository;
+    private final DonorStore donorStore;
+    private final DonorGeoIndex donorGeoIndex;
+    private final LocationDictionary locationDictionary;
+    private final DonorChangeJournal donorChangeJournal;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, GeoLocation> cache = new ConcurrentHashMap<>();
+
+    @Value("${geo.seed.enabled:true}")
+    private boolean seedEnabled;
+
+    @Value("${geo.backfill.batch-size:500}")
+    private int backfillBatchSize;
+
+    public GeocodingService(GeoLocationRepository geoLocationRepository, DonorStore donorStore,
+                            DonorGeoIndex donorGeoIndex, LocationDictionary locationDictionary,
+                            DonorChangeJournal donorChangeJournal, PlatformTransactionManager transactionManager) {
+        this.geoLocationRepository = geoLocationRepository;
+        this.donorStore = donorStore;
+        this.donorGeoIndex = donorGeoIndex;
+        this.locationDictionary = locationDictionary;
+        this.donorChangeJournal = donorChangeJournal;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Seeds the table on first start, warms the cache and gives coordinates to donors
+     * registered before locations were tracked, a page per transaction. Runs before the geo
+     * index is loaded.
+     */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (seedEnabled && geoLocationRepository.count() == 0) {
+            List<GeoLocation> seed = readSeedFile();
+            geoLocationRepository.saveAll(seed);
+            log.info("Seeded {} geo locations from {}", seed.size(), SEED_FILE);
+        }
+        List<GeoLocation> locations = geoLocationRepository.findAll();
+        locations.forEach(this::cache);
+
+        int backfilled = 0;
+        // Area matches first so city centroids only fill what is left
+        for (GeoLocation location : locations) {
+            if (location.getArea() != null) {
+                backfilled += fillCoordinates(location.getCity(), location.getArea(),
+                        location.getLatitude(), location.getLongitude());
+            }
+        }
+        for (GeoLocation location : locations) {
+            if (location.getArea() == null) {
+                backfilled += fillCoordinates(location.getCity(), null,
+                        location.getLatitude(), location.getLongitude());
+            }
+        }
+        log.info("Geocoding ready with {} locations; backfilled coordinates for {} donors", cache.size(), backfilled);
+    }
+
+    /**
+     * Coordinates of the area within the city, or of the city itself when the area is unknown.
+     */
+    public Optional<GeoLocation> resolve(String city, String area) {
+        if (city == null || city.isBlank()) {
+            return Optional.empty();
+        }
+        if (area != null && !area.isBlank()) {
+            GeoLocation match = cache.get(key(city, area));
+            if (match != null) {
+                return Optional.of(match);
+            }
+        }
+        return Optional.ofNullable(cache.get(key(city, null)));
+    }
+
+    /**
+     * Adds or corrects a location, fills in donors that had no coordinates and re-indexes them.
+     */
+    @Transactional
+    public GeoLocation saveLocation(String city, String area, Double latitude, Double longitude) {
+        if (!GeoDistance.isValid(latitude, longitude)) {
+            throw new RuntimeException("Invalid coordinates");
+        }
+        String trimmedArea = area == null || area.isBlank() ? null : area.trim();
+        GeoLocation location = (trimmedArea == null
+                ? geoLocationRepository.findByCityIgnoreCaseAndAreaIsNull(city.trim())
+                : geoLocationRepository.findByCityIgnoreCaseAndAreaIgnoreCase(city.trim(), trimmedArea))
+                .orElseGet(GeoLocation::new);
+        location.setCity(city.trim());
+        location.setArea(trimmedArea);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        GeoLocation saved = geoLocationRepository.save(location);
+
+        int backfilled = fillCoordinates(saved.getCity(), trimmedArea, latitude, longitude);
+        log.info("Saved geo location {} / {}; backfilled {} donors", saved.getCity(), trimmedArea, backfilled);
+        afterCommit(() -> cache(saved));
+        return saved;
+    }
+
+    /**
+     * Gives the donors of a city, or of one area of it, that have no coordinates yet these
+     * ones. Each page is saved like any other donor update: on the donor's shard, version
+     * checked, journalled, and re-indexed once committed. Pages join the caller's
+     * transaction if there is one.
+     */
+    private int fillCoordinates(String city, String area, double latitude, double longitude) {
+        Integer cityId = locationDictionary.findCityId(city).orElse(null);
+        Integer areaId = cityId != null && area != null ? locationDictionary.findAreaId(cityId, area).orElse(null) : null;
+        if (cityId == null || (area != null && areaId == null)) {
+            return 0;
+        }
+        int filled = 0;
+        long afterId = 0;
+        List<Donor> page;
+        do {
+            long cursor = afterId;
+            page = transactionTemplate.execute(status -> {
+                List<Donor> donors = donorStore.findMissingCoordinates(cityId, areaId, cursor,
+                        PageRequest.of(0, backfillBatchSize));
+                List<DonorLocation> located = new ArrayList<>(donors.size());
+                for (Donor donor : donors) {
+                    donor.setLatitude(latitude);
+                    donor.setLongitude(longitude);
+                    donorChangeJournal.record(donor.getId(), DonorChange.ChangeType.UPDATED);
+                    located.add(DonorLocation.of(donorStore.save(donor)));
+                }
+                afterCommit(() -> donorGeoIndex.putAll(located));
+                return donors;
+            });
+            filled += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == backfillBatchSize);
+        return filled;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void cache(GeoLocation location) {
+        cache.put(key(location.getCity(), location.getArea()), location);
+    }
+
+    private static String key(String city, String area) {
+        String normalizedArea = area == null ? "" : area.trim().toLowerCase(Locale.ROOT);
+        return city.trim().toLowerCase(Locale.ROOT) + "|" + normalizedArea;
+    }
+
+    private List<GeoLocation> readSeedFile() {
+        List<GeoLocation> locations = new ArrayList<>();
+        ClassPathResource resource = new ClassPathResource(SEED_FILE);
+        if (!resource.exists()) {
+            log.warn("Geo seed file {} not found", SEED_FILE);
+            return locations;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",", -1);
+                if (parts.length != 4) {
+                    log.warn("Skipping malformed geo seed line: {}", line);
+                    continue;
+                }
+                GeoLocation location = new GeoLocation();
+                location.setCity(parts[0].trim());
+                location.setArea(parts[1].isBlank() ? null : parts[1].trim());
+                location.setLatitude(Double.parseDouble(parts[2].trim()));
+                location.setLongitude(Double.parseDouble(parts[3].trim()));
+                locations.add(location);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read geo seed file " + SEED_FILE, e);
+        }
+        return locations;
+    }
+}
@@ -0,0 +1,163 @@
+package com.blooddonor.service;
+
+import com.blooddonor.model.Area;
+import com.blooddonor.model.City;
+import com.blooddonor.repository.AreaRepository;
+import com.blooddonor.repository.CityRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory view of the {@code cities} and {@code areas} tables. Name lookups for searches
+ * are answered from memory; only a name that has never been seen touches the database, so
+ * places registered on another instance or since startup are found and cached on first use.
+ * Misses are not cached.
+ */
+@Service
+public class LocationDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationDictionary.class);
+
+    private final CityRepository cityRepository;
+    private final AreaRepository areaRepository;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, City> citiesByName = new ConcurrentHashMap<>();
+    private final Map<Integer, City> citiesById = new ConcurrentHashMap<>();
+    private final Map<String, Area> areasByName = new ConcurrentHashMap<>();
+
+    public LocationDictionary(CityRepository cityRepository, AreaRepository areaRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.cityRepository = cityRepository;
+        this.areaRepository = areaRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void load() {
+        cityRepository.findAll().forEach(this::cache);
+        areaRepository.findAll().forEach(this::cache);
+        log.info("Location dictionary loaded {} cities and {} areas", citiesById.size(), areasByName.size());
+    }
+
+    public Optional<Integer> findCityId(String name) {
+        String normalized = LocationNames.normalize(name);
+        City city = citiesByName.computeIfAbsent(normalized, key -> cityRepository.findByNormalizedName(key)
+                .map(this::cacheById)
+                .orElse(null));
+        return city != null ? Optional.of(city.getId()) : Optional.empty();
+    }
+
+    public Optional<Integer> findAreaId(Integer cityId, String name) {
+        String normalized = LocationNames.normalize(name);
+        Area area = areasByName.computeIfAbsent(areaKey(cityId, normalized),
+                key -> areaRepository.findByCityIdAndNormalizedName(cityId, normalized).orElse(null));
+        return area != null ? Optional.of(area.getId()) : Optional.empty();
+    }
+
+    public Optional<String> getCityName(Integer cityId) {
+        if (cityId == null) {
+            return Optional.empty();
+        }
+        City city = citiesById.computeIfAbsent(cityId, id -> cityRepository.findById(id)
+                .map(this::cacheByName)
+                .orElse(null));
+        return city != null ? Optional.of(city.getName()) : Optional.empty();
+    }
+
+    /**
+     * The dictionary entry for a city name, created on first use.
+     */
+    public City resolveCity(String name) {
+        String normalized = LocationNames.normalize(name);
+        if (normalized.isEmpty()) {
+            throw new RuntimeException("City is required");
+        }
+        City city = citiesByName.get(normalized);
+        if (city != null) {
+            return city;
+        }
+        City created = createOrReload(
+                () -> {
+                    City entry = new City();
+                    entry.setName(LocationNames.displayName(name));
+                    entry.setNormalizedName(normalized);
+                    return cityRepository.saveAndFlush(entry);
+                },
+                () -> cityRepository.findByNormalizedName(normalized));
+        cache(created);
+        return created;
+    }
+
+    /**
+     * The dictionary entry for an area within a city, created on first use.
+     */
+    public Area resolveArea(City city, String name) {
+        String normalized = LocationNames.normalize(name);
+        if (normalized.isEmpty()) {
+            throw new RuntimeException("Area is required");
+        }
+        Area area = areasByName.get(areaKey(city.getId(), normalized));
+        if (area != null) {
+            return area;
+        }
+        Area created = createOrReload(
+                () -> {
+                    Area entry = new Area();
+                    entry.setCityId(city.getId());
+                    entry.setName(LocationNames.displayName(name));
+                    entry.setNormalizedName(normalized);
+                    return areaRepository.saveAndFlush(entry);
+                },
+                () -> areaRepository.findByCityIdAndNormalizedName(city.getId(), normalized));
+        cache(created);
+        return created;
+    }
+
+    // Inserts in a transaction of its own so a concurrent insert of the same name (unique
+    // key violation) does not poison the caller's transaction; the winner's row is reused.
+    private <T> T createOrReload(Supplier<T> insert, Supplier<Optional<T>> reload) {
+        try {
+            return newTransaction.execute(status -> insert.get());
+        } catch (DataIntegrityViolationException e) {
+            return newTransaction.execute(status -> reload.get())
+                    .orElseThrow(() -> new RuntimeException("Failed to register location", e));
+        }
+    }
+
+    private void cache(City city) {
+        citiesByName.put(city.getNormalizedName(), city);
+        citiesById.put(city.getId(), city);
+    }
+
+    // Each fills the other map from inside a computeIfAbsent on the first
+    private City cacheById(City city) {
+        citiesById.put(city.getId(), city);
+        return city;
+    }
+
+    private City cacheByName(City city) {
+        citiesByName.put(city.getNormalizedName(), city);
+        return city;
+    }
+
+    private void cache(Area area) {
+        areasByName.put(areaKey(area.getCityId(), area.getNormalizedName()), area);
+    }
+
+    private static String areaKey(Integer cityId, String normalizedName) {
+        return cityId + "|" + normalizedName;
+    }
+}
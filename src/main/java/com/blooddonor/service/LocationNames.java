@@ -0,0 +1,50 @@
+package com.blooddonor.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Canonical forms of city and area names. Two spellings that normalise to the same key
+ * are the same place.
+ */
+public final class LocationNames {
+
+    private LocationNames() {
+    }
+
+    /**
+     * Dictionary key: Unicode-normalised, single-spaced, lower case, without surrounding
+     * punctuation.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String collapsed = collapseWhitespace(Normalizer.normalize(name, Normalizer.Form.NFKC));
+        return collapsed.replaceAll("^[\\p{Punct}\\s]+|[\\p{Punct}\\s]+$", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Name shown to users. Input typed entirely in one case is title-cased; mixed case is
+     * assumed intentional and only whitespace is tidied.
+     */
+    public static String displayName(String name) {
+        String collapsed = collapseWhitespace(Normalizer.normalize(name, Normalizer.Form.NFKC));
+        boolean singleCase = collapsed.equals(collapsed.toLowerCase(Locale.ROOT))
+                || collapsed.equals(collapsed.toUpperCase(Locale.ROOT));
+        if (!singleCase) {
+            return collapsed;
+        }
+        StringBuilder result = new StringBuilder(collapsed.length());
+        boolean startOfWord = true;
+        for (char c : collapsed.toCharArray()) {
+            result.append(startOfWord ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            startOfWord = Character.isWhitespace(c) || c == '-' || c == '.';
+        }
+        return result.toString();
+    }
+
+    private static String collapseWhitespace(String name) {
+        return name.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -33,7 +33,7 @@ public class OtpService {
 
     @Transactional
     public void generateAndSendOtp(String email, OtpVerification.OtpPurpose purpose) {
-        log.info("Generating and sending OTP for email: {} with purpose: {}", email, purpose);
+        log.debug("Generating and sending OTP for email: {} with purpose: {}", email, purpose);
         
         // Delete any existing OTPs for this email and purpose
         log.debug("Deleting existing OTPs for email: {} and purpose: {}", email, purpose);
@@ -50,16 +50,18 @@ public class OtpService {
         otpVerification.setPurpose(purpose);
         otpVerification.setExpiresAt(LocalDateTime.now().plusMinutes(otpExpirationMinutes));
         otpRepository.save(otpVerification);
-        log.info("OTP saved for email: {} with expiration: {} minutes", email, otpExpirationMinutes);
+        log.debug("OTP saved for email: {} with expiration: {} minutes", email, otpExpirationMinutes);
 
         // Send email
         log.debug("Sending OTP email to: {}", email);
         emailService.sendOtpEmail(email, otp, purpose.name());
-        log.info("OTP email sent successfully to: {}", email);
+        log.debug("OTP email sent successfully to: {}", email);
     }
 
+    // Read-write on purpose: an OTP sent moments ago may not have reached a replica yet
+    @Transactional
     public boolean verifyOtp(String email, String otp, OtpVerification.OtpPurpose purpose) {
-        log.info("Verifying OTP for email: {} with purpose: {}", email, purpose);
+        log.debug("Verifying OTP for email: {} with purpose: {}", email, purpose);
         
         OtpVerification otpVerification = otpRepository
             .findByEmailAndOtpCodeAndPurposeAndIsUsedFalse(email, otp, purpose)
@@ -80,7 +82,7 @@ public class OtpService {
         // Mark as used
         otpVerification.setIsUsed(true);
         otpRepository.save(otpVerification);
-        log.info("OTP marked as used for email: {}", email);
+        log.debug("OTP marked as used for email: {}", email);
 
         return true;
     }
@@ -0,0 +1,133 @@
+package com.blooddonor.service;
+
+import com.blooddonor.autocomplete.PlaceCount;
+import com.blooddonor.autocomplete.PlaceSuggestion;
+import com.blooddonor.autocomplete.PlaceTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * City and area autocomplete served entirely from memory. The tries are built from one
+ * grouped query at startup and then kept current by {@link DonorService} as donors
+ * register, move or are deleted.
+ *
+ * <p>They are rebuilt every {@code autocomplete.rebuild.interval-ms} to take in changes made
+ * on other instances. Changes recorded here during a rebuild are replayed onto the new tries,
+ * so a change that committed just before the grouped query but was recorded after it started
+ * is counted twice until the next rebuild; counts only rank suggestions, so that is tolerated.</p>
+ */
+@Service
+public class PlaceAutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlaceAutocompleteService.class);
+
+    private final DonorStore donorStore;
+
+    private volatile Places places = new Places();
+
+    // Changes recorded while a rebuild runs, replayed onto its tries; guarded by this
+    private List<PlaceCount> pending;
+
+    public PlaceAutocompleteService(DonorStore donorStore) {
+        this.donorStore = donorStore;
+    }
+
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${autocomplete.rebuild.interval-ms:300000}",
+            fixedDelayString = "${autocomplete.rebuild.interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            if (pending != null) {
+                log.debug("Place autocomplete rebuild already running");
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+        Places fresh = new Places();
+        List<PlaceCount> counts;
+        try {
+            counts = donorStore.countByCityAndArea();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        for (PlaceCount count : counts) {
+            fresh.record(count.getCity(), count.getArea(), (int) count.getDonorCount());
+        }
+        synchronized (this) {
+            for (PlaceCount change : pending) {
+                fresh.record(change.getCity(), change.getArea(), (int) change.getDonorCount());
+            }
+            pending = null;
+            places = fresh;
+        }
+        log.info("Place autocomplete loaded {} city/area pairs in {} ms", counts.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds {@code delta} donors to a city and area.
+     */
+    public synchronized void record(String city, String area, int delta) {
+        places.record(city, area, delta);
+        if (pending != null) {
+            pending.add(new PlaceCount(city, area, (long) delta));
+        }
+    }
+
+    public List<PlaceSuggestion> suggestCities(String prefix, int limit) {
+        return places.cities.suggest(prefix, limit);
+    }
+
+    /**
+     * Area suggestions, restricted to one city when {@code city} is given.
+     */
+    public List<PlaceSuggestion> suggestAreas(String prefix, String city, int limit) {
+        Places current = places;
+        if (city == null || city.isBlank()) {
+            return current.areas.suggest(prefix, limit);
+        }
+        PlaceTrie cityAreas = current.areasByCity.get(cityKey(city));
+        return cityAreas != null ? cityAreas.suggest(prefix, limit) : List.of();
+    }
+
+    private static String cityKey(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Places {
+
+        private final PlaceTrie cities = new PlaceTrie();
+        private final PlaceTrie areas = new PlaceTrie();
+        private final Map<String, PlaceTrie> areasByCity = new ConcurrentHashMap<>();
+
+        void record(String city, String area, int delta) {
+            if (city == null || city.isBlank()) {
+                return;
+            }
+            cities.add(city, delta);
+            if (area != null && !area.isBlank()) {
+                areas.add(area, delta);
+                areasByCity.computeIfAbsent(cityKey(city), k -> new PlaceTrie()).add(area, delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blooddonor.statistics;
+
+import com.blooddonor.model.DonorActivityRollup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-minute donor activity counts not yet flushed to the rollup tables, one
+ * {@link LongAdder} per minute x city x activity type.
+ *
+ * <p>Keys pack the minute since the epoch, the city id and the type into one long:
+ * {@code minute << 28 | cityId << 4 | type}. Donors without a city id are counted under
+ * city 0.</p>
+ */
+public class ActivityBuckets {
+
+    private static final int TYPE_BITS = 4;
+    private static final int CITY_BITS = 24;
+
+    private final Map<Long, LongAdder> buckets = new ConcurrentHashMap<>();
+
+    public static long key(long minute, Integer cityId, DonorActivityRollup.ActivityType type) {
+        long city = cityId != null && cityId > 0 ? cityId : 0;
+        return minute << (CITY_BITS + TYPE_BITS) | city << TYPE_BITS | type.getCode();
+    }
+
+    public static long minuteOf(long key) {
+        return key >>> (CITY_BITS + TYPE_BITS);
+    }
+
+    public static int cityOf(long key) {
+        return (int) (key >>> TYPE_BITS & ((1L << CITY_BITS) - 1));
+    }
+
+    public static DonorActivityRollup.ActivityType typeOf(long key) {
+        return DonorActivityRollup.ActivityType.fromCode((byte) (key & ((1L << TYPE_BITS) - 1)));
+    }
+
+    public void increment(long minute, Integer cityId, DonorActivityRollup.ActivityType type) {
+        buckets.computeIfAbsent(key(minute, cityId, type), k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts of every minute before {@code minute}, left in place until {@link #subtract}.
+     */
+    public Map<Long, Long> countsBefore(long minute) {
+        Map<Long, Long> counts = new HashMap<>();
+        buckets.forEach((key, adder) -> {
+            if (minuteOf(key) < minute) {
+                counts.put(key, adder.sum());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Takes flushed counts off, dropping buckets left empty. Callers leave recent minutes
+     * alone: an increment racing the removal of its adder would be lost.
+     */
+    public void subtract(Map<Long, Long> counts) {
+        counts.forEach((key, count) -> buckets.computeIfPresent(key, (k, adder) -> {
+            adder.add(-count);
+            return adder.sum() == 0 ? null : adder;
+        }));
+    }
+
+    /**
+     * Point-in-time counts of every unflushed bucket.
+     */
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> counts = new HashMap<>();
+        buckets.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
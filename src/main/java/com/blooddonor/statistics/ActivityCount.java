@@ -0,0 +1,34 @@
+package com.blooddonor.statistics;
+
+import com.blooddonor.model.DonorActivityRollup;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a rollup range query: events of one type in one bucket, summed over the
+ * cities asked for.
+ */
+public class ActivityCount {
+
+    private final LocalDateTime bucketStart;
+    private final DonorActivityRollup.ActivityType activityType;
+    private final long count;
+
+    public ActivityCount(LocalDateTime bucketStart, DonorActivityRollup.ActivityType activityType, Long count) {
+        this.bucketStart = bucketStart;
+        this.activityType = activityType;
+        this.count = count;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public DonorActivityRollup.ActivityType getActivityType() {
+        return activityType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.blooddonor.statistics;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+
+/**
+ * One row of the reconciliation query: donors per city, blood group and availability.
+ */
+public class DonorCountRow {
+
+    private final Integer cityId;
+    private final BloodGroup bloodGroup;
+    private final Donor.AvailabilityStatus availabilityStatus;
+    private final long count;
+
+    public DonorCountRow(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus availabilityStatus, Long count) {
+        this.cityId = cityId;
+        this.bloodGroup = bloodGroup;
+        this.availabilityStatus = availabilityStatus;
+        this.count = count;
+    }
+
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public Donor.AvailabilityStatus getAvailabilityStatus() {
+        return availabilityStatus;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
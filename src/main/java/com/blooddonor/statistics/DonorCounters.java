@@ -0,0 +1,91 @@
+package com.blooddonor.statistics;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Donor counts per city x blood group x availability, one {@link LongAdder} per cell.
+ *
+ * <p>Cells live in a flat array indexed by {@code cityId * 16 + bloodGroup * 2 + availability}.
+ * City ids are the dense keys of the location dictionary, so the array only grows, and it
+ * grows by copying references: adders are never replaced, and a writer that raced a resize
+ * still lands on the same adder. Donors without a city id are counted under city 0.</p>
+ */
+public class DonorCounters {
+
+    private static final int STATUSES = 2;
+    private static final int CELLS_PER_CITY = BloodGroup.values().length * STATUSES;
+
+    private volatile LongAdder[] cells = new LongAdder[0];
+
+    public static int index(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus status) {
+        int city = cityId != null && cityId > 0 ? cityId : 0;
+        return city * CELLS_PER_CITY + bloodGroup.getCode() * STATUSES + status.getCode();
+    }
+
+    public static int cityOf(int index) {
+        return index / CELLS_PER_CITY;
+    }
+
+    public static BloodGroup bloodGroupOf(int index) {
+        return BloodGroup.fromCode((byte) (index % CELLS_PER_CITY / STATUSES));
+    }
+
+    public static Donor.AvailabilityStatus statusOf(int index) {
+        return Donor.AvailabilityStatus.fromCode((byte) (index % STATUSES));
+    }
+
+    public void add(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus status, long delta) {
+        addAt(index(cityId, bloodGroup, status), delta);
+    }
+
+    public void addAt(int index, long delta) {
+        LongAdder[] current = cells;
+        if (index >= current.length) {
+            current = grow(index);
+        }
+        current[index].add(delta);
+    }
+
+    /**
+     * Current count of one cell; reads no locks and allocates nothing.
+     */
+    public long get(Integer cityId, BloodGroup bloodGroup, Donor.AvailabilityStatus status) {
+        int index = index(cityId, bloodGroup, status);
+        LongAdder[] current = cells;
+        return index < current.length ? current[index].sum() : 0;
+    }
+
+    /**
+     * Point-in-time sums of every cell (each cell is exact, the set is not atomic).
+     */
+    public long[] sums() {
+        LongAdder[] current = cells;
+        long[] sums = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            sums[i] = current[i].sum();
+        }
+        return sums;
+    }
+
+    public int cityCapacity() {
+        return cells.length / CELLS_PER_CITY;
+    }
+
+    private synchronized LongAdder[] grow(int index) {
+        LongAdder[] current = cells;
+        if (index < current.length) {
+            return current;
+        }
+        int cities = Math.max(index / CELLS_PER_CITY + 1, cityCapacity() * 2);
+        LongAdder[] grown = Arrays.copyOf(current, cities * CELLS_PER_CITY);
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new LongAdder();
+        }
+        cells = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,108 @@
+package com.blooddonor.stream;
+
+import com.blooddonor.model.BloodGroup;
+import com.blooddonor.model.Donor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change to a donor that dashboards care about. Carries only public search
+ * fields; {@code previousCityId} and {@code previousBloodGroup} let subscribers filtering on
+ * the old values see a donor leave.
+ */
+public class DonorChangeEvent {
+
+    public enum Type {
+        REGISTERED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private final Type type;
+    private final Long donorId;
+    private final String name;
+    private final BloodGroup bloodGroup;
+    private final String city;
+    private final String area;
+    private final Donor.AvailabilityStatus availabilityStatus;
+    private final Integer cityId;
+    private final Integer previousCityId;
+    private final BloodGroup previousBloodGroup;
+    private final LocalDateTime occurredAt = LocalDateTime.now();
+
+    private DonorChangeEvent(Type type, Donor donor, Integer previousCityId, BloodGroup previousBloodGroup) {
+        this.type = type;
+        this.donorId = donor.getId();
+        this.name = donor.getName();
+        this.bloodGroup = donor.getBloodGroup();
+        this.city = donor.getCity();
+        this.area = donor.getArea();
+        this.availabilityStatus = donor.getAvailabilityStatus();
+        this.cityId = donor.getCityId();
+        this.previousCityId = previousCityId;
+        this.previousBloodGroup = previousBloodGroup;
+    }
+
+    public static DonorChangeEvent of(Type type, Donor donor) {
+        return new DonorChangeEvent(type, donor, donor.getCityId(), donor.getBloodGroup());
+    }
+
+    public static DonorChangeEvent moved(Donor donor, Integer previousCityId, BloodGroup previousBloodGroup) {
+        return new DonorChangeEvent(Type.UPDATED, donor, previousCityId, previousBloodGroup);
+    }
+
+    public boolean matches(Integer cityFilter, BloodGroup bloodGroupFilter) {
+        boolean cityMatches = cityFilter == null
+            || cityFilter.equals(cityId) || cityFilter.equals(previousCityId);
+        boolean groupMatches = bloodGroupFilter == null
+            || bloodGroupFilter == bloodGroup || bloodGroupFilter == previousBloodGroup;
+        return cityMatches && groupMatches;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getDonorId() {
+        return donorId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BloodGroup getBloodGroup() {
+        return bloodGroup;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public Donor.AvailabilityStatus getAvailabilityStatus() {
+        return availabilityStatus;
+    }
+
+    @JsonIgnore
+    public Integer getCityId() {
+        return cityId;
+    }
+
+    @JsonIgnore
+    public Integer getPreviousCityId() {
+        return previousCityId;
+    }
+
+    @JsonIgnore
+    public BloodGroup getPreviousBloodGroup() {
+        return previousBloodGroup;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,170 @@
+package com.blooddonor.stream;
+
+import com.blooddonor.model.BloodGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed donor changes to SSE subscribers.
+ *
+ * <p>Publishing never blocks the write path: matching events are offered to each
+ * subscriber's bounded backlog and a small writer pool drains backlogs onto the sockets.
+ * A subscriber whose backlog fills up is evicted rather than slowing anyone else down;
+ * the client reconnects and re-reads current state with a search.</p>
+ */
+@Component
+public class DonorChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(DonorChangeStream.class);
+
+    private final List<DonorChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService writers;
+    private final Counter evictions;
+
+    @Value("${donor.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${donor.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${donor.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public DonorChangeStream(MeterRegistry meterRegistry,
+                             @Value("${donor.stream.writer-threads:4}") int writerThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "donor-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictions = Counter.builder("donor.stream.evictions")
+                .description("SSE subscribers dropped for falling a full buffer behind")
+                .register(meterRegistry);
+        Gauge.builder("donor.stream.subscribers", subscribers, List::size)
+                .description("Open donor change streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Integer cityId, BloodGroup bloodGroup) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many open streams, try again later");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        DonorChangeSubscriber subscriber = new DonorChangeSubscriber(emitter, cityId, bloodGroup, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        // Sent straight away so proxies and clients see the stream open before the first change
+        subscriber.offer(DonorChangeSubscriber.HEARTBEAT);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Fans an event out to matching subscribers. Call only after the change has committed.
+     */
+    public void publish(DonorChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        DonorChangeSubscriber.StreamItem item =
+                new DonorChangeSubscriber.StreamItem(sequence.incrementAndGet(), event);
+        for (DonorChangeSubscriber subscriber : subscribers) {
+            if (subscriber.wants(event)) {
+                enqueue(subscriber, item);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${donor.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (DonorChangeSubscriber subscriber : subscribers) {
+            enqueue(subscriber, DonorChangeSubscriber.HEARTBEAT);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (DonorChangeSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        }
+        writers.shutdownNow();
+    }
+
+    private void enqueue(DonorChangeSubscriber subscriber, DonorChangeSubscriber.StreamItem item) {
+        if (subscriber.offer(item)) {
+            schedule(subscriber);
+        } else if (!subscriber.isClosed()) {
+            evictions.increment();
+            log.info("Evicting slow donor stream subscriber ({} open)", subscribers.size() - 1);
+            remove(subscriber);
+            subscriber.getEmitter().complete();
+        }
+    }
+
+    private void schedule(DonorChangeSubscriber subscriber) {
+        if (subscriber.tryStartDraining()) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(DonorChangeSubscriber subscriber) {
+        try {
+            DonorChangeSubscriber.StreamItem item;
+            while ((item = subscriber.poll()) != null) {
+                write(subscriber.getEmitter(), item);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.stopDraining();
+        }
+        // An event may have arrived between the last poll and releasing ownership
+        if (subscriber.hasBacklog() && !subscriber.isClosed()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void write(SseEmitter emitter, DonorChangeSubscriber.StreamItem item) throws IOException {
+        if (item == DonorChangeSubscriber.HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+            return;
+        }
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(item.sequence))
+                .name(item.event.getType().name().toLowerCase())
+                .data(item.event, MediaType.APPLICATION_JSON));
+    }
+
+    private void remove(DonorChangeSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,84 @@
+package com.blooddonor.stream;
+
+import com.blooddonor.model.BloodGroup;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection: its filter, its bounded backlog and whether a writer thread
+ * currently owns it. At most one writer drains a subscriber at a time, so events reach
+ * each client in order.
+ */
+class DonorChangeSubscriber {
+
+    // Queued in place of an event to write an SSE comment that keeps idle connections open
+    static final StreamItem HEARTBEAT = new StreamItem(0, null);
+
+    private final SseEmitter emitter;
+    private final Integer cityId;
+    private final BloodGroup bloodGroup;
+    private final BlockingQueue<StreamItem> backlog;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    DonorChangeSubscriber(SseEmitter emitter, Integer cityId, BloodGroup bloodGroup, int bufferSize) {
+        this.emitter = emitter;
+        this.cityId = cityId;
+        this.bloodGroup = bloodGroup;
+        this.backlog = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    boolean wants(DonorChangeEvent event) {
+        return event.matches(cityId, bloodGroup);
+    }
+
+    /**
+     * Queues an item without blocking; false means the client has fallen a full buffer behind.
+     */
+    boolean offer(StreamItem item) {
+        return !closed && backlog.offer(item);
+    }
+
+    StreamItem poll() {
+        return backlog.poll();
+    }
+
+    boolean hasBacklog() {
+        return !backlog.isEmpty();
+    }
+
+    boolean tryStartDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void stopDraining() {
+        draining.set(false);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        backlog.clear();
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    static final class StreamItem {
+
+        final long sequence;
+        final DonorChangeEvent event;
+
+        StreamItem(long sequence, DonorChangeEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Collected blood units held by the blood bank. Home database only; donor_id is not a
+-- foreign key because donor rows may live on city shards.
+
+CREATE TABLE blood_units (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    blood_group  TINYINT     NOT NULL,
+    component    TINYINT     NOT NULL,
+    donor_id     BIGINT,
+    collected_on DATE        NOT NULL,
+    expires_on   DATE        NOT NULL,
+    status       TINYINT     NOT NULL,
+    request_id   BIGINT,
+    allocated_at DATETIME(6),
+    created_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_blood_units_request FOREIGN KEY (request_id) REFERENCES blood_requests (id)
+);
+
+-- Loading the in-memory stock and the expiry sweep both read available units by expiry
+CREATE INDEX idx_blood_units_status_expiry ON blood_units (status, expires_on);
+CREATE INDEX idx_blood_units_request ON blood_units (request_id);
@@ -0,0 +1,27 @@
+-- Donor activity counts (registrations, availability changes) per city, pre-aggregated by
+-- hour and by day. Instances add their in-memory minute counts with an upsert, so rows are
+-- sums over every instance. city_id 0 counts donors without a city.
+
+CREATE TABLE donor_activity_hourly (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    city_id       INT         NOT NULL,
+    activity_type TINYINT     NOT NULL,
+    bucket_start  DATETIME(6) NOT NULL,
+    event_count   BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_donor_activity_hourly UNIQUE (city_id, activity_type, bucket_start)
+);
+
+CREATE INDEX idx_donor_activity_hourly_bucket ON donor_activity_hourly (bucket_start);
+
+CREATE TABLE donor_activity_daily (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    city_id       INT         NOT NULL,
+    activity_type TINYINT     NOT NULL,
+    bucket_start  DATETIME(6) NOT NULL,
+    event_count   BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_donor_activity_daily UNIQUE (city_id, activity_type, bucket_start)
+);
+
+CREATE INDEX idx_donor_activity_daily_bucket ON donor_activity_daily (bucket_start);
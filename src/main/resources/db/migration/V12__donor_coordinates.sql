@@ -0,0 +1,15 @@
+-- Coordinates for proximity search and the geocoding cache they are filled from. Kept out
+-- of V1, which existing databases skip as a whole.
+
+ALTER TABLE donors ADD COLUMN latitude DOUBLE;
+ALTER TABLE donors ADD COLUMN longitude DOUBLE;
+
+CREATE TABLE IF NOT EXISTS geo_locations (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    city      VARCHAR(50)  NOT NULL,
+    area      VARCHAR(100),
+    latitude  DOUBLE       NOT NULL,
+    longitude DOUBLE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_geo_locations_city_area UNIQUE (city, area)
+);
@@ -0,0 +1,21 @@
+-- Sync cursors move from seq, taken at insert, to commit_seq, handed out by a sequencer to
+-- entries that have committed. Transactions commit out of insert order, so seq could let a
+-- cursor pass an entry still in flight; commit_seq is only ever assigned above every number
+-- already visible. Existing entries keep their seq so stored cursors stay valid.
+
+ALTER TABLE donor_changes ADD COLUMN commit_seq BIGINT;
+
+UPDATE donor_changes SET commit_seq = seq;
+
+CREATE UNIQUE INDEX uk_donor_changes_commit_seq ON donor_changes (commit_seq);
+CREATE INDEX idx_donor_changes_type_commit ON donor_changes (change_type, commit_seq);
+
+-- Single row holding the last commit_seq handed out; the sequencer locks it, so instances
+-- number entries one batch at a time
+CREATE TABLE donor_change_sequence (
+    id       TINYINT NOT NULL,
+    last_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO donor_change_sequence (id, last_seq) SELECT 1, COALESCE(MAX(seq), 0) FROM donor_changes;
@@ -0,0 +1,13 @@
+-- Donor rows being written across shards: a move copies the row to target_shard and drops
+-- it from source_shard; an insert has no source and a delete no target. The row is written
+-- before the writing transaction commits, so it can outlive a crash. The directory then
+-- says which copy stays, and the others are deleted when the entry is settled. Home
+-- database only.
+
+CREATE TABLE donor_moves (
+    donor_id     BIGINT      NOT NULL,
+    source_shard INT,
+    target_shard INT,
+    started_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (donor_id)
+);
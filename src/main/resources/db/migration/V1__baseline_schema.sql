@@ -0,0 +1,42 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). IF NOT EXISTS lets
+-- existing databases, baselined at version 0, pass through unchanged.
+
+CREATE TABLE IF NOT EXISTS donors (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT,
+    name                VARCHAR(100) NOT NULL,
+    email               VARCHAR(100) NOT NULL,
+    phone               VARCHAR(15)  NOT NULL,
+    blood_group         VARCHAR(5)   NOT NULL,
+    area                VARCHAR(100) NOT NULL,
+    city                VARCHAR(50)  NOT NULL,
+    availability_status VARCHAR(20),
+    not_available_until DATE,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    is_verified         BOOLEAN,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_donors_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS otp_verifications (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(100) NOT NULL,
+    otp_code   VARCHAR(6)   NOT NULL,
+    purpose    VARCHAR(30)  NOT NULL,
+    created_at DATETIME(6),
+    expires_at DATETIME(6)  NOT NULL,
+    is_used    BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS admin_users (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    username   VARCHAR(50)  NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    full_name  VARCHAR(100) NOT NULL,
+    created_at DATETIME(6),
+    last_login DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_admin_users_username UNIQUE (username)
+);
@@ -0,0 +1,27 @@
+-- Canonical city and area names with compact integer keys, referenced from donors.
+-- Existing donors are backfilled by V3__backfill_donor_locations.
+
+CREATE TABLE cities (
+    id              INT         NOT NULL AUTO_INCREMENT,
+    name            VARCHAR(50) NOT NULL,
+    normalized_name VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cities_normalized_name UNIQUE (normalized_name)
+);
+
+CREATE TABLE areas (
+    id              INT          NOT NULL AUTO_INCREMENT,
+    city_id         INT          NOT NULL,
+    name            VARCHAR(100) NOT NULL,
+    normalized_name VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_areas_city_normalized_name UNIQUE (city_id, normalized_name),
+    CONSTRAINT fk_areas_city FOREIGN KEY (city_id) REFERENCES cities (id)
+);
+
+ALTER TABLE donors ADD COLUMN city_id INT;
+ALTER TABLE donors ADD COLUMN area_id INT;
+ALTER TABLE donors ADD CONSTRAINT fk_donors_city FOREIGN KEY (city_id) REFERENCES cities (id);
+ALTER TABLE donors ADD CONSTRAINT fk_donors_area FOREIGN KEY (area_id) REFERENCES areas (id);
+
+CREATE INDEX idx_donors_city_group_status ON donors (city_id, blood_group, availability_status);
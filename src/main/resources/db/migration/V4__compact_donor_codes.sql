@@ -0,0 +1,38 @@
+-- Blood group and availability become one-byte codes (BloodGroup / Donor.AvailabilityStatus),
+-- is_verified becomes NOT NULL. Each code goes into a new column that replaces the old
+-- one, since the old columns may be ENUM-typed or carry CHECK constraints from Hibernate.
+-- A blood group outside the eight valid ones maps to NULL and stops the migration.
+
+-- The search index covers both columns; city_id gets an index of its own so the foreign
+-- key stays backed while the composite index is rebuilt
+CREATE INDEX idx_donors_city ON donors (city_id);
+DROP INDEX idx_donors_city_group_status ON donors;
+
+ALTER TABLE donors ADD COLUMN blood_group_code TINYINT;
+UPDATE donors SET blood_group_code = CASE UPPER(TRIM(blood_group))
+    WHEN 'O-'  THEN 0
+    WHEN 'O+'  THEN 1
+    WHEN 'A-'  THEN 2
+    WHEN 'A+'  THEN 3
+    WHEN 'B-'  THEN 4
+    WHEN 'B+'  THEN 5
+    WHEN 'AB-' THEN 6
+    WHEN 'AB+' THEN 7
+END;
+ALTER TABLE donors DROP COLUMN blood_group;
+ALTER TABLE donors RENAME COLUMN blood_group_code TO blood_group;
+ALTER TABLE donors MODIFY COLUMN blood_group TINYINT NOT NULL;
+
+ALTER TABLE donors ADD COLUMN availability_code TINYINT;
+UPDATE donors SET availability_code = CASE availability_status
+    WHEN 'NOT_AVAILABLE' THEN 0
+    ELSE 1
+END;
+ALTER TABLE donors DROP COLUMN availability_status;
+ALTER TABLE donors RENAME COLUMN availability_code TO availability_status;
+ALTER TABLE donors MODIFY COLUMN availability_status TINYINT NOT NULL DEFAULT 1;
+
+UPDATE donors SET is_verified = FALSE WHERE is_verified IS NULL;
+ALTER TABLE donors MODIFY COLUMN is_verified BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_donors_city_group_status ON donors (city_id, blood_group, availability_status);
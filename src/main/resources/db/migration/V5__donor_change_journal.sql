@@ -0,0 +1,28 @@
+-- Append-only journal of donor changes for incremental sync. seq is the sync cursor;
+-- rows for deleted donors are tombstones. Existing donors are journalled as created so a
+-- client starting from sequence 0 receives the whole table once.
+
+CREATE TABLE donor_changes (
+    seq         BIGINT      NOT NULL AUTO_INCREMENT,
+    donor_id    BIGINT      NOT NULL,
+    change_type TINYINT     NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_donor_changes_donor ON donor_changes (donor_id, seq);
+CREATE INDEX idx_donor_changes_type_changed ON donor_changes (change_type, changed_at);
+
+-- One row per compaction run; a client whose cursor is below tombstones_through_seq may
+-- have missed a delete and must resync from scratch
+CREATE TABLE donor_change_compactions (
+    id                     BIGINT      NOT NULL AUTO_INCREMENT,
+    compacted_at           DATETIME(6) NOT NULL,
+    superseded_removed     BIGINT      NOT NULL,
+    tombstones_removed     BIGINT      NOT NULL,
+    tombstones_through_seq BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO donor_changes (donor_id, change_type, changed_at)
+SELECT id, 0, COALESCE(updated_at, created_at, CURRENT_TIMESTAMP) FROM donors ORDER BY id;
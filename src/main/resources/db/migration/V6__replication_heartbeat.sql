@@ -0,0 +1,10 @@
+-- Single row the primary bumps every health check; a replica's copy of it shows how far
+-- behind that replica is. Used only when read replicas are configured.
+
+CREATE TABLE replication_heartbeat (
+    id          TINYINT NOT NULL,
+    beat_millis BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0);
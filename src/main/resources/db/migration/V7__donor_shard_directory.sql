@@ -0,0 +1,13 @@
+-- Where each donor lives when donors are sharded by city, and the one place an email is
+-- unique across shards. Only the home database's copy is used; it is rebuilt for donors on
+-- the home database whenever sharding starts, so it needs no backfill here.
+
+CREATE TABLE donor_directory (
+    donor_id BIGINT       NOT NULL,
+    email    VARCHAR(100) NOT NULL,
+    shard_id INT          NOT NULL,
+    PRIMARY KEY (donor_id),
+    CONSTRAINT uk_donor_directory_email UNIQUE (email)
+);
+
+CREATE INDEX idx_donor_directory_shard ON donor_directory (shard_id);
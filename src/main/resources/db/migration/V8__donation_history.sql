@@ -0,0 +1,20 @@
+-- Recorded donations. Like the change journal they stay in the home database, so donor_id
+-- is not a foreign key: on a sharded deployment the donor row lives on its city's shard.
+
+CREATE TABLE donations (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    donor_id      BIGINT      NOT NULL,
+    donation_type TINYINT     NOT NULL,
+    donated_on    DATE        NOT NULL,
+    recorded_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_donations_donor ON donations (donor_id, donated_on);
+
+-- Earliest date the donor may donate again, maintained by EligibilityEngine whenever a
+-- donation is recorded; NULL means no recorded donation. "Eligible now" searches are a
+-- range on the last column of the search index.
+ALTER TABLE donors ADD COLUMN next_eligible_date DATE;
+
+CREATE INDEX idx_donors_city_group_eligible ON donors (city_id, blood_group, next_eligible_date);
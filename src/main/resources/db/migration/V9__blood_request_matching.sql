@@ -0,0 +1,42 @@
+-- Hospital blood requests and the donors reserved for them. Both tables stay in the home
+-- database; donor_id is not a foreign key because donor rows may live on city shards.
+
+CREATE TABLE blood_requests (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    hospital        VARCHAR(150) NOT NULL,
+    blood_group     TINYINT      NOT NULL,
+    city_id         INT          NOT NULL,
+    city            VARCHAR(50)  NOT NULL,
+    units_needed    INT          NOT NULL,
+    units_reserved  INT          NOT NULL DEFAULT 0,
+    units_confirmed INT          NOT NULL DEFAULT 0,
+    urgency         TINYINT      NOT NULL,
+    status          TINYINT      NOT NULL,
+    needed_by       DATETIME(6),
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    version         BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_blood_requests_status ON blood_requests (status, urgency, created_at);
+
+CREATE TABLE donor_reservations (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    request_id  BIGINT      NOT NULL,
+    donor_id    BIGINT      NOT NULL,
+    status      TINYINT     NOT NULL,
+    reserved_at DATETIME(6) NOT NULL,
+    expires_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_donor_reservations_request FOREIGN KEY (request_id) REFERENCES blood_requests (id)
+);
+
+CREATE INDEX idx_donor_reservations_request ON donor_reservations (request_id, status);
+CREATE INDEX idx_donor_reservations_expiry ON donor_reservations (status, expires_at);
+
+-- Optimistic lock for every donor write, and the reservation itself: a donor is free for
+-- matching once reserved_until has passed, whether or not the expiry sweep has run yet
+ALTER TABLE donors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE donors ADD COLUMN reserved_until DATETIME(6);
+ALTER TABLE donors ADD COLUMN reserved_for_request BIGINT;